@@ -0,0 +1,32 @@
+package benchmarks;
+
+import primitives.Point;
+import primitives.Vector;
+import renderer.Camera;
+import scene.Scene;
+
+/**
+ * A scene of the catalogue together with the place of its camera
+ *
+ * @param name       name of the scene, also the prefix of its reference images
+ * @param scene      the scene
+ * @param position   position of the camera
+ * @param vTo        direction of the camera
+ * @param vUp        up direction of the camera
+ * @param size       width and height of the view plane
+ * @param distance   distance of the view plane from the camera
+ * @param focalLength distance of the focal plane for depth of field
+ * @param aperture   size of the aperture for depth of field
+ */
+public record BenchmarkScene(String name, Scene scene, Point position, Vector vTo, Vector vUp, double size,
+                             double distance, double focalLength, double aperture) {
+
+    /**
+     * Creates a new camera of the scene, without an image writer and a ray tracer
+     *
+     * @return the camera
+     */
+    public Camera camera() {
+        return new Camera(position, vTo, vUp).setVPSize(size, size).setVPDistance(distance);
+    }
+}
@@ -0,0 +1,55 @@
+package benchmarks;
+
+import primitives.Color;
+import primitives.Point;
+import primitives.Ray;
+import renderer.RayTracerBase;
+import scene.Scene;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ray tracer which counts the rays that the camera sends, and passes them to the real ray tracer
+ */
+public class CountingRayTracer extends RayTracerBase {
+
+    private final RayTracerBase rayTracer;
+    private final LongAdder rays = new LongAdder();
+
+    /**
+     * Constructor
+     *
+     * @param rayTracer the real ray tracer
+     * @param scene     the scene of the real ray tracer
+     */
+    public CountingRayTracer(RayTracerBase rayTracer, Scene scene) {
+        super(scene);
+        this.rayTracer = rayTracer;
+    }
+
+    @Override
+    public Color traceRay(Ray ray) {
+        rays.increment();
+        return rayTracer.traceRay(ray);
+    }
+
+    @Override
+    public void traceRays(Point origin, double[] dirX, double[] dirY, double[] dirZ, int count, Color[] colors) {
+        rays.add(count);
+        rayTracer.traceRays(origin, dirX, dirY, dirZ, count, colors);
+    }
+
+    @Override
+    public void compileScene() {
+        rayTracer.compileScene();
+    }
+
+    /**
+     * The amount of rays traced so far
+     *
+     * @return the amount of rays
+     */
+    public long getRays() {
+        return rays.sum();
+    }
+}
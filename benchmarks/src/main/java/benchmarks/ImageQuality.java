@@ -0,0 +1,99 @@
+package benchmarks;
+
+/**
+ * Image quality measures for comparing a render with a reference image. The images are given as packed RGB
+ * (0xRRGGBB) arrays of the same size, row after row
+ */
+public final class ImageQuality {
+
+    /**
+     * size of the windows of SSIM
+     */
+    private static final int WINDOW = 8;
+    /**
+     * SSIM constants for 8 bit values: (0.01*255)^2 and (0.03*255)^2
+     */
+    private static final double C1 = 6.5025;
+    private static final double C2 = 58.5225;
+
+    private ImageQuality() {
+    }
+
+    /**
+     * Peak signal to noise ratio of the red, green and blue components
+     *
+     * @param image     the image
+     * @param reference the reference image
+     * @return PSNR in dB, positive infinity for identical images
+     */
+    public static double psnr(int[] image, int[] reference) {
+        checkSizes(image, reference);
+        double sum = 0;
+        for (int k = 0; k < image.length; k++) {
+            for (int shift = 0; shift <= 16; shift += 8) {
+                int difference = ((image[k] >> shift) & 0xff) - ((reference[k] >> shift) & 0xff);
+                sum += difference * difference;
+            }
+        }
+        double mse = sum / (image.length * 3.0);
+        return mse == 0 ? Double.POSITIVE_INFINITY : 10 * Math.log10(255 * 255 / mse);
+    }
+
+    /**
+     * Structural similarity of the luminance of the images, the average over windows of 8x8 pixels (the
+     * windows overlap by half)
+     *
+     * @param image     the image
+     * @param reference the reference image
+     * @param width     width of the images in pixels
+     * @return SSIM between -1 and 1, 1 for identical images
+     */
+    public static double ssim(int[] image, int[] reference, int width) {
+        checkSizes(image, reference);
+        int height = image.length / width;
+        double[] x = luminance(image);
+        double[] y = luminance(reference);
+        double total = 0;
+        int windows = 0;
+        for (int top = 0; top + WINDOW <= height; top += WINDOW / 2) {
+            for (int left = 0; left + WINDOW <= width; left += WINDOW / 2) {
+                double sumX = 0, sumY = 0, sumXX = 0, sumYY = 0, sumXY = 0;
+                for (int row = top; row < top + WINDOW; row++) {
+                    for (int col = left; col < left + WINDOW; col++) {
+                        double a = x[row * width + col];
+                        double b = y[row * width + col];
+                        sumX += a;
+                        sumY += b;
+                        sumXX += a * a;
+                        sumYY += b * b;
+                        sumXY += a * b;
+                    }
+                }
+                int n = WINDOW * WINDOW;
+                double meanX = sumX / n;
+                double meanY = sumY / n;
+                double varX = sumXX / n - meanX * meanX;
+                double varY = sumYY / n - meanY * meanY;
+                double covariance = sumXY / n - meanX * meanY;
+                total += (2 * meanX * meanY + C1) * (2 * covariance + C2)
+                        / ((meanX * meanX + meanY * meanY + C1) * (varX + varY + C2));
+                ++windows;
+            }
+        }
+        return windows == 0 ? 1 : total / windows;
+    }
+
+    private static double[] luminance(int[] image) {
+        double[] result = new double[image.length];
+        for (int k = 0; k < image.length; k++) {
+            int rgb = image[k];
+            result[k] = 0.299 * ((rgb >> 16) & 0xff) + 0.587 * ((rgb >> 8) & 0xff) + 0.114 * (rgb & 0xff);
+        }
+        return result;
+    }
+
+    private static void checkSizes(int[] image, int[] reference) {
+        if (image.length != reference.length)
+            throw new IllegalArgumentException("The images are not of the same size");
+    }
+}
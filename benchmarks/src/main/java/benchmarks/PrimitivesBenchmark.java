@@ -0,0 +1,105 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.*;
+import primitives.Double3;
+import primitives.Point;
+import primitives.Vector;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the arithmetic of Vector, Point and Double3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrimitivesBenchmark {
+
+    private Vector v1;
+    private Vector v2;
+    private Point p1;
+    private Point p2;
+    private Double3 d1;
+    private Double3 d2;
+
+    /**
+     * Creates the operands - fields and not constants, so the JIT can not fold the results
+     */
+    @Setup
+    public void setup() {
+        v1 = new Vector(1.5, -2.25, 3.125);
+        v2 = new Vector(-0.5, 4, 2.75);
+        p1 = new Point(10, -3, 7.5);
+        p2 = new Point(-1, 2.5, 0.25);
+        d1 = new Double3(0.3, 0.6, 0.9);
+        d2 = new Double3(1.2, 0.8, 0.4);
+    }
+
+    @Benchmark
+    public Vector vectorAdd() {
+        return v1.add(v2);
+    }
+
+    @Benchmark
+    public Vector vectorScale() {
+        return v1.scale(1.75);
+    }
+
+    @Benchmark
+    public double vectorDotProduct() {
+        return v1.dotProduct(v2);
+    }
+
+    @Benchmark
+    public Vector vectorCrossProduct() {
+        return v1.crossProduct(v2);
+    }
+
+    @Benchmark
+    public Vector vectorNormalize() {
+        return v1.normalize();
+    }
+
+    @Benchmark
+    public double vectorLength() {
+        return v1.length();
+    }
+
+    @Benchmark
+    public Point pointAdd() {
+        return p1.add(v1);
+    }
+
+    @Benchmark
+    public Vector pointSubtract() {
+        return p1.subtract(p2);
+    }
+
+    @Benchmark
+    public double pointDistance() {
+        return p1.distance(p2);
+    }
+
+    @Benchmark
+    public double pointDistanceSquared() {
+        return p1.distanceSquared(p2);
+    }
+
+    @Benchmark
+    public Double3 double3Add() {
+        return d1.add(d2);
+    }
+
+    @Benchmark
+    public Double3 double3Product() {
+        return d1.product(d2);
+    }
+
+    @Benchmark
+    public Double3 double3Scale() {
+        return d1.scale(0.7);
+    }
+}
@@ -0,0 +1,56 @@
+package benchmarks;
+
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.Random;
+
+/**
+ * Fixed sets of rays for the benchmarks. The rays are created from a constant seed, so every run of a
+ * benchmark measures the same work.
+ */
+public final class RaySets {
+
+    private RaySets() {
+    }
+
+    /**
+     * Rays from random points around a target towards random points near the target - some of the rays hit
+     * the shapes around the target and some miss them
+     *
+     * @param target   the center of the shapes
+     * @param distance distance of the heads of the rays from the target
+     * @param spread   the rays aim at random points in a cube of this size around the target
+     * @param count    amount of rays
+     * @param seed     seed of the random generator
+     * @return the rays
+     */
+    public static Ray[] towards(Point target, double distance, double spread, int count, long seed) {
+        Random random = new Random(seed);
+        Ray[] rays = new Ray[count];
+        for (int k = 0; k < count; k++) {
+            Vector offset = randomDirection(random).scale(distance);
+            Point head = target.add(offset);
+            Point aim = target.add(new Vector(
+                    (random.nextDouble() - 0.5) * spread + 1e-9,
+                    (random.nextDouble() - 0.5) * spread,
+                    (random.nextDouble() - 0.5) * spread));
+            rays[k] = new Ray(head, aim.subtract(head));
+        }
+        return rays;
+    }
+
+    /**
+     * A random direction, uniform on the unit sphere
+     *
+     * @param random the random generator
+     * @return the direction
+     */
+    private static Vector randomDirection(Random random) {
+        double z = random.nextDouble() * 2 - 1;
+        double angle = random.nextDouble() * 2 * Math.PI;
+        double r = Math.sqrt(1 - z * z);
+        return new Vector(r * Math.cos(angle) + 1e-9, r * Math.sin(angle), z);
+    }
+}
@@ -0,0 +1,77 @@
+package benchmarks;
+
+import geometries.*;
+import lighting.AmbientLight;
+import lighting.PointLight;
+import lighting.Spotlight;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import primitives.*;
+import renderer.Camera;
+import renderer.RayTracerBasic;
+import scene.Scene;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark of RayTracerBasic.traceRay on a fixed scene (spheres, a transparent sphere, a mirror, triangles
+ * and a floor, with two lights) and a fixed set of camera rays
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RayTracerBenchmark {
+
+    /**
+     * the rays go through a grid of SIZE x SIZE pixels
+     */
+    private static final int SIZE = 32;
+
+    @Param({"false", "true"})
+    public boolean softShadows;
+
+    private RayTracerBasic rayTracer;
+    private Ray[] rays;
+
+    /**
+     * Creates the scene and the camera rays
+     */
+    @Setup
+    public void setup() {
+        Scene scene = new Scene.SceneBuilder("benchmark")
+                .setAmbientLight(new AmbientLight(new Color(255, 255, 255), new Double3(0.1)))
+                .build();
+        Material material = new Material().setKd(0.5).setKs(0.5).setShininess(30);
+        scene.getGeometries().add(
+                new Sphere(new Point(0, 0, -100), 30).setEmission(Color.BLUE).setMaterial(material),
+                new Sphere(new Point(-60, 10, -120), 20).setEmission(Color.RED)
+                        .setMaterial(new Material().setKd(0.3).setKs(0.3).setShininess(60).setkT(0.6)),
+                new Triangle(new Point(-150, -30, -200), new Point(150, -30, -200), new Point(0, 120, -250))
+                        .setEmission(Color.DARK_GRAY).setMaterial(new Material().setkR(0.5)),
+                new Triangle(new Point(40, -30, -60), new Point(90, -30, -90), new Point(60, 20, -80))
+                        .setEmission(Color.GREEN).setMaterial(material),
+                new Plane(new Point(0, -30, 0), new Vector(0, 1, 0))
+                        .setEmission(Color.SILVER).setMaterial(material));
+        scene.getLights().add(new PointLight(new Color(500, 300, 300), new Point(-50, 80, 0)).setKl(0.0004).setKq(0.0000006));
+        scene.getLights().add(new Spotlight(new Color(400, 400, 400), new Point(60, 60, -20), new Vector(-1, -1, -2))
+                .setKl(0.0004).setKq(0.0000006));
+        rayTracer = new RayTracerBasic(scene).setSoftShadowsButton(softShadows, 3);
+
+        Camera camera = new Camera(new Point(0, 0, 200), new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPSize(200, 200).setVPDistance(200);
+        rays = new Ray[SIZE * SIZE];
+        for (int i = 0; i < SIZE; i++)
+            for (int j = 0; j < SIZE; j++)
+                rays[i * SIZE + j] = camera.constructRay(SIZE, SIZE, j, i);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE * SIZE)
+    public void traceRay(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(rayTracer.traceRay(ray));
+    }
+}
@@ -0,0 +1,276 @@
+package benchmarks;
+
+import geometries.PacketShapes;
+import renderer.Camera;
+import renderer.ImageWriter;
+import renderer.RayTracerBasic;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * End to end render benchmark. Renders the scenes of the {@link SceneCatalogue} in every combination of the
+ * buttons of the renderer ({@link RenderMode}), and reports the wall time, the camera rays per second and the
+ * quality of the picture (PSNR and SSIM) against stored reference images.<br/>
+ * Usage:
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar benchmarks.RenderBenchmark [options]
+ *   --scenes a,b          scenes of the catalogue (default all)
+ *   --modes plain,mt+je   button combinations (default all 32), buttons: mt aa je dof ss
+ *   --size n              width and height of the images in pixels (default 200)
+ *   --references dir      folder of the reference images (default benchmarks/references)
+ *   --update-references   render the reference images (one for every scene and picture changing buttons)
+ *   --json file           machine readable results (default benchmarks/render-result.json)
+ *   --packets             trace the rows of pixels as packets of rays (run with --add-modules jdk.incubator.vector
+ *                         and a jar of the vector-api profile for the SIMD kernel)
+ *   --min-psnr db         quality gate - fail when the PSNR of a mode is below it (default no gate)
+ *   --min-ssim s          quality gate - fail when the SSIM of a mode is below it (default no gate)
+ * </pre>
+ * With a quality gate, a mode below it or without a reference image makes the program exit with status 1
+ * after all the results are written.
+ */
+public final class RenderBenchmark {
+
+    /**
+     * root of the amount of samples of jagged edges and of the points around a light for soft shadows
+     */
+    private static final int SAMPLES_ROOT = 3;
+
+    private List<String> scenes = SceneCatalogue.names();
+    private List<RenderMode> modes = RenderMode.all();
+    private int size = 200;
+    private File references = new File("benchmarks/references");
+    private boolean updateReferences = false;
+    private File json = new File("benchmarks/render-result.json");
+    private boolean packets = false;
+    private double minPsnr = Double.NEGATIVE_INFINITY;
+    private double minSsim = Double.NEGATIVE_INFINITY;
+
+    /**
+     * The result of the render of one scene in one mode
+     */
+    private record Result(String scene, String mode, double seconds, long rays, double psnr, double ssim) {
+    }
+
+    private RenderBenchmark() {
+    }
+
+    /**
+     * Main program of the benchmark
+     *
+     * @param args the options
+     */
+    public static void main(String[] args) {
+        RenderBenchmark benchmark = new RenderBenchmark();
+        benchmark.parse(args);
+        if (benchmark.updateReferences)
+            benchmark.updateReferences();
+        else if (!benchmark.run())
+            System.exit(1);
+    }
+
+    private void parse(String[] args) {
+        for (int k = 0; k < args.length; k++) {
+            switch (args[k]) {
+                case "--scenes" -> scenes = List.of(args[++k].split(","));
+                case "--modes" -> {
+                    modes = new ArrayList<>();
+                    for (String mode : args[++k].split(","))
+                        modes.add(RenderMode.parse(mode));
+                }
+                case "--size" -> size = Integer.parseInt(args[++k]);
+                case "--references" -> references = new File(args[++k]);
+                case "--update-references" -> updateReferences = true;
+                case "--json" -> json = new File(args[++k]);
+                case "--packets" -> packets = true;
+                case "--min-psnr" -> minPsnr = Double.parseDouble(args[++k]);
+                case "--min-ssim" -> minSsim = Double.parseDouble(args[++k]);
+                default -> throw new IllegalArgumentException("Unknown option " + args[k]);
+            }
+        }
+    }
+
+    /**
+     * Renders every scene in every mode and reports the results
+     *
+     * @return true if every mode passed the quality gates
+     */
+    private boolean run() {
+        List<Result> results = new ArrayList<>();
+        List<String> failures = new ArrayList<>();
+        if (packets)
+            System.out.println("packet kernel: " + PacketShapes.getKernelName());
+        System.out.printf("%-28s %-18s %10s %14s %9s %7s%n", "scene", "mode", "seconds", "rays/second", "PSNR", "SSIM");
+        for (String name : scenes) {
+            BenchmarkScene scene = SceneCatalogue.create(name);
+            //an untimed render first - builds the hierarchy and warms up the JIT
+            render(scene, RenderMode.parse("mt"), new CountingRayTracer[1]);
+            for (RenderMode mode : modes) {
+                CountingRayTracer[] counter = new CountingRayTracer[1];
+                long start = System.nanoTime();
+                ImageWriter image = render(scene, mode, counter);
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                double psnr = Double.NaN;
+                double ssim = Double.NaN;
+                int[] reference = readReference(referenceFile(name, mode));
+                if (reference != null) {
+                    int[] pixels = pixels(image);
+                    psnr = ImageQuality.psnr(pixels, reference);
+                    ssim = ImageQuality.ssim(pixels, reference, size);
+                }
+                Result result = new Result(name, mode.name(), seconds, counter[0].getRays(), psnr, ssim);
+                results.add(result);
+                System.out.printf(Locale.ROOT, "%-28s %-18s %10.3f %14.0f %9.2f %7.4f%n", name, mode.name(), seconds,
+                        result.rays / seconds, psnr, ssim);
+                String failure = checkQuality(result);
+                if (failure != null)
+                    failures.add(name + " " + mode.name() + ": " + failure);
+            }
+        }
+        writeJson(results);
+        for (String failure : failures)
+            System.out.println("FAILED " + failure);
+        return failures.isEmpty();
+    }
+
+    /**
+     * Checks the quality of a render against the gates
+     *
+     * @param result the render
+     * @return the reason of the failure, null if the render passed (or there are no gates)
+     */
+    private String checkQuality(Result result) {
+        boolean gated = minPsnr > Double.NEGATIVE_INFINITY || minSsim > Double.NEGATIVE_INFINITY;
+        if (!gated)
+            return null;
+        //the quality of a render without a reference is unknown, so it cannot pass a gate
+        if (Double.isNaN(result.psnr))
+            return "no reference image";
+        if (result.psnr < minPsnr)
+            return String.format(Locale.ROOT, "PSNR %.2f below %.2f", result.psnr, minPsnr);
+        if (result.ssim < minSsim)
+            return String.format(Locale.ROOT, "SSIM %.4f below %.4f", result.ssim, minSsim);
+        return null;
+    }
+
+    /**
+     * Renders the reference images - every scene in every combination of the buttons which change the picture,
+     * without adaptive super sampling
+     */
+    private void updateReferences() {
+        if (!references.isDirectory() && !references.mkdirs())
+            throw new IllegalStateException("Cannot create " + references);
+        for (String name : scenes) {
+            BenchmarkScene scene = SceneCatalogue.create(name);
+            List<String> done = new ArrayList<>();
+            for (RenderMode mode : modes) {
+                if (done.contains(mode.qualityKey()))
+                    continue;
+                done.add(mode.qualityKey());
+                RenderMode reference = new RenderMode(true, false, mode.jaggedEdges(), mode.depthOfField(),
+                        mode.softShadows());
+                ImageWriter image = render(scene, reference, new CountingRayTracer[1]);
+                writeReference(referenceFile(name, mode), pixels(image));
+                System.out.println("wrote " + referenceFile(name, mode));
+            }
+        }
+    }
+
+    /**
+     * Renders a scene in a mode
+     *
+     * @param scene   the scene
+     * @param mode    the buttons
+     * @param counter receives the ray tracer which counts the rays
+     * @return the image writer with the picture
+     */
+    private ImageWriter render(BenchmarkScene scene, RenderMode mode, CountingRayTracer[] counter) {
+        ImageWriter image = new ImageWriter(scene.name(), size, size);
+        RayTracerBasic rayTracer = new RayTracerBasic(scene.scene()).setSoftShadowsButton(mode.softShadows(), SAMPLES_ROOT)
+                .setPacketTracingButton(packets);
+        counter[0] = new CountingRayTracer(rayTracer, scene.scene());
+        Camera camera = scene.camera().setImageWriter(image).setRayTracerBase(counter[0])
+                .setMultithreading(mode.multiThreading())
+                .setAdaptiveSuperSampling(mode.adaptiveSuperSampling());
+        camera.setJaggedEdgesButton(mode.jaggedEdges(), SAMPLES_ROOT);
+        camera.setDepthButton(mode.depthOfField(), scene.aperture(), scene.focalLength());
+        camera.renderImage();
+        return image;
+    }
+
+    private File referenceFile(String scene, RenderMode mode) {
+        return new File(references, scene + "-" + mode.qualityKey() + "-" + size + ".png");
+    }
+
+    private static int[] pixels(ImageWriter image) {
+        int[] pixels = new int[image.getNx() * image.getNy()];
+        for (int i = 0; i < image.getNy(); i++)
+            for (int j = 0; j < image.getNx(); j++)
+                pixels[i * image.getNx() + j] = image.getPixel(j, i);
+        return pixels;
+    }
+
+    private int[] readReference(File file) {
+        if (!file.isFile())
+            return null;
+        try {
+            BufferedImage image = ImageIO.read(file);
+            if (image.getWidth() != size || image.getHeight() != size)
+                return null;
+            int[] pixels = image.getRGB(0, 0, size, size, null, 0, size);
+            for (int k = 0; k < pixels.length; k++)
+                pixels[k] &= 0xffffff;
+            return pixels;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeReference(File file, int[] pixels) {
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, size, size, pixels, 0, size);
+        try {
+            ImageIO.write(image, "png", file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeJson(List<Result> results) {
+        try (PrintWriter out = new PrintWriter(json, "UTF-8")) {
+            out.println("[");
+            for (int k = 0; k < results.size(); k++) {
+                Result result = results.get(k);
+                out.printf(Locale.ROOT,
+                        "  {\"scene\": \"%s\", \"mode\": \"%s\", \"size\": %d, \"seconds\": %.6f, \"rays\": %d, "
+                                + "\"raysPerSecond\": %.1f, \"psnr\": %s, \"ssim\": %s}%s%n",
+                        result.scene, result.mode, size, result.seconds, result.rays, result.rays / result.seconds,
+                        number(result.psnr), number(result.ssim), k < results.size() - 1 ? "," : "");
+            }
+            out.println("]");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        System.out.println("results written to " + json);
+    }
+
+    /**
+     * JSON has no NaN and infinity - a missing reference is written as null, and the PSNR of an image identical
+     * to its reference is written as 100 dB
+     */
+    private static String number(double value) {
+        if (Double.isNaN(value))
+            return "null";
+        if (Double.isInfinite(value))
+            return "100";
+        return String.format(Locale.ROOT, "%.4f", value);
+    }
+}
@@ -0,0 +1,79 @@
+package benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A combination of the on/off buttons of the renderer. Multi-threading and adaptive super sampling only make
+ * the render faster, the other buttons change the picture - so the reference image of a mode is chosen by
+ * {@link #qualityKey()}
+ *
+ * @param multiThreading        multi-threading button
+ * @param adaptiveSuperSampling adaptive super sampling button
+ * @param jaggedEdges           jagged edges (super sampling) button
+ * @param depthOfField          depth of field button
+ * @param softShadows           soft shadows button
+ */
+public record RenderMode(boolean multiThreading, boolean adaptiveSuperSampling, boolean jaggedEdges,
+                         boolean depthOfField, boolean softShadows) {
+
+    /**
+     * All the 32 combinations of the buttons
+     *
+     * @return the modes
+     */
+    public static List<RenderMode> all() {
+        List<RenderMode> modes = new ArrayList<>();
+        for (int bits = 0; bits < 32; bits++)
+            modes.add(new RenderMode((bits & 1) != 0, (bits & 2) != 0, (bits & 4) != 0, (bits & 8) != 0,
+                    (bits & 16) != 0));
+        return modes;
+    }
+
+    /**
+     * Parse a mode from its name, e.g. "mt+aa+je" - the order of the buttons does not matter
+     *
+     * @param name the buttons which are on, joined by '+', or "plain"
+     * @return the mode
+     */
+    public static RenderMode parse(String name) {
+        List<String> buttons = List.of(name.split("\\+"));
+        for (String button : buttons)
+            if (!List.of("plain", "mt", "aa", "je", "dof", "ss").contains(button))
+                throw new IllegalArgumentException("Unknown button " + button + " in mode " + name);
+        return new RenderMode(buttons.contains("mt"), buttons.contains("aa"), buttons.contains("je"),
+                buttons.contains("dof"), buttons.contains("ss"));
+    }
+
+    /**
+     * The name of the mode - the buttons which are on
+     *
+     * @return e.g. "mt+je+ss", or "plain" when all the buttons are off
+     */
+    public String name() {
+        StringBuilder name = new StringBuilder();
+        append(name, multiThreading, "mt");
+        append(name, adaptiveSuperSampling, "aa");
+        append(name, jaggedEdges, "je");
+        append(name, depthOfField, "dof");
+        append(name, softShadows, "ss");
+        return name.length() == 0 ? "plain" : name.toString();
+    }
+
+    /**
+     * The name of the buttons which change the picture - modes with the same key share a reference image
+     *
+     * @return the key
+     */
+    public String qualityKey() {
+        return new RenderMode(false, false, jaggedEdges, depthOfField, softShadows).name();
+    }
+
+    private static void append(StringBuilder name, boolean on, String button) {
+        if (!on)
+            return;
+        if (name.length() > 0)
+            name.append('+');
+        name.append(button);
+    }
+}
@@ -0,0 +1,191 @@
+package benchmarks;
+
+import geometries.Geometries;
+import geometries.MeshLoader;
+import geometries.Sphere;
+import geometries.Triangle;
+import lighting.AmbientLight;
+import lighting.LightSource;
+import lighting.PointLight;
+import lighting.Spotlight;
+import primitives.*;
+import scene.Scene;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * The fixed catalogue of scenes of the render benchmark - the scenes of the render tests
+ */
+public final class SceneCatalogue {
+
+    private static final Map<String, Supplier<BenchmarkScene>> SCENES = new LinkedHashMap<>();
+
+    static {
+        SCENES.put("teapot", SceneCatalogue::teapot);
+        SCENES.put("teapotMesh", SceneCatalogue::teapotMesh);
+        SCENES.put("softShadowTriangles", SceneCatalogue::softShadowTriangles);
+        SCENES.put("reflectionRefractionSpheres", SceneCatalogue::reflectionRefractionSpheres);
+    }
+
+    private SceneCatalogue() {
+    }
+
+    /**
+     * The names of all the scenes
+     *
+     * @return the names in the order of the catalogue
+     */
+    public static List<String> names() {
+        return new ArrayList<>(SCENES.keySet());
+    }
+
+    /**
+     * Creates a scene of the catalogue
+     *
+     * @param name the name of the scene
+     * @return a new instance of the scene
+     */
+    public static BenchmarkScene create(String name) {
+        Supplier<BenchmarkScene> scene = SCENES.get(name);
+        if (scene == null)
+            throw new IllegalArgumentException("Unknown scene " + name + ", the scenes are " + names());
+        return scene.get();
+    }
+
+    /**
+     * The teapot of renderer.TeapotTest - 992 triangles in a bounding volume hierarchy
+     */
+    private static BenchmarkScene teapot() {
+        Color color = new Color(200, 0, 0);
+        Material material = new Material().setKd(0.5).setKs(0.5).setShininess(60);
+        Geometries geometries = new Geometries();
+        readObj("/scenes/teapot.obj", (a, b, c) ->
+                geometries.add(new Triangle(a, b, c).setEmission(color).setMaterial(material)));
+        geometries.setBVH(true);
+
+        LinkedList<LightSource> lights = new LinkedList<>();
+        lights.add(new PointLight(new Color(500, 500, 500), new Point(100, 0, -100)).setKq(0.000001));
+        Scene scene = new Scene.SceneBuilder("teapot").setGeometries(geometries)
+                .setAmbientLight(new AmbientLight(new Color(255, 255, 255), new Double3(0.15)))
+                .setLights(lights).build();
+        return new BenchmarkScene("teapot", scene, new Point(0, 0, -1000), new Vector(0, 0, 1),
+                new Vector(0, 1, 0), 200, 1000, 1000, 20);
+    }
+
+    /**
+     * The same teapot loaded by {@link MeshLoader} into one mesh instead of separate triangles
+     */
+    private static BenchmarkScene teapotMesh() {
+        Geometries geometries;
+        try (InputStream stream = SceneCatalogue.class.getResourceAsStream("/scenes/teapot.obj")) {
+            if (stream == null)
+                throw new IllegalStateException("Missing resource /scenes/teapot.obj");
+            geometries = new Geometries(MeshLoader.loadObj(ByteBuffer.wrap(stream.readAllBytes()))
+                    .setEmission(new Color(200, 0, 0))
+                    .setMaterial(new Material().setKd(0.5).setKs(0.5).setShininess(60)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        LinkedList<LightSource> lights = new LinkedList<>();
+        lights.add(new PointLight(new Color(500, 500, 500), new Point(100, 0, -100)).setKq(0.000001));
+        Scene scene = new Scene.SceneBuilder("teapotMesh").setGeometries(geometries)
+                .setAmbientLight(new AmbientLight(new Color(255, 255, 255), new Double3(0.15)))
+                .setLights(lights).build();
+        return new BenchmarkScene("teapotMesh", scene, new Point(0, 0, -1000), new Vector(0, 0, 1),
+                new Vector(0, 1, 0), 200, 1000, 1000, 20);
+    }
+
+    /**
+     * Two triangles and a sphere lighted by a point light - renderer.ShadowTests#ourTestSoftShadows1
+     */
+    private static BenchmarkScene softShadowTriangles() {
+        Geometries geometries = new Geometries(
+                new Triangle(new Point(-150, -150, -115), new Point(150, -150, -135), new Point(75, 75, -150))
+                        .setMaterial(new Material().setKs(0.8).setShininess(60)),
+                new Triangle(new Point(-150, -150, -115), new Point(-70, 70, -140), new Point(75, 75, -150))
+                        .setMaterial(new Material().setKs(0.8).setShininess(60)),
+                new Sphere(new Point(0, 0, -11), 30d)
+                        .setEmission(new Color(0, 0, 255))
+                        .setMaterial(new Material().setKd(0.5).setKs(0.5).setShininess(30)));
+        LinkedList<LightSource> lights = new LinkedList<>();
+        lights.add(new PointLight(new Color(700, 400, 400), new Point(40, 40, 115)).setKl(4E-4).setKq(2E-5));
+        Scene scene = new Scene.SceneBuilder("softShadowTriangles").setGeometries(geometries)
+                .setAmbientLight(new AmbientLight(new Color(255, 255, 255), new Double3(0.15)))
+                .setLights(lights).build();
+        return new BenchmarkScene("softShadowTriangles", scene, new Point(0, 0, 1000), new Vector(0, 0, -1),
+                new Vector(0, 1, 0), 200, 1000, 1000, 20);
+    }
+
+    /**
+     * Transparent spheres in front of two mirrors - renderer.ReflectionRefractionTests#twoSpheresOnMirrors
+     */
+    private static BenchmarkScene reflectionRefractionSpheres() {
+        Geometries geometries = new Geometries(
+                new Sphere(new Point(-950, -900, -1000), 400d).setEmission(new Color(0, 0, 100))
+                        .setMaterial(new Material().setKd(0.25).setKs(0.25).setShininess(20).setKt(new Double3(0.5))),
+                new Sphere(new Point(-950, -900, -1000), 200d).setEmission(new Color(100, 20, 20))
+                        .setMaterial(new Material().setKd(0.25).setKs(0.25).setShininess(20)),
+                new Triangle(new Point(1500, -1500, -1500), new Point(-1500, 1500, -1500), new Point(670, 670, 3000))
+                        .setEmission(new Color(20, 20, 20))
+                        .setMaterial(new Material().setKr(new Double3(1))),
+                new Triangle(new Point(1500, -1500, -1500), new Point(-1500, 1500, -1500),
+                        new Point(-1500, -1500, -2000))
+                        .setEmission(new Color(20, 20, 20))
+                        .setMaterial(new Material().setKr(new Double3(0.5))));
+        LinkedList<LightSource> lights = new LinkedList<>();
+        lights.add(new Spotlight(new Color(1020, 400, 400), new Point(-750, -750, -150), new Vector(-1, -1, -4))
+                .setKl(0.00001).setKq(0.000005));
+        Scene scene = new Scene.SceneBuilder("reflectionRefractionSpheres").setGeometries(geometries)
+                .setAmbientLight(new AmbientLight(new Color(255, 255, 255), new Double3(0.1)))
+                .setLights(lights).build();
+        return new BenchmarkScene("reflectionRefractionSpheres", scene, new Point(0, 0, 10000),
+                new Vector(0, 0, -1), new Vector(0, 1, 0), 2500, 10000, 11000, 200);
+    }
+
+    /**
+     * The work for every triangle of a model
+     */
+    @FunctionalInterface
+    private interface TriangleConsumer {
+        void accept(Point a, Point b, Point c);
+    }
+
+    /**
+     * Reads the vertices and the triangles of a simple OBJ model from the resources ("v x y z" and "f i j k")
+     *
+     * @param resource the name of the resource
+     * @param consumer receives every triangle
+     */
+    private static void readObj(String resource, TriangleConsumer consumer) {
+        try (InputStream stream = SceneCatalogue.class.getResourceAsStream(resource)) {
+            if (stream == null)
+                throw new IllegalStateException("Missing resource " + resource);
+            BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.US_ASCII));
+            List<Point> vertices = new ArrayList<>();
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                String[] parts = line.trim().split("\\s+");
+                if (parts[0].equals("v"))
+                    vertices.add(new Point(Double.parseDouble(parts[1]), Double.parseDouble(parts[2]),
+                            Double.parseDouble(parts[3])));
+                else if (parts[0].equals("f"))
+                    consumer.accept(vertices.get(Integer.parseInt(parts[1]) - 1),
+                            vertices.get(Integer.parseInt(parts[2]) - 1), vertices.get(Integer.parseInt(parts[3]) - 1));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package geometries;
+
+import benchmarks.RaySets;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of a group of spheres and triangles, with and without the bounding volume hierarchy.
+ * Every operation intersects a fixed set of rays with the whole group
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeometriesBenchmark {
+
+    private static final int RAYS = 256;
+
+    @Param({"10", "100", "10000"})
+    public int objects;
+
+    @Param({"false", "true"})
+    public boolean bvh;
+
+    private Geometries geometries;
+    private Ray[] rays;
+
+    /**
+     * Creates the shapes at random places in a cube of size 100 (the same shapes in every run)
+     */
+    @Setup
+    public void setup() {
+        Random random = new Random(7);
+        geometries = new Geometries();
+        for (int k = 0; k < objects; k++) {
+            Point center = new Point(random.nextDouble() * 100 - 50, random.nextDouble() * 100 - 50,
+                    random.nextDouble() * 100 - 50);
+            if (k % 2 == 0)
+                geometries.add(new Sphere(center, 1 + random.nextDouble()));
+            else
+                geometries.add(new Triangle(center, center.add(new Vector(2, 0, 0)),
+                        center.add(new Vector(0, 2, 1))));
+        }
+        geometries.setBVH(bvh).buildBVH();
+        rays = RaySets.towards(new Point(0, 0, 0), 200, 100, RAYS, 42);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void allIntersections(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(geometries.findGeoIntersections(ray));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void closestIntersection(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(geometries.findClosestGeoIntersection(ray));
+    }
+}
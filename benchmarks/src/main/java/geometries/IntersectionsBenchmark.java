@@ -0,0 +1,141 @@
+package geometries;
+
+import benchmarks.RaySets;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the intersection kernels of the shapes. The class is in the geometries package in order to
+ * call findGeoIntersectionsHelper directly, without the bounding box test of findGeoIntersections.
+ * Every operation intersects a fixed set of rays, about half of them hit the shape
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntersectionsBenchmark {
+
+    private static final int RAYS = 1024;
+
+    private Sphere sphere;
+    private Plane plane;
+    private Triangle triangle;
+    private Quadrangle quadrangle;
+    private Polygon polygon;
+    private Geometries polygonTriangles;
+    private Cylinder cylinder;
+    private TriangleMesh cylinderMesh;
+    private Ray[] rays;
+
+    /**
+     * Creates the shapes around the origin and the rays towards them
+     */
+    @Setup
+    public void setup() {
+        sphere = new Sphere(new Point(0, 0, 0), 1);
+        plane = new Plane(new Point(0, 0, 0), new Vector(0, 0, 1));
+        triangle = new Triangle(new Point(-1, -1, 0), new Point(1, -1, 0), new Point(0, 1.5, 0));
+        quadrangle = new Quadrangle(new Point(-1, -1, 0), new Point(1, -1, 0), new Point(1, 1, 0), new Point(-1, 1, 0));
+        //a regular octagon, and the same octagon as a fan of 6 triangles
+        Point[] octagon = new Point[8];
+        for (int i = 0; i < 8; i++)
+            octagon[i] = new Point(1.2 * Math.cos(i * Math.PI / 4), 1.2 * Math.sin(i * Math.PI / 4), 0);
+        polygon = new Polygon(octagon);
+        polygonTriangles = new Geometries();
+        for (int i = 1; i < 7; i++)
+            polygonTriangles.add(new Triangle(octagon[0], octagon[i], octagon[i + 1]));
+        //a closed cylinder, and the same cylinder as a mesh of 64 sides
+        cylinder = new Cylinder(new Ray(new Point(0, 0, -1), new Vector(0, 0, 1)), 1, 2);
+        cylinderMesh = facetedCylinder(64);
+        rays = RaySets.towards(new Point(0, 0, 0), 10, 3, RAYS, 42);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void sphere(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(sphere.findGeoIntersectionsHelper(ray));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void plane(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(plane.findGeoIntersectionsHelper(ray));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void triangle(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(triangle.findGeoIntersectionsHelper(ray));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void quadrangle(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(quadrangle.findGeoIntersectionsHelper(ray));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void polygon(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(polygon.findGeoIntersectionsHelper(ray));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void polygonAsTriangles(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(polygonTriangles.findGeoIntersectionsHelper(ray));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void cylinder(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(cylinder.findGeoIntersectionsHelper(ray));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RAYS)
+    public void cylinderAsMesh(Blackhole blackhole) {
+        for (Ray ray : rays)
+            blackhole.consume(cylinderMesh.findGeoIntersectionsHelper(ray));
+    }
+
+    /**
+     * A cylinder of radius 1 from z = -1 to z = 1 made of triangles - every side is two triangles and every base
+     * is a fan of triangles around its center
+     *
+     * @param sides amount of sides
+     * @return the mesh
+     */
+    private static TriangleMesh facetedCylinder(int sides) {
+        double[] vertices = new double[(2 * sides + 2) * 3];
+        for (int i = 0; i < sides; i++) {
+            double x = Math.cos(2 * Math.PI * i / sides), y = Math.sin(2 * Math.PI * i / sides);
+            System.arraycopy(new double[]{x, y, -1, x, y, 1}, 0, vertices, i * 6, 6);
+        }
+        int bottom = 2 * sides, top = bottom + 1;
+        vertices[bottom * 3 + 2] = -1;
+        vertices[top * 3 + 2] = 1;
+        int[] faces = new int[sides * 12];
+        for (int i = 0, k = 0; i < sides; i++) {
+            int a = 2 * i, b = a + 1, c = (2 * i + 2) % bottom, d = c + 1;
+            int[] face = {a, c, d, d, b, a, bottom, c, a, top, b, d};
+            System.arraycopy(face, 0, faces, k, 12);
+            k += 12;
+        }
+        return new TriangleMesh(vertices, faces);
+    }
+}
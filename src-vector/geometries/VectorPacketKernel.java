@@ -0,0 +1,271 @@
+package geometries;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+import static jdk.incubator.vector.VectorOperators.EQ;
+import static jdk.incubator.vector.VectorOperators.GE;
+import static jdk.incubator.vector.VectorOperators.GT;
+import static jdk.incubator.vector.VectorOperators.LE;
+import static jdk.incubator.vector.VectorOperators.LT;
+import static jdk.incubator.vector.VectorOperators.NE;
+import static primitives.Util.isZero;
+
+/***
+ * the packets of rays with the SIMD instructions of the processor - every lane of a vector is one ray, so 4 rays
+ * (AVX2) or 8 rays (AVX-512) are tested against a shape at once.
+ * every lane does exactly the calculations of the scalar code of the shape (no fused multiply-add, the same order
+ * of additions), so the intersections are the same to the last bit.
+ * the work is done in short passes over all the rays of the packet, which keeps their state in arrays - a vector
+ * which is passed to a method that is not inlined is copied into an object, so no vector leaves a pass.
+ * it is compiled only by the vector-api profile of maven, and used only when the java command adds the module
+ * jdk.incubator.vector - see PacketKernel.load
+ */
+final class VectorPacketKernel implements PacketKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+    private static final int LANES = SPECIES.length();
+    /***
+     * the numbers below this size are zero, as in Util.isZero
+     */
+    private static final double ZERO = 0x1p-40;
+    private static final double INFINITY = Double.POSITIVE_INFINITY;
+
+    /***
+     * constructor
+     * @throws UnsupportedOperationException if the processor has no vectors of two numbers or more
+     */
+    VectorPacketKernel() {
+        if (LANES < 2)
+            throw new UnsupportedOperationException("No SIMD vectors of doubles");
+    }
+
+    @Override
+    public int lanes() {
+        return LANES;
+    }
+
+    @Override
+    public void intersect(PacketShapes.Packet packet, int kind, double[] data, int at, double ox, double oy,
+                          double oz, int length, double[] limit) {
+        switch (kind) {
+            case PacketShapes.SPHERE -> sphere(packet, data, at, ox, oy, oz, length, limit);
+            case PacketShapes.PLANE -> plane(packet, data, at, ox, oy, oz, length, limit);
+            default -> triangle(packet, data, at, ox, oy, oz, length, limit);
+        }
+    }
+
+    /***
+     * Util.alignZero in every lane
+     * @param x the numbers
+     * @return the numbers, 0 instead of the numbers which are almost zero
+     */
+    private static DoubleVector alignZero(DoubleVector x) {
+        return x.blend(0.0, almostZero(x));
+    }
+
+    /***
+     * Util.isZero in every lane
+     * @param x the numbers
+     * @return the lanes whose numbers are almost zero
+     */
+    private static VectorMask<Double> almostZero(DoubleVector x) {
+        return x.abs().compare(LT, ZERO);
+    }
+
+    @Override
+    public void entryDistances(PacketShapes.Packet packet, double[] sides, int at, double ox, double oy, double oz,
+                               int length, double[] entry) {
+        double lowX = sides[at] - ox, lowY = sides[at + 1] - oy, lowZ = sides[at + 2] - oz;
+        double highX = sides[at + 3] - ox, highY = sides[at + 4] - oy, highZ = sides[at + 5] - oz;
+        for (int k = 0; k < length; k += LANES) {
+            DoubleVector near = DoubleVector.zero(SPECIES);
+            DoubleVector far = near.broadcast(INFINITY);
+            //comparisons with NaN are false, so such a lane is not swapped and does not cut the range
+            DoubleVector inv = DoubleVector.fromArray(SPECIES, packet._invX, k);
+            DoubleVector t1 = inv.mul(lowX);
+            DoubleVector t2 = inv.mul(highX);
+            VectorMask<Double> swap = t1.compare(GT, t2);
+            DoubleVector low = t1.blend(t2, swap);
+            DoubleVector high = t2.blend(t1, swap);
+            near = near.blend(low, low.compare(GT, near));
+            far = far.blend(high, high.compare(LT, far));
+            VectorMask<Double> missed = near.compare(GT, far);
+
+            inv = DoubleVector.fromArray(SPECIES, packet._invY, k);
+            t1 = inv.mul(lowY);
+            t2 = inv.mul(highY);
+            swap = t1.compare(GT, t2);
+            low = t1.blend(t2, swap);
+            high = t2.blend(t1, swap);
+            near = near.blend(low, low.compare(GT, near));
+            far = far.blend(high, high.compare(LT, far));
+            missed = missed.or(near.compare(GT, far));
+
+            inv = DoubleVector.fromArray(SPECIES, packet._invZ, k);
+            t1 = inv.mul(lowZ);
+            t2 = inv.mul(highZ);
+            swap = t1.compare(GT, t2);
+            low = t1.blend(t2, swap);
+            high = t2.blend(t1, swap);
+            near = near.blend(low, low.compare(GT, near));
+            far = far.blend(high, high.compare(LT, far));
+            near.blend(INFINITY, missed.or(near.compare(LE, far).not())).intoArray(entry, k);
+        }
+    }
+
+    @Override
+    public void keep(PacketShapes.Packet packet, int shape, double ox, double oy, double oz, int length) {
+        for (int k = 0; k < length; k += LANES) {
+            DoubleVector t = DoubleVector.fromArray(SPECIES, packet._t, k);
+            VectorMask<Double> found = t.compare(NE, INFINITY);
+            if (!found.anyTrue())
+                continue;
+            DoubleVector.fromArray(SPECIES, packet._closest, k).blend(t, found).intoArray(packet._closest, k);
+            DoubleVector.fromArray(SPECIES, packet._hit, k).blend(shape, found).intoArray(packet._hit, k);
+            //the distance of the point of the hit, as Geometries keeps it (t is never almost zero here
+            //except 0 of a plane, and then the point is the head of the ray in both ways)
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, packet._dirX, k);
+            DoubleVector dy = DoubleVector.fromArray(SPECIES, packet._dirY, k);
+            DoubleVector dz = DoubleVector.fromArray(SPECIES, packet._dirZ, k);
+            DoubleVector a = dx.broadcast(ox).sub(dx.mul(t).add(ox));
+            DoubleVector b = dy.broadcast(oy).sub(dy.mul(t).add(oy));
+            DoubleVector c = dz.broadcast(oz).sub(dz.mul(t).add(oz));
+            DoubleVector.fromArray(SPECIES, packet._maxDistance, k)
+                    .blend(a.mul(a).add(b.mul(b)).add(c.mul(c)).sqrt(), found)
+                    .intoArray(packet._maxDistance, k);
+        }
+    }
+
+    /***
+     * Sphere.closest of every ray
+     * @param packet the rays, receive their hits in t
+     * @param data the numbers of the shapes
+     * @param at the place of the sphere in the numbers
+     * @param ox x of the head of the rays
+     * @param oy y of the head of the rays
+     * @param oz z of the head of the rays
+     * @param length the amount of rays in the arrays
+     * @param limit the maximal distance of the hit of every ray
+     */
+    private static void sphere(PacketShapes.Packet packet, double[] data, int at, double ox, double oy,
+                               double oz, int length, double[] limit) {
+        double radius = data[at + 3];
+        double ux = data[at] - ox;
+        double uy = data[at + 1] - oy;
+        double uz = data[at + 2] - oz;
+        boolean inside = isZero(ux) && isZero(uy) && isZero(uz);
+        double lengthSquared = ux * ux + uy * uy + uz * uz;
+        for (int k = 0; k < length; k += LANES) {
+            DoubleVector maxDistance = DoubleVector.fromArray(SPECIES, limit, k);
+            if (inside) {
+                maxDistance.broadcast(INFINITY).blend(radius, maxDistance.compare(GT, radius))
+                        .intoArray(packet._t, k);
+                continue;
+            }
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, packet._dirX, k);
+            DoubleVector dy = DoubleVector.fromArray(SPECIES, packet._dirY, k);
+            DoubleVector dz = DoubleVector.fromArray(SPECIES, packet._dirZ, k);
+            DoubleVector tm = alignZero(dx.mul(ux).add(dy.mul(uy)).add(dz.mul(uz)));
+            DoubleVector d = alignZero(tm.broadcast(lengthSquared).sub(tm.mul(tm)).sqrt());
+            VectorMask<Double> miss = d.compare(GE, radius);
+            DoubleVector th = alignZero(d.broadcast(radius * radius).sub(d.mul(d)).sqrt());
+            DoubleVector t = alignZero(tm.sub(th));
+            t = t.blend(alignZero(tm.add(th)), t.compare(LE, 0));
+            miss = miss.or(t.compare(LE, 0)).or(t.compare(GE, maxDistance))
+                    .or(maxDistance.compare(EQ, Double.NEGATIVE_INFINITY));
+            t.blend(INFINITY, miss).intoArray(packet._t, k);
+        }
+    }
+
+    /***
+     * Plane.closest of every ray
+     * @param packet the rays, receive their hits in t
+     * @param data the numbers of the shapes
+     * @param at the place of the plane in the numbers
+     * @param ox x of the head of the rays
+     * @param oy y of the head of the rays
+     * @param oz z of the head of the rays
+     * @param length the amount of rays in the arrays
+     * @param limit the maximal distance of the hit of every ray
+     */
+    private static void plane(PacketShapes.Packet packet, double[] data, int at, double ox, double oy,
+                              double oz, int length, double[] limit) {
+        double ux = data[at] - ox;
+        double uy = data[at + 1] - oy;
+        double uz = data[at + 2] - oz;
+        if (isZero(ux) && isZero(uy) && isZero(uz)) {
+            Arrays.fill(packet._t, 0, length, INFINITY);
+            return;
+        }
+        double nx = data[at + 3];
+        double ny = data[at + 4];
+        double nz = data[at + 5];
+        double nu = ux * nx + uy * ny + uz * nz;
+        for (int k = 0; k < length; k += LANES) {
+            DoubleVector maxDistance = DoubleVector.fromArray(SPECIES, limit, k);
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, packet._dirX, k);
+            DoubleVector dy = DoubleVector.fromArray(SPECIES, packet._dirY, k);
+            DoubleVector dz = DoubleVector.fromArray(SPECIES, packet._dirZ, k);
+            DoubleVector nv = dx.mul(nx).add(dy.mul(ny)).add(dz.mul(nz));
+            DoubleVector t = alignZero(nv.broadcast(nu).div(nv));
+            VectorMask<Double> miss = almostZero(nv).or(t.compare(LT, 0)).or(t.compare(GE, maxDistance))
+                    .or(maxDistance.compare(EQ, Double.NEGATIVE_INFINITY));
+            t.blend(INFINITY, miss).intoArray(packet._t, k);
+        }
+    }
+
+    /***
+     * Triangle.mollerTrumbore of every ray
+     * @param packet the rays, receive their hits in t
+     * @param data the numbers of the shapes
+     * @param at the place of the triangle in the numbers
+     * @param ox x of the head of the rays
+     * @param oy y of the head of the rays
+     * @param oz z of the head of the rays
+     * @param length the amount of rays in the arrays
+     * @param limit the maximal distance of the hit of every ray
+     */
+    private static void triangle(PacketShapes.Packet packet, double[] data, int at, double ox, double oy,
+                                 double oz, int length, double[] limit) {
+        double e1x = data[at + 3], e1y = data[at + 4], e1z = data[at + 5];
+        double e2x = data[at + 6], e2y = data[at + 7], e2z = data[at + 8];
+        //s = p0 - a, and q = s x e1 - the same for all the rays
+        double sx = ox - data[at];
+        double sy = oy - data[at + 1];
+        double sz = oz - data[at + 2];
+        double qx = sy * e1z - sz * e1y;
+        double qy = sz * e1x - sx * e1z;
+        double qz = sx * e1y - sy * e1x;
+        double e2q = e2x * qx + e2y * qy + e2z * qz;
+        //the bound of a ray parallel to the triangle, as in Triangle.mollerTrumbore
+        double nx = e1y * e2z - e1z * e2y;
+        double ny = e1z * e2x - e1x * e2z;
+        double nz = e1x * e2y - e1y * e2x;
+        double parallel = Triangle.PARALLEL * (nx * nx + ny * ny + nz * nz);
+        for (int k = 0; k < length; k += LANES) {
+            DoubleVector maxDistance = DoubleVector.fromArray(SPECIES, limit, k);
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, packet._dirX, k);
+            DoubleVector dy = DoubleVector.fromArray(SPECIES, packet._dirY, k);
+            DoubleVector dz = DoubleVector.fromArray(SPECIES, packet._dirZ, k);
+            //p = dir x e2
+            DoubleVector px = dy.mul(e2z).sub(dz.mul(e2y));
+            DoubleVector py = dz.mul(e2x).sub(dx.mul(e2z));
+            DoubleVector pz = dx.mul(e2y).sub(dy.mul(e2x));
+            DoubleVector det = px.mul(e1x).add(py.mul(e1y)).add(pz.mul(e1z));
+            VectorMask<Double> miss = det.mul(det).compare(LE, parallel);
+            DoubleVector invDet = det.broadcast(1.0).div(det);
+            DoubleVector u = alignZero(px.mul(sx).add(py.mul(sy)).add(pz.mul(sz)).mul(invDet));
+            miss = miss.or(u.compare(LE, 0)).or(u.compare(GE, 1));
+            DoubleVector v = alignZero(dx.mul(qx).add(dy.mul(qy)).add(dz.mul(qz)).mul(invDet));
+            miss = miss.or(v.compare(LE, 0)).or(alignZero(u.broadcast(1.0).sub(u).sub(v)).compare(LE, 0));
+            DoubleVector t = alignZero(invDet.mul(e2q));
+            miss = miss.or(t.compare(LE, 0)).or(t.compare(GE, maxDistance))
+                    .or(maxDistance.compare(EQ, Double.NEGATIVE_INFINITY));
+            t.blend(INFINITY, miss).intoArray(packet._t, k);
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package geometries;
+
+import primitives.Ray;
+
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+
+/***
+ * class BVHNode is a node of the bounding volume hierarchy used by Geometries
+ * every node holds a box around all the shapes below it, so that a ray which misses the box
+ * skips all of them at once. the leaves hold the shapes themselves
+ */
+class BVHNode extends Intersectable {
+
+    /***
+     * maximum number of shapes in a leaf
+     */
+    private static final int LEAF_SIZE = 2;
+
+    /***
+     * box around everything in this node
+     */
+    final BoundingBox _box;
+    /***
+     * the shapes of a leaf, null if the node is not a leaf
+     */
+    final Intersectable[] _items;
+    /***
+     * children of the node, null if the node is a leaf
+     */
+    final BVHNode _left;
+    final BVHNode _right;
+
+    /***
+     * constructor builds the hierarchy recursively.
+     * the shapes are split in the middle of the longest axis according to the centers of their boxes
+     * @param items the shapes for this node, all of them must have a bounding box
+     */
+    BVHNode(List<Intersectable> items) {
+        BoundingBox box = items.get(0).getBoundingBox();
+        for (Intersectable item : items) {
+            box = box.union(item.getBoundingBox());
+        }
+        _box = box;
+
+        if (items.size() <= LEAF_SIZE) {
+            _items = items.toArray(new Intersectable[0]);
+            _left = null;
+            _right = null;
+            return;
+        }
+
+        //sort according to the centers on the longest axis and split in the middle
+        int axis = box.longestAxis();
+        List<Intersectable> sorted = new LinkedList<>(items);
+        sorted.sort(Comparator.comparingDouble(item -> item.getBoundingBox().center(axis)));
+        int middle = sorted.size() / 2;
+
+        _items = null;
+        _left = new BVHNode(sorted.subList(0, middle));
+        _right = new BVHNode(sorted.subList(middle, sorted.size()));
+    }
+
+    @Override
+    protected BoundingBox calcBoundingBox() {
+        return _box;
+    }
+
+    /***
+     * finds the intersections only in the parts of the hierarchy that the ray passes through.
+     * the box of this node was already tested by findGeoIntersections, and every child is searched through its
+     * own findGeoIntersections - so every box is tested once
+     * @param ray the ray to check for intersections
+     * @return list of GeoPoint intersections, null if there are none
+     */
+    @Override
+    protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray) {
+        if (_items != null) {
+            List<GeoPoint> intersections = null;
+            for (Intersectable item : _items) {
+                var itemList = item.findGeoIntersections(ray);
+                if (itemList != null) {
+                    if (intersections == null)
+                        intersections = new LinkedList<>();
+                    intersections.addAll(itemList);
+                }
+            }
+            return intersections;
+        }
+
+        //the child whose box the ray misses is skipped with everything inside it
+        List<GeoPoint> leftList = _left.findGeoIntersections(ray);
+        List<GeoPoint> rightList = _right.findGeoIntersections(ray);
+        if (leftList == null)
+            return rightList;
+        if (rightList == null)
+            return leftList;
+        List<GeoPoint> intersections = new LinkedList<>(leftList);
+        intersections.addAll(rightList);
+        return intersections;
+    }
+
+    /***
+     * occlusion query in the hierarchy - only the boxes that the ray enters before the maximum distance are
+     * searched, and the search stops as soon as an opaque shape is found
+     * @param ray the ray from the point towards the light
+     * @param maxDistance intersections at this distance from the head of the ray or farther are ignored
+     * @return the transparency along the ray
+     */
+    @Override
+    protected double findTransparencyHelper(Ray ray, double maxDistance) {
+        if (_items != null) {
+            double ktr = 1.0;
+            for (Intersectable item : _items) {
+                ktr *= item.findTransparency(ray, maxDistance);
+                if (ktr == 0)
+                    return 0;
+            }
+            return ktr;
+        }
+        double ktr = _left.findTransparency(ray, maxDistance);
+        if (ktr == 0)
+            return 0;
+        return ktr * _right.findTransparency(ray, maxDistance);
+    }
+
+    /***
+     * finds the closest intersection in the hierarchy. the child whose box is closer is searched first,
+     * and the other child is searched only if its box is closer than the intersection found
+     * @param ray the ray to check for intersections
+     * @param maxDistance intersections at this distance or farther are ignored
+     * @return the closest GeoPoint, null if there is none
+     */
+    @Override
+    protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+        GeoPoint closest = null;
+        if (_items != null) {
+            for (Intersectable item : _items) {
+                GeoPoint gp = item.findClosestGeoIntersection(ray, maxDistance);
+                if (gp != null) {
+                    closest = gp;
+                    maxDistance = ray.getP0().distance(gp._geoPoint);
+                }
+            }
+            return closest;
+        }
+
+        BVHNode near = _left;
+        BVHNode far = _right;
+        double nearDistance = _left._box.entryDistance(ray);
+        double farDistance = _right._box.entryDistance(ray);
+        if (farDistance < nearDistance) {
+            near = _right;
+            far = _left;
+            double tmp = nearDistance;
+            nearDistance = farDistance;
+            farDistance = tmp;
+        }
+
+        if (nearDistance < maxDistance) {
+            closest = near.findClosestGeoIntersectionHelper(ray, maxDistance);
+            if (closest != null)
+                maxDistance = ray.getP0().distance(closest._geoPoint);
+        }
+        if (farDistance < maxDistance) {
+            GeoPoint gp = far.findClosestGeoIntersectionHelper(ray, maxDistance);
+            if (gp != null)
+                closest = gp;
+        }
+        return closest;
+    }
+}
@@ -0,0 +1,245 @@
+package geometries;
+
+import primitives.Double3;
+import primitives.Point;
+import primitives.Ray;
+
+/***
+ * class BoundingBox represents an axis aligned box around a geometry or a group of geometries
+ * it is used for the bounding volume hierarchy in order to skip whole groups of shapes with a cheap test
+ */
+public class BoundingBox {
+
+    /***
+     * small padding for the sides of the box so that flat boxes (of flat shapes) are not missed
+     */
+    private static final double EPSILON = 1e-7;
+
+    /***
+     * lowest corner of the box
+     */
+    final double _minX, _minY, _minZ;
+    /***
+     * highest corner of the box
+     */
+    final double _maxX, _maxY, _maxZ;
+
+    /***
+     * constructor
+     * @param minX lowest x
+     * @param minY lowest y
+     * @param minZ lowest z
+     * @param maxX highest x
+     * @param maxY highest y
+     * @param maxZ highest z
+     */
+    public BoundingBox(double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        _minX = minX;
+        _minY = minY;
+        _minZ = minZ;
+        _maxX = maxX;
+        _maxY = maxY;
+        _maxZ = maxZ;
+    }
+
+    /***
+     * constructor creates the smallest box containing all the points
+     * @param points the points inside the box
+     */
+    public BoundingBox(Point... points) {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+        for (Point p : points) {
+            Double3 xyz = p.getXyz();
+            minX = Math.min(minX, xyz.getD1());
+            minY = Math.min(minY, xyz.getD2());
+            minZ = Math.min(minZ, xyz.getD3());
+            maxX = Math.max(maxX, xyz.getD1());
+            maxY = Math.max(maxY, xyz.getD2());
+            maxZ = Math.max(maxZ, xyz.getD3());
+        }
+        _minX = minX;
+        _minY = minY;
+        _minZ = minZ;
+        _maxX = maxX;
+        _maxY = maxY;
+        _maxZ = maxZ;
+    }
+
+    /***
+     * creates a box containing both boxes
+     * @param other the second box
+     * @return new box around both of them
+     */
+    public BoundingBox union(BoundingBox other) {
+        return new BoundingBox(
+                Math.min(_minX, other._minX), Math.min(_minY, other._minY), Math.min(_minZ, other._minZ),
+                Math.max(_maxX, other._maxX), Math.max(_maxY, other._maxY), Math.max(_maxZ, other._maxZ));
+    }
+
+    /***
+     * getter
+     * @return lowest corner of the box
+     */
+    public Point getMin() {
+        return new Point(_minX, _minY, _minZ);
+    }
+
+    /***
+     * getter
+     * @return highest corner of the box
+     */
+    public Point getMax() {
+        return new Point(_maxX, _maxY, _maxZ);
+    }
+
+    /***
+     * center of the box on the requested axis, used for splitting the hierarchy
+     * @param axis 0 for x, 1 for y, 2 for z
+     * @return the middle of the box on that axis
+     */
+    double center(int axis) {
+        return switch (axis) {
+            case 0 -> (_minX + _maxX) / 2;
+            case 1 -> (_minY + _maxY) / 2;
+            default -> (_minZ + _maxZ) / 2;
+        };
+    }
+
+    /***
+     * finds the axis on which the box is the longest
+     * @return 0 for x, 1 for y, 2 for z
+     */
+    int longestAxis() {
+        double dx = _maxX - _minX;
+        double dy = _maxY - _minY;
+        double dz = _maxZ - _minZ;
+        if (dx >= dy && dx >= dz)
+            return 0;
+        return dy >= dz ? 1 : 2;
+    }
+
+    /***
+     * slab test - checks whether the ray passes through the box in front of its head
+     * @param ray the ray
+     * @return true if the ray hits the box
+     */
+    public boolean intersects(Ray ray) {
+        return entryDistance(ray) != Double.POSITIVE_INFINITY;
+    }
+
+    /***
+     * slab test which also checks that the box is not farther than a maximum distance
+     * @param ray the ray
+     * @param maxDistance the maximum distance from the head of the ray
+     * @return true if the ray hits the box before the maximum distance
+     */
+    public boolean intersects(Ray ray, double maxDistance) {
+        //strict comparison - a missed box is at infinite distance, and the maximum distance may also be infinite
+        return entryDistance(ray) < maxDistance;
+    }
+
+    /***
+     * slab test - finds where the ray enters the box
+     * @param ray the ray
+     * @return the distance from the head of the ray to the box (0 if it starts inside),
+     * positive infinity if the ray misses the box
+     */
+    public double entryDistance(Ray ray) {
+        Double3 p0 = ray.getP0().getXyz();
+        Double3 dir = ray.getDir().getXyz();
+        return entryDistance(_minX - EPSILON, _minY - EPSILON, _minZ - EPSILON,
+                _maxX + EPSILON, _maxY + EPSILON, _maxZ + EPSILON,
+                p0.getD1(), p0.getD2(), p0.getD3(), 1 / dir.getD1(), 1 / dir.getD2(), 1 / dir.getD3());
+    }
+
+    /***
+     * the sides of the box with their padding, in the order of entryDistance
+     * @param sides receives the lowest x, y, z and then the highest x, y, z
+     * @param offset the place of the lowest x in the array
+     */
+    void paddedSides(double[] sides, int offset) {
+        sides[offset] = _minX - EPSILON;
+        sides[offset + 1] = _minY - EPSILON;
+        sides[offset + 2] = _minZ - EPSILON;
+        sides[offset + 3] = _maxX + EPSILON;
+        sides[offset + 4] = _maxY + EPSILON;
+        sides[offset + 5] = _maxZ + EPSILON;
+    }
+
+    /***
+     * slab test in plain numbers, shared with the packets of rays
+     * @param lowX lowest x of the box with its padding
+     * @param lowY lowest y of the box with its padding
+     * @param lowZ lowest z of the box with its padding
+     * @param highX highest x of the box with its padding
+     * @param highY highest y of the box with its padding
+     * @param highZ highest z of the box with its padding
+     * @param ox x of the head of the ray
+     * @param oy y of the head of the ray
+     * @param oz z of the head of the ray
+     * @param invX 1 divided by x of the direction of the ray
+     * @param invY 1 divided by y of the direction of the ray
+     * @param invZ 1 divided by z of the direction of the ray
+     * @return the distance from the head of the ray to the box (0 if it starts inside),
+     * positive infinity if the ray misses the box
+     */
+    static double entryDistance(double lowX, double lowY, double lowZ, double highX, double highY, double highZ,
+                                double ox, double oy, double oz, double invX, double invY, double invZ) {
+        //the range [near, far] of the ray which is inside all the slabs so far - kept in local variables so the
+        //test does not allocate anything.
+        //comparisons with NaN (ray parallel to a slab and starting on its side) are always false,
+        //so such an axis does not cut the range
+        double near = 0;
+        double far = Double.POSITIVE_INFINITY;
+
+        double t1 = (lowX - ox) * invX;
+        double t2 = (highX - ox) * invX;
+        if (t1 > t2) {
+            double tmp = t1;
+            t1 = t2;
+            t2 = tmp;
+        }
+        if (t1 > near)
+            near = t1;
+        if (t2 < far)
+            far = t2;
+        if (near > far)
+            return Double.POSITIVE_INFINITY;
+
+        t1 = (lowY - oy) * invY;
+        t2 = (highY - oy) * invY;
+        if (t1 > t2) {
+            double tmp = t1;
+            t1 = t2;
+            t2 = tmp;
+        }
+        if (t1 > near)
+            near = t1;
+        if (t2 < far)
+            far = t2;
+        if (near > far)
+            return Double.POSITIVE_INFINITY;
+
+        t1 = (lowZ - oz) * invZ;
+        t2 = (highZ - oz) * invZ;
+        if (t1 > t2) {
+            double tmp = t1;
+            t1 = t2;
+            t2 = tmp;
+        }
+        if (t1 > near)
+            near = t1;
+        if (t2 < far)
+            far = t2;
+        return near <= far ? near : Double.POSITIVE_INFINITY;
+    }
+
+    @Override
+    public String toString() {
+        return "BoundingBox{" +
+                "min=(" + _minX + "," + _minY + "," + _minZ + ")" +
+                ", max=(" + _maxX + "," + _maxY + "," + _maxZ + ")" +
+                '}';
+    }
+}
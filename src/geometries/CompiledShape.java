@@ -0,0 +1,125 @@
+package geometries;
+
+import primitives.Ray;
+
+import java.util.List;
+
+/***
+ * a shape of a compiled scene - the shape together with the place of its material in the materials of the scene
+ * and the transparency of the material, both taken once when the scene is compiled.
+ * the points which it finds carry the place of the material, so the ray tracer reads the material of a point
+ * directly, and the occlusion query uses the transparency which was taken, not the one of the material now
+ */
+public final class CompiledShape extends Intersectable {
+
+    /***
+     * the shape
+     */
+    private final Geometry _shape;
+    /***
+     * the place of the material of the shape in the compiled scene
+     */
+    private final int _material;
+    /***
+     * the transparency of the material of the shape when the scene was compiled
+     */
+    private final double _kT;
+
+    /***
+     * constructor
+     * @param shape the shape
+     * @param material the place of the material of the shape in the compiled scene
+     * @param kT the transparency of the material of the shape
+     */
+    public CompiledShape(Geometry shape, int material, double kT) {
+        _shape = shape;
+        _material = material;
+        _kT = kT;
+    }
+
+    /***
+     * getter
+     * @return the shape
+     */
+    public Geometry getShape() {
+        return _shape;
+    }
+
+    /***
+     * getter
+     * @return the place of the material of the shape in the compiled scene
+     */
+    public int getMaterial() {
+        return _material;
+    }
+
+    @Override
+    protected BoundingBox calcBoundingBox() {
+        return _shape.getBoundingBox();
+    }
+
+    /***
+     * the box test, the intersection test and its statistics are the ones of the shape
+     * @param ray the ray to examine for intersections
+     * @return list of GeoPoint intersections
+     */
+    @Override
+    public List<GeoPoint> findGeoIntersections(Ray ray) {
+        return mark(_shape.findGeoIntersections(ray));
+    }
+
+    @Override
+    protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray) {
+        return mark(_shape.findGeoIntersectionsHelper(ray));
+    }
+
+    /***
+     * the box test, the intersection test and its statistics are the ones of the shape
+     * @param ray the ray to examine for intersections
+     * @param maxDistance intersections at this distance from the head of the ray or farther are ignored
+     * @return the closest GeoPoint, null if there are no intersections closer than the maximum distance
+     */
+    @Override
+    public GeoPoint findClosestGeoIntersection(Ray ray, double maxDistance) {
+        GeoPoint closest = _shape.findClosestGeoIntersection(ray, maxDistance);
+        if (closest != null)
+            closest._material = _material;
+        return closest;
+    }
+
+    @Override
+    protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+        GeoPoint closest = _shape.findClosestGeoIntersectionHelper(ray, maxDistance);
+        if (closest != null)
+            closest._material = _material;
+        return closest;
+    }
+
+    /***
+     * the occlusion query of the shape with the transparency which was taken when the scene was compiled
+     * @param ray the ray from the point towards the light
+     * @param maxDistance intersections at this distance from the head of the ray or farther are ignored
+     * @return the transparency along the ray
+     */
+    @Override
+    public double findTransparency(Ray ray, double maxDistance) {
+        return _shape.findTransparency(ray, maxDistance, _kT);
+    }
+
+    @Override
+    protected double findTransparencyHelper(Ray ray, double maxDistance) {
+        return _shape.findTransparencyHelper(ray, maxDistance, _kT);
+    }
+
+    /***
+     * sets the place of the material in the points
+     * @param intersections the points, may be null
+     * @return the points
+     */
+    private List<GeoPoint> mark(List<GeoPoint> intersections) {
+        if (intersections != null)
+            for (GeoPoint gp : intersections)
+                gp._material = _material;
+        return intersections;
+    }
+}
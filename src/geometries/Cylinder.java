@@ -2,11 +2,14 @@ package geometries;
 
 import primitives.*;
 
+import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
 
 /***
  * Class Cylinder extends class Tube and represents the geometrical shape of a cylinder using height
  * and the attributes of the parent class
+ * the intersections are the ones of the tube between the two bases, and the ones of the planes of the bases
+ * which are closer to the axis than the radius
  */
 
 public class Cylinder extends Tube{
@@ -38,6 +41,77 @@ public class Cylinder extends Tube{
                 '}';
     }
 
+    /***
+     * the box around the cylinder is the box around its two bases.
+     * a base is a circle, so on every axis it is as wide as the radius times the sine of the angle between
+     * the axis and the direction of the cylinder
+     * @return the bounding box
+     */
+    @Override
+    protected BoundingBox calcBoundingBox() {
+        Double3 dir = axisRay.getDir().getXyz();
+        Point bottom = axisRay.getP0();
+        Point top = axisRay.getPoint(height);
+        BoundingBox bases = new BoundingBox(bottom, top);
+
+        double eX = radius * Math.sqrt(Math.max(0, 1 - dir.getD1() * dir.getD1()));
+        double eY = radius * Math.sqrt(Math.max(0, 1 - dir.getD2() * dir.getD2()));
+        double eZ = radius * Math.sqrt(Math.max(0, 1 - dir.getD3() * dir.getD3()));
+        return new BoundingBox(bases._minX - eX, bases._minY - eY, bases._minZ - eZ,
+                bases._maxX + eX, bases._maxY + eY, bases._maxZ + eZ);
+    }
+
+    /***
+     * the closest intersection after some distance with the side between the bases or with one of the bases
+     * @param ray the ray
+     * @param after intersections at this distance or closer are ignored, 0 for the first intersection
+     * @param maxDistance intersections at this distance or farther are ignored
+     * @return the distance of the intersection, positive infinity if there is none
+     */
+    @Override
+    double nextHit(Ray ray, double after, double maxDistance) {
+        double t = sideHit(ray, after, maxDistance, 0, height);
+
+        Double3 p0 = ray.getP0().getXyz();
+        Double3 v = ray.getDir().getXyz();
+        Double3 a = axisRay.getP0().getXyz();
+        Double3 d = axisRay.getDir().getXyz();
+        double vd = v.getD1() * d.getD1() + v.getD2() * d.getD2() + v.getD3() * d.getD3();
+        //the ray is parallel to the bases
+        if (isZero(vd))
+            return t;
+        double wx = p0.getD1() - a.getD1(), wy = p0.getD2() - a.getD2(), wz = p0.getD3() - a.getD3();
+        double wd = wx * d.getD1() + wy * d.getD2() + wz * d.getD3();
+        double bottom = baseHit(ray, wx, wy, wz, (0 - wd) / vd, 0);
+        if (bottom > after && bottom < Math.min(t, maxDistance))
+            t = bottom;
+        double top = baseHit(ray, wx, wy, wz, (height - wd) / vd, height);
+        if (top > after && top < Math.min(t, maxDistance))
+            t = top;
+        return t;
+    }
+
+    /***
+     * the intersection with the plane of a base if it is inside the base
+     * @param ray the ray
+     * @param wx x of the vector from the head of the axis to the head of the ray
+     * @param wy y of the vector from the head of the axis to the head of the ray
+     * @param wz z of the vector from the head of the axis to the head of the ray
+     * @param distance the distance of the plane of the base from the head of the ray
+     * @param baseHeight the distance of the base along the axis
+     * @return the distance, positive infinity if the ray misses the base
+     */
+    private double baseHit(Ray ray, double wx, double wy, double wz, double distance, double baseHeight) {
+        distance = alignZero(distance);
+        if (distance <= 0)
+            return Double.POSITIVE_INFINITY;
+        Double3 v = ray.getDir().getXyz();
+        double px = wx + distance * v.getD1(), py = wy + distance * v.getD2(), pz = wz + distance * v.getD3();
+        //the squared distance of the point from the center of the base
+        double fromCenter = px * px + py * py + pz * pz - baseHeight * baseHeight;
+        return alignZero(radius * radius - fromCenter) > 0 ? distance : Double.POSITIVE_INFINITY;
+    }
+
     /***
      *
      * @param point point on the cylinder
@@ -16,6 +16,13 @@ public class Geometries extends Intersectable {
 
     LinkedList<Intersectable> _geometries;
 
+    //ON/OFF button default is off
+    private boolean _bvhButton = false;
+    //the bounding volume hierarchy, null when it is not built
+    private volatile Geometries _bvh = null;
+    //the groups which contain this group - their boxes and hierarchies include its shapes
+    private final List<Geometries> _parents = new LinkedList<>();
+
     /***
      *  constructor recieves nothing and creates empty list
      */
@@ -30,6 +37,7 @@ public class Geometries extends Intersectable {
     public Geometries(Intersectable... geometries) {
         _geometries = new LinkedList<>();
         Collections.addAll(_geometries, geometries);
+        adopt(geometries);
     }
 
     /***
@@ -38,6 +46,96 @@ public class Geometries extends Intersectable {
      */
     public void add(Intersectable... geometries) {
         Collections.addAll(_geometries, geometries);
+        adopt(geometries);
+        changed();
+    }
+
+    /***
+     * keeps this group as a parent of the groups among the new items, so they can tell it when they change
+     * @param geometries the new items
+     */
+    private void adopt(Intersectable... geometries) {
+        for (Intersectable item : geometries)
+            if (item instanceof Geometries group && !group._parents.contains(this))
+                group._parents.add(this);
+    }
+
+    /***
+     * the hierarchy and the box do not include the new shapes anymore - neither here nor in the groups which
+     * contain this group
+     */
+    private void changed() {
+        _bvh = null;
+        resetBoundingBox();
+        for (Geometries parent : _parents)
+            parent.changed();
+    }
+
+    /***
+     * on/off button for the bounding volume hierarchy
+     * @param bvhButton on/off
+     * @return the object for builder-like use
+     */
+    public Geometries setBVH(boolean bvhButton) {
+        _bvhButton = bvhButton;
+        _bvh = null;
+        return this;
+    }
+
+    /***
+     * getter
+     * @return true if the button of the bounding volume hierarchy is on
+     */
+    public boolean isBVH() {
+        return _bvhButton;
+    }
+
+    /***
+     * builds the bounding volume hierarchy if the button is on and it wasn't built yet.
+     * the shapes with a bounding box are arranged in a tree of boxes, and the infinite shapes (such as planes)
+     * are kept next to it in a list, so the intersections found are the same as without the hierarchy
+     * it is synchronized so that cameras which render the same scene at the same time build it only once
+     * @return the object for builder-like use
+     */
+    public synchronized Geometries buildBVH() {
+        if (!_bvhButton || _bvh != null)
+            return this;
+
+        LinkedList<Intersectable> bounded = new LinkedList<>();
+        Geometries bvh = new Geometries();
+        for (var item : _geometries) {
+            if (item instanceof Geometries geometries)
+                geometries.buildBVH();
+            if (item.getBoundingBox() == null)
+                bvh._geometries.add(item);
+            else
+                bounded.add(item);
+        }
+        if (!bounded.isEmpty())
+            bvh._geometries.add(new BVHNode(bounded));
+        _bvh = bvh;
+        return this;
+    }
+
+    /***
+     * getter
+     * @return the infinite shapes followed by the root of the hierarchy, null when the hierarchy is not built
+     */
+    Geometries getHierarchy() {
+        return _bvh;
+    }
+
+    @Override
+    protected BoundingBox calcBoundingBox() {
+        BoundingBox box = null;
+        for (var item : _geometries) {
+            BoundingBox itemBox = item.getBoundingBox();
+            //one infinite shape makes the whole group infinite
+            if (itemBox == null)
+                return null;
+            box = box == null ? itemBox : box.union(itemBox);
+        }
+        return box;
     }
 
     /***
@@ -80,11 +178,15 @@ public class Geometries extends Intersectable {
      */
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray) {
+        if (_bvh != null)
+            return _bvh.findGeoIntersectionsHelper(ray);
+
         List<GeoPoint> intersectionsWithAllShapes = null;
 
         //for each item in the list add the intersections to the list of intersections
         for (var item : _geometries) {
-            var itemList = item.findGeoIntersectionsHelper(ray);
+            //the item (or a whole group of items) is skipped if the ray misses its box
+            var itemList = item.findGeoIntersections(ray);
             //out.print(itemList);
             //out.print("\n");
             //if there are(!) intersections with the specific item
@@ -101,6 +203,47 @@ public class Geometries extends Intersectable {
         return intersectionsWithAllShapes;
     }
 
+    /***
+     * occlusion query - multiplies the transparency of all the shapes along the ray and stops
+     * as soon as one of them blocks the light completely
+     * @param ray the ray from the point towards the light
+     * @param maxDistance intersections at this distance from the head of the ray or farther are ignored
+     * @return the transparency along the ray
+     */
+    @Override
+    protected double findTransparencyHelper(Ray ray, double maxDistance) {
+        if (_bvh != null)
+            return _bvh.findTransparencyHelper(ray, maxDistance);
 
+        double ktr = 1.0;
+        for (var item : _geometries) {
+            ktr *= item.findTransparency(ray, maxDistance);
+            if (ktr == 0)
+                return 0;
+        }
+        return ktr;
+    }
+
+    /***
+     * finds the closest intersection without building lists - every shape is asked only for intersections
+     * which are closer than the closest one found so far
+     * @param ray the ray to check for intersections
+     * @param maxDistance intersections at this distance or farther are ignored
+     * @return the closest GeoPoint, null if there is none
+     */
+    @Override
+    protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+        if (_bvh != null)
+            return _bvh.findClosestGeoIntersectionHelper(ray, maxDistance);
 
+        GeoPoint closest = null;
+        for (var item : _geometries) {
+            GeoPoint gp = item.findClosestGeoIntersection(ray, maxDistance);
+            if (gp != null) {
+                closest = gp;
+                maxDistance = ray.getP0().distance(gp._geoPoint);
+            }
+        }
+        return closest;
+    }
 }
@@ -3,8 +3,13 @@ package geometries;
 import primitives.Color;
 import primitives.Material;
 import primitives.Point;
+import primitives.Ray;
 import primitives.Vector;
 
+import java.util.List;
+
+import static primitives.Util.alignZero;
+
 /***
  * Geometry is an interface for interacting with basic geometric shapes
  * */
@@ -56,6 +61,63 @@ public abstract class Geometry extends Intersectable {
         return this;
     }
 
+    /***
+     * the occlusion query of a shape is the occlusion query with the transparency of its material
+     * @param ray the ray from the point towards the light
+     * @param maxDistance intersections at this distance from the head of the ray or farther are ignored
+     * @return the transparency along the ray
+     */
+    @Override
+    protected final double findTransparencyHelper(Ray ray, double maxDistance) {
+        return findTransparencyHelper(ray, maxDistance, getMaterial().kT.getD1());
+    }
+
+    /***
+     * occlusion query with a transparency which is given instead of the transparency of the material, e.g. the
+     * transparency which a compiled scene took from the material when it was compiled
+     * @param ray the ray from the point towards the light
+     * @param maxDistance intersections at this distance from the head of the ray or farther are ignored
+     * @param kT the transparency of the shape
+     * @return the transparency along the ray, 1 if there are no intersections
+     */
+    public double findTransparency(Ray ray, double maxDistance, double kT) {
+        //cheap rejection test - the ray misses the box or the box is farther than the maximum distance
+        BoundingBox box = getBoundingBox();
+        if (box != null && !box.intersects(ray, maxDistance))
+            return 1.0;
+        double ktr = findTransparencyHelper(ray, maxDistance, kT);
+        countTest(ktr < 1.0);
+        return ktr;
+    }
+
+    /***
+     * helper function for findTransparency with a given transparency, using patten NVI.
+     * an opaque shape blocks the light with any intersection, so the occlusion query stops at the first one
+     * it finds and does not need the list of intersections
+     * @param ray the ray from the point towards the light
+     * @param maxDistance intersections at this distance from the head of the ray or farther are ignored
+     * @param kT the transparency of the shape
+     * @return the transparency along the ray
+     */
+    protected double findTransparencyHelper(Ray ray, double maxDistance, double kT) {
+        if (kT == 0)
+            return findClosestGeoIntersectionHelper(ray, maxDistance) == null ? 1.0 : 0.0;
+        List<GeoPoint> intersections = findGeoIntersectionsHelper(ray);
+        if (intersections == null)
+            return 1.0;
+
+        double ktr = 1.0;
+        double maxDistanceSquared = maxDistance * maxDistance;
+        for (GeoPoint gp : intersections) {
+            if (ray.getP0().distanceSquared(gp._geoPoint) < maxDistanceSquared) {
+                ktr = alignZero(ktr * kT);
+                if (ktr == 0)
+                    return 0;
+            }
+        }
+        return ktr;
+    }
+
     /***
      *abstract function.
      * @param point get normal from
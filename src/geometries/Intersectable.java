@@ -5,19 +5,37 @@ import primitives.Ray;
 
 import java.util.List;
 
+import static primitives.Util.alignZero;
+
 /***
  * Interface for Composite Design Pattern
  */
 
 public abstract class Intersectable {
 
+    /***
+     * receives the intersection tests while a render collects statistics, null otherwise. a plain field - without
+     * statistics a test costs one read of it
+     */
+    private static IntersectionCounter _counter = null;
+
+    /***
+     * the box around the shape, calculated once. null if the shape is infinite
+     */
+    private BoundingBox _boundingBox = null;
+    private boolean _boundingBoxCalculated = false;
 
     /***
      * @param ray the ray to examine for intersections
      * @return list of GeoPoint intersections
      */
     public List<GeoPoint> findGeoIntersections(Ray ray) {
-        return findGeoIntersectionsHelper(ray);
+        //cheap rejection test before the exact (and expensive) intersection calculation
+        if (missesBoundingBox(ray))
+            return null;
+        List<GeoPoint> intersections = findGeoIntersectionsHelper(ray);
+        countTest(intersections != null);
+        return intersections;
     }
 
     /***
@@ -27,6 +45,155 @@ public abstract class Intersectable {
      */
     protected abstract List<GeoPoint> findGeoIntersectionsHelper(Ray ray);
 
+    /***
+     * finds the closest intersection of the ray with the shape
+     * @param ray the ray to examine for intersections
+     * @return the closest GeoPoint, null if there are no intersections
+     */
+    public GeoPoint findClosestGeoIntersection(Ray ray) {
+        return findClosestGeoIntersection(ray, Double.POSITIVE_INFINITY);
+    }
+
+    /***
+     * finds the closest intersection of the ray with the shape which is closer than a maximum distance
+     * @param ray the ray to examine for intersections
+     * @param maxDistance intersections at this distance from the head of the ray or farther are ignored
+     * @return the closest GeoPoint, null if there are no intersections closer than the maximum distance
+     */
+    public GeoPoint findClosestGeoIntersection(Ray ray, double maxDistance) {
+        //cheap rejection test - the ray misses the box or the box is farther than the maximum distance
+        BoundingBox box = getBoundingBox();
+        if (box != null && !box.intersects(ray, maxDistance))
+            return null;
+        GeoPoint closest = findClosestGeoIntersectionHelper(ray, maxDistance);
+        countTest(closest != null);
+        return closest;
+    }
+
+    /***
+     * helper function for findClosestGeoIntersection using patten NVI.
+     * the default implementation searches the list of all the intersections, shapes override it in order to
+     * find the closest one directly without creating lists
+     * @param ray the ray to examine for intersections
+     * @param maxDistance intersections at this distance from the head of the ray or farther are ignored
+     * @return the closest GeoPoint, null if there are no intersections closer than the maximum distance
+     */
+    protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+        List<GeoPoint> intersections = findGeoIntersectionsHelper(ray);
+        if (intersections == null)
+            return null;
+
+        //comparing squared distances in order to save the square root
+        GeoPoint closest = null;
+        double closestDistance = maxDistance * maxDistance;
+        for (GeoPoint gp : intersections) {
+            double d = ray.getP0().distanceSquared(gp._geoPoint);
+            if (d < closestDistance) {
+                closestDistance = d;
+                closest = gp;
+            }
+        }
+        return closest;
+    }
+
+    /***
+     * sets the receiver of the intersection tests of all the shapes
+     * @param counter the receiver, null to stop counting
+     */
+    public static void setIntersectionCounter(IntersectionCounter counter) {
+        _counter = counter;
+    }
+
+    /***
+     * counts an exact intersection test of a shape for the statistics of the render, if a render collects them.
+     * groups of shapes are not counted, only the shapes inside them
+     * @param hit whether the ray hits the shape
+     */
+    void countTest(boolean hit) {
+        IntersectionCounter counter = _counter;
+        if (counter != null && this instanceof Geometry)
+            counter.countTest(getClass(), hit);
+    }
+
+    /***
+     * getter for the box around the shape, the box is calculated on the first call
+     * @return the bounding box, null if the shape is infinite
+     */
+    public BoundingBox getBoundingBox() {
+        if (!_boundingBoxCalculated) {
+            _boundingBox = calcBoundingBox();
+            _boundingBoxCalculated = true;
+        }
+        return _boundingBox;
+    }
+
+    /***
+     * calculates the box around the shape, every bounded shape overrides it
+     * @return the bounding box, null if the shape is infinite
+     */
+    protected BoundingBox calcBoundingBox() {
+        return null;
+    }
+
+    /***
+     * makes the box be calculated again on the next call, used when the shape changes
+     */
+    protected void resetBoundingBox() {
+        _boundingBoxCalculated = false;
+    }
+
+    /***
+     * slab test of the ray against the box of the shape
+     * @param ray the ray
+     * @return true if the ray surely misses the shape, false if it may hit it or the shape is infinite
+     */
+    public boolean missesBoundingBox(Ray ray) {
+        BoundingBox box = getBoundingBox();
+        return box != null && !box.intersects(ray);
+    }
+
+    /***
+     * occlusion query for shadow rays - finds how much light passes through the shape along the ray
+     * until a maximum distance (the distance of the light source)
+     * @param ray the ray from the point towards the light
+     * @param maxDistance intersections at this distance from the head of the ray or farther are ignored
+     * @return the product of the transparency coefficients of the intersections before the maximum distance,
+     * 1 if there are none and 0 if an opaque shape blocks the ray
+     */
+    public double findTransparency(Ray ray, double maxDistance) {
+        //cheap rejection test - the ray misses the box or the box is farther than the maximum distance
+        BoundingBox box = getBoundingBox();
+        if (box != null && !box.intersects(ray, maxDistance))
+            return 1.0;
+        double ktr = findTransparencyHelper(ray, maxDistance);
+        countTest(ktr < 1.0);
+        return ktr;
+    }
+
+    /***
+     * helper function for findTransparency using patten NVI.
+     * the default implementation goes over the list of all the intersections and stops at the first opaque one
+     * @param ray the ray from the point towards the light
+     * @param maxDistance intersections at this distance from the head of the ray or farther are ignored
+     * @return the product of the transparency coefficients of the intersections before the maximum distance
+     */
+    protected double findTransparencyHelper(Ray ray, double maxDistance) {
+        List<GeoPoint> intersections = findGeoIntersectionsHelper(ray);
+        if (intersections == null)
+            return 1.0;
+
+        double ktr = 1.0;
+        double maxDistanceSquared = maxDistance * maxDistance;
+        for (GeoPoint gp : intersections) {
+            if (ray.getP0().distanceSquared(gp._geoPoint) < maxDistanceSquared) {
+                ktr = alignZero(ktr * gp._geoPointGeometry.getMaterial().kT.getD1());
+                if (ktr == 0)
+                    return 0;
+            }
+        }
+        return ktr;
+    }
+
     /***
      * function finds intersections between a ray and the list of geometries
      * @param ray the ray
@@ -50,6 +217,11 @@ public abstract class Intersectable {
          * the point in the 3D space
          */
         public Point _geoPoint;
+        /***
+         * the place of the material of the shape in the compiled scene which found the point (see CompiledShape),
+         * -1 if the point was not found in a compiled scene
+         */
+        public int _material = -1;
 
         /***
          * constructor
@@ -61,6 +233,17 @@ public abstract class Intersectable {
             _geoPoint = geoPoint;
         }
 
+        /***
+         * constructor of a point which was found in a compiled scene
+         * @param geoPointGeometry geometry
+         * @param geoPoint the point on the geometry
+         * @param material the place of the material of the shape in the compiled scene
+         */
+        public GeoPoint(Geometry geoPointGeometry, Point geoPoint, int material) {
+            this(geoPointGeometry, geoPoint);
+            _material = material;
+        }
+
         @Override
         public boolean equals(Object o) {
             if (this == o) return true;
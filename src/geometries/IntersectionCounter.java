@@ -0,0 +1,17 @@
+package geometries;
+
+/***
+ * receives the exact intersection tests of the shapes, for the statistics of a render.
+ * the code which collects the statistics sets it with Intersectable.setIntersectionCounter, so the shapes do not
+ * depend on that code
+ */
+@FunctionalInterface
+public interface IntersectionCounter {
+
+    /***
+     * counts an exact intersection test of a shape (which was not rejected by its bounding box)
+     * @param geometryClass the class of the shape
+     * @param hit whether the ray hits the shape
+     */
+    void countTest(Class<?> geometryClass, boolean hit);
+}
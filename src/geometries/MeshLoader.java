@@ -0,0 +1,824 @@
+package geometries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/***
+ * class MeshLoader reads a model from a Wavefront OBJ file or a PLY file (ascii, binary little endian or binary
+ * big endian) into a TriangleMesh.
+ * the file is mapped into memory and parsed in one pass straight from its bytes - the numbers are read without
+ * creating a String for every line or every word, and the vertices and the faces go directly into the arrays of
+ * numbers of the mesh. so the heap holds only the mesh itself (and the arrays while they grow), and a model of
+ * millions of triangles is loaded in a few seconds.
+ * faces of more than three vertices are divided into triangles around their first vertex
+ */
+public final class MeshLoader {
+
+    /***
+     * 10 to the power of 0..22, all of them are exact in a double
+     */
+    private static final double[] POWERS_OF_10 = new double[23];
+
+    static {
+        POWERS_OF_10[0] = 1;
+        for (int i = 1; i < POWERS_OF_10.length; i++)
+            POWERS_OF_10[i] = POWERS_OF_10[i - 1] * 10;
+    }
+
+    /***
+     * the loader has only static methods
+     */
+    private MeshLoader() {
+    }
+
+    /***
+     * loads a model by the extension of the file - .obj or .ply
+     * @param path the file
+     * @return the mesh of the model
+     * @throws IOException if the file cannot be read, its extension is unknown or it is not a valid model
+     */
+    public static TriangleMesh load(Path path) throws IOException {
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (name.endsWith(".obj"))
+            return loadObj(path);
+        if (name.endsWith(".ply"))
+            return loadPly(path);
+        throw new IOException("Unknown model format: " + path);
+    }
+
+    /***
+     * loads a Wavefront OBJ file
+     * @param path the file
+     * @return the mesh of the model
+     * @throws IOException if the file cannot be read or it is not a valid model
+     */
+    public static TriangleMesh loadObj(Path path) throws IOException {
+        return loadObj(map(path));
+    }
+
+    /***
+     * loads a Wavefront OBJ model from its bytes, e.g. a resource which is not a file
+     * @param bytes the content of the model from its position to its limit
+     * @return the mesh of the model
+     * @throws IOException if it is not a valid model
+     */
+    public static TriangleMesh loadObj(ByteBuffer bytes) throws IOException {
+        return new ObjParser(bytes).parse();
+    }
+
+    /***
+     * loads a PLY file
+     * @param path the file
+     * @return the mesh of the model
+     * @throws IOException if the file cannot be read or it is not a valid model
+     */
+    public static TriangleMesh loadPly(Path path) throws IOException {
+        return loadPly(map(path));
+    }
+
+    /***
+     * loads a PLY model from its bytes, e.g. a resource which is not a file
+     * @param bytes the content of the model from its position to its limit
+     * @return the mesh of the model
+     * @throws IOException if it is not a valid model
+     */
+    public static TriangleMesh loadPly(ByteBuffer bytes) throws IOException {
+        return new PlyParser(bytes).parse();
+    }
+
+    /***
+     * maps a whole file into memory, the mapping stays valid after the channel is closed
+     * @param path the file
+     * @return the bytes of the file
+     * @throws IOException if the file cannot be read or it is too big for one mapping (2GB)
+     */
+    private static MappedByteBuffer map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+                throw new IOException("Model file is larger than 2GB: " + path);
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        }
+    }
+
+    /***
+     * the arrays of the mesh while the model is read, and the parsing of numbers from bytes which is common to
+     * both of the formats
+     */
+    private abstract static class Parser {
+        /***
+         * the bytes of the model
+         */
+        protected final ByteBuffer _bytes;
+        /***
+         * the end of the bytes of the model
+         */
+        protected final int _limit;
+        /***
+         * the position of the next byte to read
+         */
+        protected int _pos;
+        /***
+         * the number of the current line, for the messages of errors
+         */
+        protected int _line = 1;
+
+        /***
+         * x, y and z of the vertices which were read
+         */
+        private double[] _vertices;
+        /***
+         * amount of numbers in the array of the vertices
+         */
+        private int _vertexSize = 0;
+        /***
+         * indices of the three vertices of the faces which were read
+         */
+        private int[] _faces;
+        /***
+         * amount of numbers in the array of the faces
+         */
+        private int _faceSize = 0;
+
+        /***
+         * constructor
+         * @param bytes the content of the model from its position to its limit
+         */
+        Parser(ByteBuffer bytes) {
+            //a view of its own, the order of the bytes of a binary file does not change the buffer of the caller
+            _bytes = bytes.duplicate();
+            _pos = bytes.position();
+            _limit = bytes.limit();
+            _vertices = new double[3 * 1024];
+            _faces = new int[3 * 1024];
+        }
+
+        /***
+         * reads the whole model
+         * @return the mesh of the model
+         * @throws IOException if it is not a valid model
+         */
+        abstract TriangleMesh parse() throws IOException;
+
+        /***
+         * makes room for the known amounts of vertices and faces so that the arrays do not grow
+         * @param vertices amount of vertices
+         * @param faces amount of triangles
+         * @throws IOException if the amounts are too big for one mesh
+         */
+        protected void expect(int vertices, int faces) throws IOException {
+            if (3L * vertices > Integer.MAX_VALUE - 8 || 3L * faces > Integer.MAX_VALUE - 8)
+                throw new IOException("Model is too big for one mesh");
+            if (3 * vertices > _vertices.length)
+                _vertices = Arrays.copyOf(_vertices, 3 * vertices);
+            if (3 * faces > _faces.length)
+                _faces = Arrays.copyOf(_faces, 3 * faces);
+        }
+
+        /***
+         * @return amount of vertices which were read
+         */
+        protected int vertexCount() {
+            return _vertexSize / 3;
+        }
+
+        /***
+         * adds a vertex
+         * @param x x
+         * @param y y
+         * @param z z
+         */
+        protected void addVertex(double x, double y, double z) {
+            if (_vertexSize + 3 > _vertices.length)
+                _vertices = Arrays.copyOf(_vertices, grow(_vertices.length));
+            _vertices[_vertexSize++] = x;
+            _vertices[_vertexSize++] = y;
+            _vertices[_vertexSize++] = z;
+        }
+
+        /***
+         * adds a triangle
+         * @param a index of the first vertex
+         * @param b index of the second vertex
+         * @param c index of the third vertex
+         */
+        protected void addFace(int a, int b, int c) {
+            if (_faceSize + 3 > _faces.length)
+                _faces = Arrays.copyOf(_faces, grow(_faces.length));
+            _faces[_faceSize++] = a;
+            _faces[_faceSize++] = b;
+            _faces[_faceSize++] = c;
+        }
+
+        /***
+         * a new size for an array which is full, by half of its size and a multiple of 3
+         * @param length the size of the array
+         * @return the new size
+         */
+        private static int grow(int length) {
+            long size = length + (long) length / 6 * 3;
+            if (size > Integer.MAX_VALUE - 8)
+                throw new OutOfMemoryError("Model is too big for one mesh");
+            return (int) size;
+        }
+
+        /***
+         * builds the mesh from the arrays, without the room which was not used
+         * @return the mesh
+         * @throws IOException if there are no faces or a face refers to a vertex which does not exist
+         */
+        protected TriangleMesh mesh() throws IOException {
+            try {
+                double[] vertices = _vertexSize == _vertices.length ? _vertices : Arrays.copyOf(_vertices, _vertexSize);
+                int[] faces = _faceSize == _faces.length ? _faces : Arrays.copyOf(_faces, _faceSize);
+                return new TriangleMesh(vertices, faces);
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Invalid model: " + e.getMessage(), e);
+            }
+        }
+
+        /***
+         * an error in the current line of the model
+         * @param message what is wrong
+         * @return the exception to throw
+         */
+        protected IOException error(String message) {
+            return new IOException(message + " at line " + _line);
+        }
+
+        /***
+         * @param b a byte
+         * @return true for a space or a tab
+         */
+        protected static boolean isBlank(int b) {
+            return b == ' ' || b == '\t';
+        }
+
+        /***
+         * @param b a byte
+         * @return true for the end of a line
+         */
+        protected static boolean isEndOfLine(int b) {
+            return b == '\n' || b == '\r';
+        }
+
+        /***
+         * skips spaces and tabs
+         */
+        protected void skipBlanks() {
+            while (_pos < _limit && isBlank(_bytes.get(_pos)))
+                ++_pos;
+        }
+
+        /***
+         * skips spaces, tabs and ends of lines
+         */
+        protected void skipWhitespace() {
+            while (_pos < _limit) {
+                byte b = _bytes.get(_pos);
+                if (b == '\n')
+                    ++_line;
+                else if (!isBlank(b) && b != '\r')
+                    return;
+                ++_pos;
+            }
+        }
+
+        /***
+         * skips the rest of the current line and its end
+         */
+        protected void skipLine() {
+            while (_pos < _limit) {
+                byte b = _bytes.get(_pos++);
+                if (b == '\n') {
+                    ++_line;
+                    return;
+                }
+            }
+        }
+
+        /***
+         * skips a word - the bytes until a space, a tab or the end of the line
+         */
+        protected void skipWord() {
+            while (_pos < _limit) {
+                byte b = _bytes.get(_pos);
+                if (isBlank(b) || isEndOfLine(b))
+                    return;
+                ++_pos;
+            }
+        }
+
+        /***
+         * reads an integer at the current position
+         * @return the integer
+         * @throws IOException if there is no integer at the current position
+         */
+        protected int parseInt() throws IOException {
+            boolean negative = false;
+            if (_pos < _limit && (_bytes.get(_pos) == '-' || _bytes.get(_pos) == '+'))
+                negative = _bytes.get(_pos++) == '-';
+            int start = _pos;
+            long value = 0;
+            while (_pos < _limit) {
+                int digit = _bytes.get(_pos) - '0';
+                if (digit < 0 || digit > 9)
+                    break;
+                value = value * 10 + digit;
+                if (value > Integer.MAX_VALUE)
+                    throw error("Integer out of range");
+                ++_pos;
+            }
+            if (_pos == start)
+                throw error("Integer expected");
+            return (int) (negative ? -value : value);
+        }
+
+        /***
+         * reads a decimal number (with an optional fraction and exponent) at the current position.
+         * the usual numbers (up to 15 digits and small exponents) are computed exactly from the digits,
+         * others are given to Double.parseDouble
+         * @return the number
+         * @throws IOException if there is no number at the current position
+         */
+        protected double parseDouble() throws IOException {
+            int start = _pos;
+            boolean negative = false;
+            if (_pos < _limit && (_bytes.get(_pos) == '-' || _bytes.get(_pos) == '+'))
+                negative = _bytes.get(_pos++) == '-';
+            long mantissa = 0;
+            int digits = 0;
+            int exponent = 0;
+            boolean any = false;
+            //integer part
+            while (_pos < _limit) {
+                int digit = _bytes.get(_pos) - '0';
+                if (digit < 0 || digit > 9)
+                    break;
+                any = true;
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + digit;
+                    if (mantissa != 0)
+                        ++digits;
+                } else
+                    ++exponent;
+                ++_pos;
+            }
+            //fraction
+            if (_pos < _limit && _bytes.get(_pos) == '.') {
+                ++_pos;
+                while (_pos < _limit) {
+                    int digit = _bytes.get(_pos) - '0';
+                    if (digit < 0 || digit > 9)
+                        break;
+                    any = true;
+                    if (digits < 18) {
+                        mantissa = mantissa * 10 + digit;
+                        if (mantissa != 0)
+                            ++digits;
+                        --exponent;
+                    }
+                    ++_pos;
+                }
+            }
+            if (!any) {
+                _pos = start;
+                throw error("Number expected");
+            }
+            //exponent
+            if (_pos < _limit && (_bytes.get(_pos) == 'e' || _bytes.get(_pos) == 'E')) {
+                ++_pos;
+                exponent += parseInt();
+            }
+            //exact when the mantissa and the power of 10 are exact doubles
+            if (digits <= 15 && exponent >= -22 && exponent <= 22) {
+                double value = exponent >= 0 ? mantissa * POWERS_OF_10[exponent]
+                        : mantissa / POWERS_OF_10[-exponent];
+                return negative ? -value : value;
+            }
+            byte[] text = new byte[_pos - start];
+            _bytes.get(start, text);
+            return Double.parseDouble(new String(text, StandardCharsets.US_ASCII));
+        }
+    }
+
+    /***
+     * parser of Wavefront OBJ - the vertices ("v x y z") and the faces ("f i j k ..." where every index may be
+     * followed by /texture/normal, negative indices count from the last vertex). the rest of the lines are ignored
+     */
+    private static final class ObjParser extends Parser {
+
+        /***
+         * constructor
+         * @param bytes the content of the model from its position to its limit
+         */
+        ObjParser(ByteBuffer bytes) {
+            super(bytes);
+        }
+
+        @Override
+        TriangleMesh parse() throws IOException {
+            while (_pos < _limit) {
+                skipBlanks();
+                if (_pos + 1 < _limit && isBlank(_bytes.get(_pos + 1))) {
+                    byte command = _bytes.get(_pos);
+                    if (command == 'v')
+                        parseVertex();
+                    else if (command == 'f')
+                        parseFace();
+                }
+                skipLine();
+            }
+            return mesh();
+        }
+
+        /***
+         * reads the numbers of a "v" line
+         * @throws IOException if there are less than three numbers
+         */
+        private void parseVertex() throws IOException {
+            ++_pos;
+            skipBlanks();
+            double x = parseDouble();
+            skipBlanks();
+            double y = parseDouble();
+            skipBlanks();
+            double z = parseDouble();
+            addVertex(x, y, z);
+        }
+
+        /***
+         * reads the indices of an "f" line and adds its triangles
+         * @throws IOException if an index is not valid
+         */
+        private void parseFace() throws IOException {
+            ++_pos;
+            int first = -1, previous = -1;
+            while (true) {
+                skipBlanks();
+                if (_pos >= _limit || isEndOfLine(_bytes.get(_pos)))
+                    break;
+                int index = parseInt();
+                //the texture and the normal of the vertex are not used
+                skipWord();
+                if (index > 0)
+                    --index;
+                else if (index < 0)
+                    index += vertexCount();
+                else
+                    throw error("Vertex index 0");
+                if (first < 0)
+                    first = index;
+                else if (previous < 0)
+                    previous = index;
+                else {
+                    addFace(first, previous, index);
+                    previous = index;
+                }
+            }
+        }
+    }
+
+    /***
+     * parser of PLY - the x, y and z properties of the "vertex" element and the list of indices of the "face"
+     * element, the rest of the properties and elements are skipped
+     */
+    private static final class PlyParser extends Parser {
+
+        /***
+         * the types of the properties of PLY
+         */
+        private enum Type {
+            CHAR(1), UCHAR(1), SHORT(2), USHORT(2), INT(4), UINT(4), FLOAT(4), DOUBLE(8);
+
+            /***
+             * size of a binary value in bytes
+             */
+            final int size;
+
+            Type(int size) {
+                this.size = size;
+            }
+
+            /***
+             * @param name the name of a type in the header, either the old name or the one with the size
+             * @return the type, null if the name is unknown
+             */
+            static Type of(String name) {
+                return switch (name) {
+                    case "char", "int8" -> CHAR;
+                    case "uchar", "uint8" -> UCHAR;
+                    case "short", "int16" -> SHORT;
+                    case "ushort", "uint16" -> USHORT;
+                    case "int", "int32" -> INT;
+                    case "uint", "uint32" -> UINT;
+                    case "float", "float32" -> FLOAT;
+                    case "double", "float64" -> DOUBLE;
+                    default -> null;
+                };
+            }
+
+            /***
+             * reads a binary value
+             * @param bytes the bytes, in the order of the file
+             * @param pos the position of the value
+             * @return the value
+             */
+            double read(ByteBuffer bytes, int pos) {
+                return switch (this) {
+                    case CHAR -> bytes.get(pos);
+                    case UCHAR -> bytes.get(pos) & 0xFF;
+                    case SHORT -> bytes.getShort(pos);
+                    case USHORT -> bytes.getShort(pos) & 0xFFFF;
+                    case INT -> bytes.getInt(pos);
+                    case UINT -> bytes.getInt(pos) & 0xFFFFFFFFL;
+                    case FLOAT -> bytes.getFloat(pos);
+                    case DOUBLE -> bytes.getDouble(pos);
+                };
+            }
+        }
+
+        /***
+         * a property of an element in the header
+         * @param name the name of the property
+         * @param type the type of the value, or of the items of a list
+         * @param countType the type of the size of a list, null if the property is not a list
+         */
+        private record Property(String name, Type type, Type countType) {
+        }
+
+        /***
+         * an element in the header
+         * @param name the name of the element
+         * @param count amount of the element in the file
+         * @param properties the properties of every element in order
+         */
+        private record Element(String name, int count, List<Property> properties) {
+        }
+
+        /***
+         * the format of the data, "ascii", "binary_little_endian" or "binary_big_endian"
+         */
+        private String _format;
+        /***
+         * the elements of the header in order
+         */
+        private final List<Element> _elements = new ArrayList<>();
+
+        /***
+         * constructor
+         * @param bytes the content of the model from its position to its limit
+         */
+        PlyParser(ByteBuffer bytes) {
+            super(bytes);
+        }
+
+        @Override
+        TriangleMesh parse() throws IOException {
+            parseHeader();
+            boolean ascii = _format.equals("ascii");
+            //the counts of the header are checked against the size of the data before the arrays are made for
+            //them, so a broken file does not ask for more memory than it can fill
+            long minimalSize = 0;
+            int vertices = 0, faces = 0;
+            for (Element element : _elements) {
+                minimalSize += element.count * minimalSize(element, ascii);
+                if (element.name.equals("vertex"))
+                    vertices = element.count;
+                else if (element.name.equals("face"))
+                    faces = element.count;
+            }
+            if (minimalSize > _limit - _pos)
+                throw new IOException("PLY header declares more elements than the data holds");
+            expect(vertices, faces);
+
+            if (!ascii)
+                _bytes.order(_format.equals("binary_little_endian") ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+            for (Element element : _elements) {
+                int kind = element.name.equals("vertex") ? 1 : element.name.equals("face") ? 2 : 0;
+                for (int i = 0; i < element.count; i++)
+                    if (ascii)
+                        readAscii(element, kind);
+                    else
+                        readBinary(element, kind);
+            }
+            return mesh();
+        }
+
+        /***
+         * the smallest amount of bytes of an element in the data - every property has a value (a list has at least
+         * its size), and an element without properties is counted as one byte
+         * @param element the element
+         * @param ascii true for ascii data, where every value is at least one character
+         * @return the amount of bytes
+         */
+        private static long minimalSize(Element element, boolean ascii) {
+            long size = 0;
+            for (Property property : element.properties)
+                size += ascii ? 1 : property.countType != null ? property.countType.size : property.type.size;
+            return Math.max(size, 1);
+        }
+
+        /***
+         * reads the header up to "end_header", the header is short so its words are Strings
+         * @throws IOException if the header is not valid
+         */
+        private void parseHeader() throws IOException {
+            if (!nextHeaderLine().equals("ply"))
+                throw error("Not a PLY file");
+            while (true) {
+                String line = nextHeaderLine();
+                String[] words = line.split("\\s+");
+                switch (words[0]) {
+                    case "format" -> {
+                        if (words.length < 2 || !(words[1].equals("ascii") || words[1].equals("binary_little_endian")
+                                || words[1].equals("binary_big_endian")))
+                            throw error("Unknown PLY format");
+                        _format = words[1];
+                    }
+                    case "element" -> {
+                        if (words.length != 3)
+                            throw error("Invalid element");
+                        int count;
+                        try {
+                            count = Integer.parseInt(words[2]);
+                        } catch (NumberFormatException e) {
+                            throw error("Invalid element count");
+                        }
+                        if (count < 0)
+                            throw error("Invalid element count");
+                        _elements.add(new Element(words[1], count, new ArrayList<>()));
+                    }
+                    case "property" -> {
+                        if (_elements.isEmpty())
+                            throw error("Property before element");
+                        Property property;
+                        if (words.length == 5 && words[1].equals("list"))
+                            property = new Property(words[4], type(words[3]), type(words[2]));
+                        else if (words.length == 3)
+                            property = new Property(words[2], type(words[1]), null);
+                        else
+                            throw error("Invalid property");
+                        _elements.get(_elements.size() - 1).properties.add(property);
+                    }
+                    case "end_header" -> {
+                        if (_format == null)
+                            throw error("Missing PLY format");
+                        return;
+                    }
+                    default -> {
+                        //comment, obj_info and empty lines
+                    }
+                }
+            }
+        }
+
+        /***
+         * @param name the name of a type in the header
+         * @return the type
+         * @throws IOException if the name is unknown
+         */
+        private Type type(String name) throws IOException {
+            Type type = Type.of(name);
+            if (type == null)
+                throw error("Unknown property type " + name);
+            return type;
+        }
+
+        /***
+         * reads a line of the header
+         * @return the line without the spaces at its ends
+         * @throws IOException if the file ends in the header
+         */
+        private String nextHeaderLine() throws IOException {
+            int start = _pos;
+            while (_pos < _limit && _bytes.get(_pos) != '\n')
+                ++_pos;
+            if (_pos >= _limit)
+                throw error("Unexpected end of PLY header");
+            byte[] text = new byte[_pos - start];
+            _bytes.get(start, text);
+            ++_pos;
+            ++_line;
+            return new String(text, StandardCharsets.US_ASCII).trim();
+        }
+
+        /***
+         * reads one element of ascii data
+         * @param element the element
+         * @param kind 1 for a vertex, 2 for a face, 0 for an element which is skipped
+         * @throws IOException if the data is not valid
+         */
+        private void readAscii(Element element, int kind) throws IOException {
+            double x = 0, y = 0, z = 0;
+            for (Property property : element.properties) {
+                skipWhitespace();
+                if (property.countType != null) {
+                    int count = parseInt();
+                    if (count < 0)
+                        throw error("Negative list size");
+                    if (kind == 2 && isIndices(property.name)) {
+                        int first = -1, previous = -1;
+                        for (int j = 0; j < count; j++) {
+                            skipWhitespace();
+                            int index = parseInt();
+                            if (first < 0)
+                                first = index;
+                            else if (previous < 0)
+                                previous = index;
+                            else {
+                                addFace(first, previous, index);
+                                previous = index;
+                            }
+                        }
+                    } else
+                        for (int j = 0; j < count; j++) {
+                            skipWhitespace();
+                            parseDouble();
+                        }
+                } else {
+                    double value = parseDouble();
+                    if (kind == 1)
+                        switch (property.name) {
+                            case "x" -> x = value;
+                            case "y" -> y = value;
+                            case "z" -> z = value;
+                            default -> {
+                            }
+                        }
+                }
+            }
+            if (kind == 1)
+                addVertex(x, y, z);
+        }
+
+        /***
+         * reads one element of binary data
+         * @param element the element
+         * @param kind 1 for a vertex, 2 for a face, 0 for an element which is skipped
+         * @throws IOException if the data ends in the middle of the element or the size of a list is negative
+         */
+        private void readBinary(Element element, int kind) throws IOException {
+            double x = 0, y = 0, z = 0;
+            try {
+                for (Property property : element.properties) {
+                    if (property.countType != null) {
+                        //a signed type of the size may give a negative one, and uint may be beyond int
+                        long listSize = (long) property.countType.read(_bytes, _pos);
+                        _pos += property.countType.size;
+                        if (listSize < 0)
+                            throw new IOException("Negative list size in element " + element.name);
+                        if (listSize * property.type.size > _limit - _pos)
+                            throw new IOException("Unexpected end of PLY data in element " + element.name);
+                        int count = (int) listSize;
+                        if (kind == 2 && count >= 3 && isIndices(property.name)) {
+                            int size = property.type.size;
+                            int first = (int) property.type.read(_bytes, _pos);
+                            int previous = (int) property.type.read(_bytes, _pos + size);
+                            for (int j = 2; j < count; j++) {
+                                int index = (int) property.type.read(_bytes, _pos + j * size);
+                                addFace(first, previous, index);
+                                previous = index;
+                            }
+                        }
+                        _pos += count * property.type.size;
+                    } else {
+                        if (kind == 1)
+                            switch (property.name) {
+                                case "x" -> x = property.type.read(_bytes, _pos);
+                                case "y" -> y = property.type.read(_bytes, _pos);
+                                case "z" -> z = property.type.read(_bytes, _pos);
+                                default -> {
+                                }
+                            }
+                        _pos += property.type.size;
+                    }
+                }
+            } catch (IndexOutOfBoundsException e) {
+                throw new IOException("Unexpected end of PLY data in element " + element.name, e);
+            }
+            if (_pos > _limit)
+                throw new IOException("Unexpected end of PLY data in element " + element.name);
+            if (kind == 1)
+                addVertex(x, y, z);
+        }
+
+        /***
+         * @param name the name of a list property of a face
+         * @return true if it is the list of the indices of the vertices
+         */
+        private static boolean isIndices(String name) {
+            return name.equals("vertex_indices") || name.equals("vertex_index");
+        }
+    }
+}
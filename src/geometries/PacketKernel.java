@@ -0,0 +1,69 @@
+package geometries;
+
+/***
+ * the calculations of the packets of rays of PacketShapes - the box tests and the intersections with one shape for
+ * all the rays of a packet, while PacketShapes walks over the shapes and the bounding volume hierarchy
+ */
+interface PacketKernel {
+
+    /***
+     * the rays of a packet are kept in arrays whose length is a multiple of this number
+     * @return the amount of rays which the kernel calculates together
+     */
+    int lanes();
+
+    /***
+     * BoundingBox.entryDistance of every ray of the packet
+     * @param packet the rays
+     * @param sides the sides of the box with their padding (see BoundingBox.paddedSides)
+     * @param at the place of the box in the array
+     * @param ox x of the head of the rays
+     * @param oy y of the head of the rays
+     * @param oz z of the head of the rays
+     * @param length the amount of rays in the arrays
+     * @param entry receives the distance of the box from the head of every ray, positive infinity for a miss
+     */
+    void entryDistances(PacketShapes.Packet packet, double[] sides, int at, double ox, double oy, double oz,
+                        int length, double[] entry);
+
+    /***
+     * the closest intersection of every ray of the packet with a sphere, a plane or a triangle
+     * @param packet the rays, receive their hits in t (positive infinity for none)
+     * @param kind the kind of the shape
+     * @param data the numbers of the shapes
+     * @param at the place of the numbers of the shape
+     * @param ox x of the head of the rays
+     * @param oy y of the head of the rays
+     * @param oz z of the head of the rays
+     * @param length the amount of rays in the arrays
+     * @param limit the maximal distance of the hit of every ray, negative infinity for the rays which do not test
+     *              the shape
+     */
+    void intersect(PacketShapes.Packet packet, int kind, double[] data, int at, double ox, double oy, double oz,
+                   int length, double[] limit);
+
+    /***
+     * keeps the hits of the last intersect as the closest hits of their rays
+     * @param packet the rays, with their hits in t
+     * @param shape the place of the shape
+     * @param ox x of the head of the rays
+     * @param oy y of the head of the rays
+     * @param oz z of the head of the rays
+     * @param length the amount of rays in the arrays
+     */
+    void keep(PacketShapes.Packet packet, int shape, double ox, double oy, double oz, int length);
+
+    /***
+     * chooses the kernel - the vector kernel if it was compiled and the incubator module was added to the java
+     * command (--add-modules jdk.incubator.vector), otherwise the scalar one
+     * @return the kernel
+     */
+    static PacketKernel load() {
+        try {
+            return (PacketKernel) Class.forName("geometries.VectorPacketKernel").getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarPacketKernel();
+        }
+    }
+}
@@ -0,0 +1,568 @@
+package geometries;
+
+import geometries.Intersectable.GeoPoint;
+import primitives.Double3;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/***
+ * the shapes of a group in plain numbers, for tracing packets of rays which start at the same point.
+ * spheres, planes and triangles are kept as numbers and are intersected by the kernel for all the rays of the
+ * packet together. any other item (a mesh, a polygon, a group inside the group) is intersected by itself, ray after
+ * ray, in its place among the others.
+ * when the group has a bounding volume hierarchy, its nodes are kept as well and the packet goes down the tree:
+ * every ray of the packet visits the children of a node in its own order (the closer child first) and skips the
+ * boxes which are farther than its closest hit, exactly as BVHNode does for one ray.
+ * so a packet finds for every ray the same closest intersection as Geometries.findClosestGeoIntersection: the shapes
+ * are tested in the same order, with the same bounding boxes and the same calculations.
+ * the calculations are done by the vector kernel (SIMD instructions of the processor, through the incubator
+ * module jdk.incubator.vector) when it was compiled (the vector-api profile of maven) and the module is added to the
+ * java command, otherwise by the scalar kernel
+ */
+public final class PacketShapes {
+
+    /***
+     * the kinds of shapes
+     */
+    static final int SPHERE = 0;
+    static final int PLANE = 1;
+    static final int TRIANGLE = 2;
+    static final int OTHER = 3;
+    /***
+     * the amount of numbers of a shape in the data
+     */
+    static final int STRIDE = 9;
+    /***
+     * the kernel which does the calculations, chosen once
+     */
+    private static final PacketKernel KERNEL = PacketKernel.load();
+    /***
+     * the packet of every thread, used again for all its packets
+     */
+    private static final ThreadLocal<Packet> PACKETS = ThreadLocal.withInitial(Packet::new);
+
+    /***
+     * the state of the rays of a packet, in arrays whose length is a multiple of the lanes of the kernel - the
+     * extra rays at the end have no directions and never hit anything. the arrays grow when a longer packet or a
+     * deeper hierarchy needs it
+     */
+    static final class Packet {
+        double[] _dirX = new double[0];
+        double[] _dirY = new double[0];
+        double[] _dirZ = new double[0];
+        double[] _invX = new double[0];
+        double[] _invY = new double[0];
+        double[] _invZ = new double[0];
+        /***
+         * the distance of the point of the closest hit so far, as Geometries keeps it - a ray with -infinity
+         * misses every shape, even with a calculation which gives NaN
+         */
+        double[] _maxDistance = new double[0];
+        /***
+         * maxDistance for the rays which test the current shape, -infinity for the others
+         */
+        double[] _limit = new double[0];
+        /***
+         * the closest hit so far (as Ray.getPoint takes it), and the place of its shape (-1 for none)
+         */
+        double[] _closest = new double[0];
+        double[] _hit = new double[0];
+        /***
+         * the hit of every ray with the current shape, infinity for none
+         */
+        double[] _t = new double[0];
+        /***
+         * the closest hit of every ray with the items which are not kept as numbers
+         */
+        GeoPoint[] _points = new GeoPoint[0];
+        /***
+         * for every level of the hierarchy - the rays which visit the node, and the entry distances of the boxes
+         * of its two children
+         */
+        boolean[][] _visit = new boolean[0][];
+        double[][] _entryLeft = new double[0][];
+        double[][] _entryRight = new double[0][];
+
+        /***
+         * makes the arrays large enough
+         * @param length the amount of rays in the arrays
+         * @param levels the amount of levels of the hierarchy
+         */
+        private void ensureCapacity(int length, int levels) {
+            if (_dirX.length < length) {
+                _dirX = new double[length];
+                _dirY = new double[length];
+                _dirZ = new double[length];
+                _invX = new double[length];
+                _invY = new double[length];
+                _invZ = new double[length];
+                _maxDistance = new double[length];
+                _limit = new double[length];
+                _closest = new double[length];
+                _hit = new double[length];
+                _t = new double[length];
+                _points = new GeoPoint[length];
+                _visit = new boolean[0][];
+                _entryLeft = new double[0][];
+                _entryRight = new double[0][];
+            }
+            if (_visit.length < levels + 1) {
+                int size = _dirX.length;
+                _visit = new boolean[levels + 1][size];
+                _entryLeft = new double[levels + 1][size];
+                _entryRight = new double[levels + 1][size];
+            }
+        }
+    }
+
+    /***
+     * the items, in the order in which they are kept (the items of a leaf of the hierarchy are next to each other)
+     */
+    private final Intersectable[] _items;
+    /***
+     * the shape of every item without the compiled scene around it, null for a group
+     */
+    private final Geometry[] _shapes;
+    /***
+     * the place of the material of every shape in the compiled scene, -1 for a shape which is not a shape of a
+     * compiled scene
+     */
+    private final int[] _materials;
+    /***
+     * the kind of every item
+     */
+    final int[] _kinds;
+    /***
+     * the numbers of every shape: center and radius of a sphere, point and normal of a plane,
+     * first vertex and the two edges from it of a triangle
+     */
+    final double[] _data;
+    /***
+     * the sides of the box of every shape with their padding (lowest x, y, z and highest x, y, z), NaN for a
+     * shape without a box and for the other items (which test their box themselves)
+     */
+    final double[] _boxes;
+    /***
+     * the sides of the box of the whole group with their padding, null if the group is infinite
+     */
+    final double[] _groupBox;
+    /***
+     * what is tested in the group itself, in order: an item (its place) or the root of the hierarchy (-1)
+     */
+    private final int[] _top;
+    /***
+     * the sides of the box of every node of the hierarchy with their padding
+     */
+    private final double[] _nodeBoxes;
+    /***
+     * the children of every node, -1 for a leaf
+     */
+    private final int[] _left;
+    private final int[] _right;
+    /***
+     * the place of the first item of every leaf and the amount of its items
+     */
+    private final int[] _leafFirst;
+    private final int[] _leafSize;
+    /***
+     * the amount of levels of the hierarchy below its root
+     */
+    private final int _levels;
+
+    /***
+     * collects the items and the nodes of a group while it is kept
+     */
+    private static final class Builder {
+        final List<Intersectable> _items = new ArrayList<>();
+        final List<BoundingBox> _nodeBoxes = new ArrayList<>();
+        final List<int[]> _nodes = new ArrayList<>();
+        int _levels = 0;
+
+        /***
+         * keeps a node and the nodes below it
+         * @param node the node
+         * @param level the level of the node, 0 for the root
+         * @return the place of the node
+         */
+        int node(BVHNode node, int level) {
+            int index = _nodes.size();
+            int[] links = {-1, -1, _items.size(), 0};
+            _nodes.add(links);
+            _nodeBoxes.add(node._box);
+            _levels = Math.max(_levels, level);
+            if (node._items != null) {
+                for (Intersectable item : node._items)
+                    _items.add(item);
+                links[3] = node._items.length;
+            } else {
+                links[0] = node(node._left, level + 1);
+                links[1] = node(node._right, level + 1);
+            }
+            return index;
+        }
+    }
+
+    /***
+     * constructor
+     * @param geometries the group
+     */
+    private PacketShapes(Geometries geometries) {
+        Builder builder = new Builder();
+        Geometries hierarchy = geometries.isBVH() ? geometries.buildBVH().getHierarchy() : null;
+        List<Intersectable> top = hierarchy == null ? geometries.getGeometries() : hierarchy.getGeometries();
+        _top = new int[top.size()];
+        boolean root = false;
+        for (int i = 0; i < _top.length; ++i) {
+            //a group has at most one root, after its infinite shapes
+            if (top.get(i) instanceof BVHNode node && !root) {
+                builder.node(node, 0);
+                root = true;
+                _top[i] = -1;
+            } else {
+                _top[i] = builder._items.size();
+                builder._items.add(top.get(i));
+            }
+        }
+
+        int count = builder._items.size();
+        _items = builder._items.toArray(new Intersectable[0]);
+        _shapes = new Geometry[count];
+        _materials = new int[count];
+        _kinds = new int[count];
+        _data = new double[count * STRIDE];
+        _boxes = new double[count * 6];
+        for (int i = 0; i < count; ++i)
+            keep(i);
+
+        int nodes = builder._nodes.size();
+        _nodeBoxes = new double[nodes * 6];
+        _left = new int[nodes];
+        _right = new int[nodes];
+        _leafFirst = new int[nodes];
+        _leafSize = new int[nodes];
+        for (int n = 0; n < nodes; ++n) {
+            builder._nodeBoxes.get(n).paddedSides(_nodeBoxes, n * 6);
+            int[] links = builder._nodes.get(n);
+            _left[n] = links[0];
+            _right[n] = links[1];
+            _leafFirst[n] = links[2];
+            _leafSize[n] = links[3];
+        }
+        _levels = builder._levels;
+
+        BoundingBox groupBox = geometries.getBoundingBox();
+        if (groupBox == null) {
+            _groupBox = null;
+        } else {
+            _groupBox = new double[6];
+            groupBox.paddedSides(_groupBox, 0);
+        }
+    }
+
+    /***
+     * keeps the numbers of an item
+     * @param i the place of the item
+     */
+    private void keep(int i) {
+        Intersectable shape = _items[i];
+        _materials[i] = -1;
+        if (shape instanceof CompiledShape compiled) {
+            _materials[i] = compiled.getMaterial();
+            shape = compiled.getShape();
+        }
+        if (shape instanceof Geometry geometry)
+            _shapes[i] = geometry;
+        int at = i * STRIDE;
+        //only these exact classes - a subclass may intersect differently
+        Class<?> kind = shape.getClass();
+        if (kind == Sphere.class) {
+            Sphere sphere = (Sphere) shape;
+            _kinds[i] = SPHERE;
+            _data[at] = sphere.center.getXyz().getD1();
+            _data[at + 1] = sphere.center.getXyz().getD2();
+            _data[at + 2] = sphere.center.getXyz().getD3();
+            _data[at + 3] = sphere.radius;
+        } else if (kind == Plane.class) {
+            Plane plane = (Plane) shape;
+            _kinds[i] = PLANE;
+            _data[at] = plane._g0.getXyz().getD1();
+            _data[at + 1] = plane._g0.getXyz().getD2();
+            _data[at + 2] = plane._g0.getXyz().getD3();
+            _data[at + 3] = plane._normal.getXyz().getD1();
+            _data[at + 4] = plane._normal.getXyz().getD2();
+            _data[at + 5] = plane._normal.getXyz().getD3();
+        } else if (kind == Triangle.class) {
+            //the same numbers as in the constructor of the triangle
+            Triangle triangle = (Triangle) shape;
+            _kinds[i] = TRIANGLE;
+            double ax = triangle.vertices.get(0).getXyz().getD1();
+            double ay = triangle.vertices.get(0).getXyz().getD2();
+            double az = triangle.vertices.get(0).getXyz().getD3();
+            _data[at] = ax;
+            _data[at + 1] = ay;
+            _data[at + 2] = az;
+            _data[at + 3] = triangle.vertices.get(1).getXyz().getD1() - ax;
+            _data[at + 4] = triangle.vertices.get(1).getXyz().getD2() - ay;
+            _data[at + 5] = triangle.vertices.get(1).getXyz().getD3() - az;
+            _data[at + 6] = triangle.vertices.get(2).getXyz().getD1() - ax;
+            _data[at + 7] = triangle.vertices.get(2).getXyz().getD2() - ay;
+            _data[at + 8] = triangle.vertices.get(2).getXyz().getD3() - az;
+        } else {
+            _kinds[i] = OTHER;
+        }
+        BoundingBox box = _kinds[i] == OTHER ? null : shape.getBoundingBox();
+        if (box == null)
+            _boxes[i * 6] = Double.NaN;
+        else
+            box.paddedSides(_boxes, i * 6);
+    }
+
+    /***
+     * the packet form of a group of shapes
+     * @param geometries the group, its hierarchy is built if its button is on
+     * @return the shapes of the group in plain numbers
+     */
+    public static PacketShapes of(Geometries geometries) {
+        return new PacketShapes(geometries);
+    }
+
+    /***
+     * getter
+     * @return the amount of items, the items of the hierarchy included
+     */
+    public int size() {
+        return _items.length;
+    }
+
+    /***
+     * finds the closest intersection of every ray of a packet
+     * @param origin the head of all the rays
+     * @param dirX x of the (normalized) direction of every ray
+     * @param dirY y of the (normalized) direction of every ray
+     * @param dirZ z of the (normalized) direction of every ray
+     * @param count the amount of rays
+     * @param rays receives the rays
+     * @param closest receives the closest intersection of every ray, null if there is none
+     */
+    public void findClosest(Point origin, double[] dirX, double[] dirY, double[] dirZ, int count, Ray[] rays,
+                            GeoPoint[] closest) {
+        findClosest(KERNEL, origin, dirX, dirY, dirZ, count, rays, closest);
+    }
+
+    /***
+     * finds the closest intersection of every ray of a packet with a kernel
+     * @param kernel the kernel
+     * @param origin the head of all the rays
+     * @param dirX x of the (normalized) direction of every ray
+     * @param dirY y of the (normalized) direction of every ray
+     * @param dirZ z of the (normalized) direction of every ray
+     * @param count the amount of rays
+     * @param rays receives the rays
+     * @param closest receives the closest intersection of every ray, null if there is none
+     */
+    void findClosest(PacketKernel kernel, Point origin, double[] dirX, double[] dirY, double[] dirZ, int count,
+                     Ray[] rays, GeoPoint[] closest) {
+        int lanes = kernel.lanes();
+        int length = (count + lanes - 1) / lanes * lanes;
+        Packet packet = PACKETS.get();
+        packet.ensureCapacity(length, _levels + 1);
+        System.arraycopy(dirX, 0, packet._dirX, 0, count);
+        System.arraycopy(dirY, 0, packet._dirY, 0, count);
+        System.arraycopy(dirZ, 0, packet._dirZ, 0, count);
+        Arrays.fill(packet._dirX, count, length, 0);
+        Arrays.fill(packet._dirY, count, length, 0);
+        Arrays.fill(packet._dirZ, count, length, 0);
+        boolean[] all = packet._visit[0];
+        for (int k = 0; k < length; ++k) {
+            packet._invX[k] = 1 / packet._dirX[k];
+            packet._invY[k] = 1 / packet._dirY[k];
+            packet._invZ[k] = 1 / packet._dirZ[k];
+            packet._maxDistance[k] = k < count ? Double.POSITIVE_INFINITY : Double.NEGATIVE_INFINITY;
+            all[k] = k < count;
+        }
+        Arrays.fill(packet._closest, 0, length, Double.POSITIVE_INFINITY);
+        Arrays.fill(packet._hit, 0, length, -1);
+        Arrays.fill(packet._points, 0, length, null);
+        for (int k = 0; k < count; ++k)
+            rays[k] = new Ray(origin, new Vector(dirX[k], dirY[k], dirZ[k]));
+
+        Double3 o = origin.getXyz();
+        Traversal traversal = new Traversal(kernel, packet, o.getD1(), o.getD2(), o.getD3(), count, length, rays);
+        //the box of the whole group first, as in Intersectable.findClosestGeoIntersection
+        if (_groupBox == null || traversal.enter(_groupBox, 0, all, all)) {
+            for (int item : _top) {
+                if (item >= 0) {
+                    traversal.test(item, all);
+                } else if (traversal.enter(_nodeBoxes, 0, all, packet._visit[1])) {
+                    //the box of the root, as in Intersectable.findClosestGeoIntersection of the node
+                    traversal.visit(0, 1);
+                }
+            }
+        }
+
+        for (int k = 0; k < count; ++k) {
+            int hit = (int) packet._hit[k];
+            if (hit < 0)
+                closest[k] = null;
+            else if (_kinds[hit] == OTHER)
+                closest[k] = packet._points[k];
+            else
+                closest[k] = new GeoPoint(_shapes[hit], rays[k].getPoint(packet._closest[k]), _materials[hit]);
+        }
+    }
+
+    /***
+     * the walk of one packet over the items and the hierarchy
+     */
+    private final class Traversal {
+        private final PacketKernel _kernel;
+        private final Packet _packet;
+        private final double _ox, _oy, _oz;
+        private final int _count, _length;
+        private final Ray[] _rays;
+
+        /***
+         * constructor
+         * @param kernel the kernel
+         * @param packet the rays
+         * @param ox x of the head of the rays
+         * @param oy y of the head of the rays
+         * @param oz z of the head of the rays
+         * @param count the amount of rays
+         * @param length the amount of rays in the arrays
+         * @param rays the rays
+         */
+        Traversal(PacketKernel kernel, Packet packet, double ox, double oy, double oz, int count, int length,
+                  Ray[] rays) {
+            _kernel = kernel;
+            _packet = packet;
+            _ox = ox;
+            _oy = oy;
+            _oz = oz;
+            _count = count;
+            _length = length;
+            _rays = rays;
+        }
+
+        /***
+         * the box test of Intersectable.findClosestGeoIntersection for the rays of the packet
+         * @param sides the sides of the box with their padding
+         * @param at the place of the box in the array
+         * @param rays the rays which test the box
+         * @param entered receives the rays which enter the box before their closest hit (may be rays itself)
+         * @return whether any ray enters the box
+         */
+        boolean enter(double[] sides, int at, boolean[] rays, boolean[] entered) {
+            double[] entry = _packet._t;
+            _kernel.entryDistances(_packet, sides, at, _ox, _oy, _oz, _length, entry);
+            boolean any = false;
+            for (int k = 0; k < _length; ++k) {
+                entered[k] = rays[k] && entry[k] < _packet._maxDistance[k];
+                any |= entered[k];
+            }
+            return any;
+        }
+
+        /***
+         * BVHNode.findClosestGeoIntersectionHelper for the rays of the packet - every ray visits the closer
+         * child first, and a child only if its box is closer than the closest hit of the ray at that time
+         * @param node the node
+         * @param level the level of the node, the rays which visit it are in the array of this level
+         */
+        void visit(int node, int level) {
+            boolean[] rays = _packet._visit[level];
+            if (_left[node] < 0) {
+                for (int i = _leafFirst[node]; i < _leafFirst[node] + _leafSize[node]; ++i)
+                    test(i, rays);
+                return;
+            }
+            double[] left = _packet._entryLeft[level];
+            double[] right = _packet._entryRight[level];
+            _kernel.entryDistances(_packet, _nodeBoxes, _left[node] * 6, _ox, _oy, _oz, _length, left);
+            _kernel.entryDistances(_packet, _nodeBoxes, _right[node] * 6, _ox, _oy, _oz, _length, right);
+            boolean[] next = _packet._visit[level + 1];
+            double[] maxDistance = _packet._maxDistance;
+            //the rays whose closer child is the left one visit it first
+            boolean any = false;
+            for (int k = 0; k < _length; ++k) {
+                next[k] = rays[k] && !(right[k] < left[k]) && left[k] < maxDistance[k];
+                any |= next[k];
+            }
+            if (any)
+                visit(_left[node], level + 1);
+            //then all of them visit the right child - after the left one, or as their closer child
+            any = false;
+            for (int k = 0; k < _length; ++k) {
+                next[k] = rays[k] && right[k] < maxDistance[k];
+                any |= next[k];
+            }
+            if (any)
+                visit(_right[node], level + 1);
+            //and the rays whose closer child is the right one visit the left child last
+            any = false;
+            for (int k = 0; k < _length; ++k) {
+                next[k] = rays[k] && right[k] < left[k] && left[k] < maxDistance[k];
+                any |= next[k];
+            }
+            if (any)
+                visit(_left[node], level + 1);
+        }
+
+        /***
+         * Intersectable.findClosestGeoIntersection of an item for the rays of the packet
+         * @param item the place of the item
+         * @param rays the rays which test the item
+         */
+        void test(int item, boolean[] rays) {
+            double[] limit = _packet._limit;
+            double[] maxDistance = _packet._maxDistance;
+            boolean any = false;
+            if (Double.isNaN(_boxes[item * 6])) {
+                for (int k = 0; k < _length; ++k) {
+                    limit[k] = rays[k] ? maxDistance[k] : Double.NEGATIVE_INFINITY;
+                    any |= rays[k];
+                }
+            } else {
+                double[] entry = _packet._t;
+                _kernel.entryDistances(_packet, _boxes, item * 6, _ox, _oy, _oz, _length, entry);
+                for (int k = 0; k < _length; ++k) {
+                    boolean enters = rays[k] && entry[k] < maxDistance[k];
+                    limit[k] = enters ? maxDistance[k] : Double.NEGATIVE_INFINITY;
+                    any |= enters;
+                }
+            }
+            if (!any)
+                return;
+
+            if (_kinds[item] != OTHER) {
+                _kernel.intersect(_packet, _kinds[item], _data, item * STRIDE, _ox, _oy, _oz, _length, limit);
+                _kernel.keep(_packet, item, _ox, _oy, _oz, _length);
+                return;
+            }
+            //an item which is not kept as numbers intersects the rays one by one
+            for (int k = 0; k < _count; ++k) {
+                if (limit[k] == Double.NEGATIVE_INFINITY)
+                    continue;
+                GeoPoint gp = _items[item].findClosestGeoIntersection(_rays[k], limit[k]);
+                if (gp != null) {
+                    _packet._points[k] = gp;
+                    _packet._hit[k] = item;
+                    maxDistance[k] = _rays[k].getP0().distance(gp._geoPoint);
+                }
+            }
+        }
+    }
+
+    /***
+     * getter
+     * @return the name of the kernel which does the calculations
+     */
+    public static String getKernelName() {
+        return KERNEL.getClass().getSimpleName();
+    }
+}
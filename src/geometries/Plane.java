@@ -1,5 +1,6 @@
 package geometries;
 
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -87,23 +88,65 @@ public class Plane extends Geometry {
      */
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray) {
+        GeoPoint gp = findClosestGeoIntersectionHelper(ray, Double.POSITIVE_INFINITY);
+        return gp == null ? null : List.of(gp);
+    }
+
+    /***
+     * a plane has one intersection at most so it is also the closest one
+     * @param ray the ray to check for intersections
+     * @param maxDistance intersections at this distance or farther are ignored
+     * @return the GeoPoint intersection, null if there is none
+     */
+    @Override
+    protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+        Double3 p0 = ray.getP0().getXyz();
+        Double3 g0 = _g0.getXyz();
+        //the normal is normalized in the constructor, so it is used as is
+        Double3 n = _normal.getXyz();
+        Double3 v = ray.getDir().getXyz();
+        double t = closest(g0.getD1(), g0.getD2(), g0.getD3(), n.getD1(), n.getD2(), n.getD3(),
+                p0.getD1(), p0.getD2(), p0.getD3(), v.getD1(), v.getD2(), v.getD3(), maxDistance);
+        return t == Double.POSITIVE_INFINITY ? null : new GeoPoint(this, ray.getPoint(t));
+    }
+
+    /***
+     * the intersection of a ray with a plane in plain numbers, shared with the packets of rays
+     * @param gx x of the point on the plane
+     * @param gy y of the point on the plane
+     * @param gz z of the point on the plane
+     * @param nx x of the (normalized) normal
+     * @param ny y of the (normalized) normal
+     * @param nz z of the (normalized) normal
+     * @param ox x of the head of the ray
+     * @param oy y of the head of the ray
+     * @param oz z of the head of the ray
+     * @param dx x of the (normalized) direction of the ray
+     * @param dy y of the (normalized) direction of the ray
+     * @param dz z of the (normalized) direction of the ray
+     * @param maxDistance intersections at this distance or farther are ignored
+     * @return the distance of the hit, positive infinity if there is none
+     */
+    static double closest(double gx, double gy, double gz, double nx, double ny, double nz, double ox, double oy,
+                          double oz, double dx, double dy, double dz, double maxDistance) {
+        //g0 - p0
+        double ux = gx - ox;
+        double uy = gy - oy;
+        double uz = gz - oz;
         //don't allow p0 == g0
-        if (ray.getP0().equals(_g0)) {
-            return null;
+        if (isZero(ux) && isZero(uy) && isZero(uz)) {
+            return Double.POSITIVE_INFINITY;
         }
-        Vector n = getNormal();
-        double nv = n.dotProduct(ray.getDir());
+        double nv = nx * dx + ny * dy + nz * dz;
         //vectors are parallel and don't have any intersections
         if (isZero(nv)) {
-            return null;
+            return Double.POSITIVE_INFINITY;
         }
-        double t = alignZero((_g0.subtract(ray.getP0()).dotProduct(n)) / nv);
+        double t = alignZero((ux * nx + uy * ny + uz * nz) / nv);
         // t!=0 because the point is not on the plane
-        if (t < 0) {
-            return null;
+        if (t < 0 || t >= maxDistance) {
+            return Double.POSITIVE_INFINITY;
         }
-        List<GeoPoint> p = List.of(new GeoPoint(this, ray.getPoint(t)));
-        return p;
+        return t;
     }
 }
-
@@ -23,6 +23,76 @@ public class Polygon extends Geometry {
      */
     protected Plane plane;
     private int size;
+    /**
+     * The edges of the polygon in 2D for the intersection, null for a polygon of three vertices (which is tested
+     * as a triangle, and a Triangle does not need them)
+     */
+    private final Edges edges;
+
+    /**
+     * The data of the intersection test of a convex polygon, prepared by the constructor: the first vertex and the
+     * normal in plain numbers, and the line of every edge in 2D - on the plane of the two axes which remain when
+     * the largest axis of the normal is dropped
+     */
+    private static final class Edges {
+        /**
+         * The first vertex
+         */
+        final double ax, ay, az;
+        /**
+         * The normal
+         */
+        final double nx, ny, nz;
+        /**
+         * The dropped axis - 0 for x, 1 for y, 2 for z
+         */
+        final int axis;
+        /**
+         * a, b and c of every edge, a*u + b*v + c is positive inside the polygon and 0 on the line of the edge
+         */
+        final double[] lines;
+
+        Edges(Point[] vertices, Vector normal) {
+            Double3 a = vertices[0].getXyz();
+            ax = a.getD1();
+            ay = a.getD2();
+            az = a.getD3();
+            Double3 n = normal.getXyz();
+            nx = n.getD1();
+            ny = n.getD2();
+            nz = n.getD3();
+            double absX = Math.abs(nx), absY = Math.abs(ny), absZ = Math.abs(nz);
+            axis = absX >= absY && absX >= absZ ? 0 : absY >= absZ ? 1 : 2;
+            // the normal in 2D is the dropped axis of the normal, it tells on which side of the edges is inside
+            double sign = (axis == 0 ? nx : axis == 1 ? ny : nz) > 0 ? 1 : -1;
+
+            int count = vertices.length;
+            lines = new double[count * 3];
+            for (int i = 0; i < count; i++) {
+                Double3 p = vertices[i].getXyz();
+                Double3 q = vertices[(i + 1) % count].getXyz();
+                double pu = u(p.getD1(), p.getD2(), p.getD3()), pv = v(p.getD1(), p.getD2(), p.getD3());
+                double eu = u(q.getD1(), q.getD2(), q.getD3()) - pu, ev = v(q.getD1(), q.getD2(), q.getD3()) - pv;
+                lines[i * 3] = -ev * sign;
+                lines[i * 3 + 1] = eu * sign;
+                lines[i * 3 + 2] = (ev * pu - eu * pv) * sign;
+            }
+        }
+
+        /**
+         * The first coordinate of a point in 2D
+         */
+        double u(double x, double y, double z) {
+            return axis == 0 ? y : axis == 1 ? z : x;
+        }
+
+        /**
+         * The second coordinate of a point in 2D
+         */
+        double v(double x, double y, double z) {
+            return axis == 0 ? z : axis == 1 ? x : y;
+        }
+    }
 
     /**
      * Polygon constructor based on vertices list. The list must be ordered by edge
@@ -53,8 +123,10 @@ public class Polygon extends Geometry {
         // polygon with this plane.
         // The plane holds the invariant normal (orthogonal unit) vector to the polygon
         plane = new Plane(vertices[0], vertices[1], vertices[2], vertices[0]);
-        if (vertices.length == 3)
+        if (vertices.length == 3) {
+            edges = null;
             return; // no need for more tests for a Triangle
+        }
 
         Vector n = plane.getNormal();
 
@@ -84,6 +156,12 @@ public class Polygon extends Geometry {
                 throw new IllegalArgumentException("All vertices must be ordered and the polygon must be convex");
         }
         size = vertices.length;
+        edges = new Edges(vertices, n);
+    }
+
+    @Override
+    protected BoundingBox calcBoundingBox() {
+        return new BoundingBox(vertices.toArray(new Point[0]));
     }
 
     @Override
@@ -92,11 +170,78 @@ public class Polygon extends Geometry {
     }
 
     /***
+     * a convex polygon has one intersection at most
      * @param ray to find intersections
-     * @return null
+     * @return the list of the intersection, null if there is none
      */
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray) {
-        return null;
+        GeoPoint gp = findClosestGeoIntersectionHelper(ray, Double.POSITIVE_INFINITY);
+        return gp == null ? null : List.of(gp);
+    }
+
+    /***
+     * a convex polygon has one intersection at most so it is also the closest one
+     * @param ray to find intersections
+     * @param maxDistance intersections at this distance or farther are ignored
+     * @return the GeoPoint intersection, null if there is none
+     */
+    @Override
+    protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+        double t = intersect(ray, maxDistance);
+        return t == Double.POSITIVE_INFINITY ? null : new GeoPoint(this, ray.getPoint(t));
+    }
+
+    /***
+     * occlusion query without creating the point of the intersection
+     * @param ray the ray from the point towards the light
+     * @param maxDistance intersections at this distance from the head of the ray or farther are ignored
+     * @param kT the transparency of the polygon
+     * @return the transparency of the polygon if the ray passes through it before the maximum distance, 1 otherwise
+     */
+    @Override
+    protected double findTransparencyHelper(Ray ray, double maxDistance, double kT) {
+        if (intersect(ray, maxDistance) == Double.POSITIVE_INFINITY)
+            return 1.0;
+        return alignZero(kT);
+    }
+
+    /***
+     * one intersection with the plane of the polygon, and a test of the point of the hit against the lines of the
+     * edges in 2D. the edges and the vertices are not a part of the polygon
+     * @param ray the ray
+     * @param maxDistance intersections at this distance or farther are ignored
+     * @return the distance of the hit from the head of the ray, positive infinity if there is none
+     */
+    private double intersect(Ray ray, double maxDistance) {
+        Double3 p0 = ray.getP0().getXyz();
+        Double3 dir = ray.getDir().getXyz();
+        double ox = p0.getD1(), oy = p0.getD2(), oz = p0.getD3();
+        double dx = dir.getD1(), dy = dir.getD2(), dz = dir.getD3();
+        if (edges == null) {
+            // a polygon of three vertices is a triangle
+            Double3 a = vertices.get(0).getXyz(), b = vertices.get(1).getXyz(), c = vertices.get(2).getXyz();
+            return Triangle.mollerTrumbore(a.getD1(), a.getD2(), a.getD3(),
+                    b.getD1() - a.getD1(), b.getD2() - a.getD2(), b.getD3() - a.getD3(),
+                    c.getD1() - a.getD1(), c.getD2() - a.getD2(), c.getD3() - a.getD3(),
+                    ox, oy, oz, dx, dy, dz, maxDistance, null);
+        }
+
+        double nd = edges.nx * dx + edges.ny * dy + edges.nz * dz;
+        // the ray is parallel to the plane
+        if (isZero(nd))
+            return Double.POSITIVE_INFINITY;
+        double t = alignZero((edges.nx * (edges.ax - ox) + edges.ny * (edges.ay - oy)
+                + edges.nz * (edges.az - oz)) / nd);
+        if (t <= 0 || t >= maxDistance)
+            return Double.POSITIVE_INFINITY;
+
+        double x = ox + t * dx, y = oy + t * dy, z = oz + t * dz;
+        double u = edges.u(x, y, z), v = edges.v(x, y, z);
+        double[] lines = edges.lines;
+        for (int i = 0; i < lines.length; i += 3)
+            if (alignZero(lines[i] * u + lines[i + 1] * v + lines[i + 2]) <= 0)
+                return Double.POSITIVE_INFINITY;
+        return t;
     }
 }
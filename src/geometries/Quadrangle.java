@@ -2,74 +2,192 @@ package geometries;
 
 import primitives.*;
 
-import java.util.LinkedList;
+import java.util.List;
+
+import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
 
 /***
  * 2D geometry representing a 4-sided shape
  * this is a helper class in order to make the creation of scenes with four sided objects easier
+ * the intersection is a single test: the ray hits the plane of the quadrangle, and the point of the hit is checked
+ * against the edges in 2D - on the plane of the axes in which the quadrangle is largest. all the numbers of the test
+ * are kept in plain doubles from the constructor, so a miss allocates nothing
  */
 public class Quadrangle extends Geometry {
 
-    Triangle _firstTriangle;
-    Triangle _secondTriangle;
+    /***
+     * the first point, on the plane of the quadrangle
+     */
+    private final double _ax, _ay, _az;
+    /***
+     * the normal of the quadrangle (from its first three points) in plain numbers
+     */
+    private final double _nx, _ny, _nz;
+    /***
+     * the normal of the quadrangle
+     */
+    private final Vector _normal;
+    /***
+     * the axis which is dropped for the 2D test - the largest one of the normal (0 for x, 1 for y, 2 for z)
+     */
+    private final int _axis;
+    /***
+     * the four points in 2D, in order
+     */
+    private final double[] _u = new double[4], _v = new double[4];
+    /***
+     * 1 or -1 - the direction of the triangle p0, p1, p2 and of the triangle p2, p3, p0 in 2D, so that inside
+     * them is always on the positive side of the edges
+     */
+    private final double _firstSign, _secondSign;
+    /***
+     * the corners of the box of the quadrangle
+     */
+    private final Point[] _points;
 
     /***
-     * constructor for quadrangle receives four points in clockwise order
+     * constructor for quadrangle receives four points in clockwise order.
+     * the fourth point should lay on the plane of the first three, a point slightly out of it is taken as its
+     * projection on the plane. the quadrangle is made of the triangles p0, p1, p2 and p2, p3, p0, so it may also
+     * be concave at p1 or p3
      * @param p0 first point
      * @param p1 second point
      * @param p2 third point
      * @param p3 fourth point
+     * @throws IllegalArgumentException if the first three points are on one line
      */
     public Quadrangle(Point p0, Point p1, Point p2, Point p3) {
-        _firstTriangle = new Triangle(p0, p1, p2);
-        _secondTriangle = new Triangle(p2, p3, p0);
+        _points = new Point[]{p0, p1, p2, p3};
+        _normal = p1.subtract(p0).crossProduct(p2.subtract(p0)).normalize();
+        Double3 a = p0.getXyz();
+        _ax = a.getD1();
+        _ay = a.getD2();
+        _az = a.getD3();
+        Double3 n = _normal.getXyz();
+        _nx = n.getD1();
+        _ny = n.getD2();
+        _nz = n.getD3();
+        double absX = Math.abs(_nx), absY = Math.abs(_ny), absZ = Math.abs(_nz);
+        _axis = absX >= absY && absX >= absZ ? 0 : absY >= absZ ? 1 : 2;
+        for (int i = 0; i < 4; i++) {
+            Double3 p = _points[i].getXyz();
+            _u[i] = u(p.getD1(), p.getD2(), p.getD3());
+            _v[i] = v(p.getD1(), p.getD2(), p.getD3());
+        }
+        _firstSign = edge(0, 1, _u[2], _v[2]) < 0 ? -1 : 1;
+        _secondSign = edge(2, 3, _u[0], _v[0]) < 0 ? -1 : 1;
+    }
+
+    /***
+     * the first coordinate of a point in 2D
+     */
+    private double u(double x, double y, double z) {
+        return _axis == 0 ? y : _axis == 1 ? z : x;
+    }
+
+    /***
+     * the second coordinate of a point in 2D
+     */
+    private double v(double x, double y, double z) {
+        return _axis == 0 ? z : _axis == 1 ? x : y;
+    }
+
+    /***
+     * the edge function in 2D - positive on the left of the edge from point i to point j, 0 on the edge
+     * @param i the index of the start of the edge
+     * @param j the index of the end of the edge
+     * @param u first coordinate of the point in 2D
+     * @param v second coordinate of the point in 2D
+     * @return twice the signed area of the triangle of the edge and the point
+     */
+    private double edge(int i, int j, double u, double v) {
+        return (_u[j] - _u[i]) * (v - _v[i]) - (_v[j] - _v[i]) * (u - _u[i]);
     }
 
     /***
-     * uses the functions from triangle in order to implement DRY
      * @param p the point for the normal
      * @return the normal to the quadrangle
      */
     public Vector getNormal(Point p) {
-        return _firstTriangle.getNormal(p);
+        return _normal;
+    }
+
+    @Override
+    protected BoundingBox calcBoundingBox() {
+        return new BoundingBox(_points);
     }
 
     /***
-     * uses the functions from triangle in order to implement DRY
+     * a quadrangle has one intersection at most
      * @param ray the ray to find intersections with
-     * @return the list of intersections
+     * @return the list of the intersection, null if there is none
      */
     @Override
-    public LinkedList<Intersectable.GeoPoint> findGeoIntersectionsHelper(Ray ray) {
-        LinkedList<Intersectable.GeoPoint> intersections = new LinkedList<>();
-        if (_firstTriangle.findGeoIntersections(ray) == null || _firstTriangle.findGeoIntersections(ray).isEmpty()) {
-        }
-        else
-            intersections.addAll(_firstTriangle.findGeoIntersections(ray));
-        if (_secondTriangle.findGeoIntersections(ray) == null || _secondTriangle.findGeoIntersections(ray).isEmpty()) {
-        }
-        else
-            intersections.addAll(_secondTriangle.findGeoIntersections(ray));
-        return intersections;
+    public List<GeoPoint> findGeoIntersectionsHelper(Ray ray) {
+        GeoPoint gp = findClosestGeoIntersectionHelper(ray, Double.POSITIVE_INFINITY);
+        return gp == null ? null : List.of(gp);
     }
 
     /***
-     * find geointersections is a helper function for interactions between objects
-     * @param ray the ray to examine for intersections
-     * @return list of intersections
+     * a quadrangle has one intersection at most so it is also the closest one
+     * @param ray the ray to find intersections with
+     * @param maxDistance intersections at this distance or farther are ignored
+     * @return the GeoPoint intersection, null if there is none
      */
     @Override
-    public LinkedList<Intersectable.GeoPoint> findGeoIntersections(Ray ray) {
-        LinkedList<Intersectable.GeoPoint> intersections = new LinkedList<>();
-        if (_firstTriangle.findGeoIntersections(ray) == null || _firstTriangle.findGeoIntersections(ray).isEmpty()) {
-        }
-        else
-            intersections.addAll(_firstTriangle.findGeoIntersections(ray));
-        if (_secondTriangle.findGeoIntersections(ray) == null || _secondTriangle.findGeoIntersections(ray).isEmpty()) {
-        }
-        else
-            intersections.addAll(_secondTriangle.findGeoIntersections(ray));
-        return intersections;
+    protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+        double t = intersect(ray, maxDistance);
+        return t == Double.POSITIVE_INFINITY ? null : new GeoPoint(this, ray.getPoint(t));
+    }
+
+    /***
+     * occlusion query without creating the point of the intersection
+     * @param ray the ray from the point towards the light
+     * @param maxDistance intersections at this distance from the head of the ray or farther are ignored
+     * @param kT the transparency of the quadrangle
+     * @return the transparency of the quadrangle if the ray passes through it before the maximum distance,
+     * 1 otherwise
+     */
+    @Override
+    protected double findTransparencyHelper(Ray ray, double maxDistance, double kT) {
+        if (intersect(ray, maxDistance) == Double.POSITIVE_INFINITY)
+            return 1.0;
+        return alignZero(kT);
+    }
+
+    /***
+     * the intersection of the ray with the plane, and the test of the point of the hit in 2D.
+     * the edges and the vertices are not a part of the quadrangle, but the diagonal between p0 and p2
+     * (which is shared by its two triangles) is
+     * @param ray the ray
+     * @param maxDistance intersections at this distance or farther are ignored
+     * @return the distance of the hit from the head of the ray, positive infinity if there is none
+     */
+    private double intersect(Ray ray, double maxDistance) {
+        Double3 p0 = ray.getP0().getXyz();
+        Double3 dir = ray.getDir().getXyz();
+        double ox = p0.getD1(), oy = p0.getD2(), oz = p0.getD3();
+        double dx = dir.getD1(), dy = dir.getD2(), dz = dir.getD3();
+        double nd = _nx * dx + _ny * dy + _nz * dz;
+        //the ray is parallel to the plane
+        if (isZero(nd))
+            return Double.POSITIVE_INFINITY;
+        double t = alignZero((_nx * (_ax - ox) + _ny * (_ay - oy) + _nz * (_az - oz)) / nd);
+        if (t <= 0 || t >= maxDistance)
+            return Double.POSITIVE_INFINITY;
+
+        double x = ox + t * dx, y = oy + t * dy, z = oz + t * dz;
+        double u = u(x, y, z), v = v(x, y, z);
+        //the diagonal from p2 to p0, on its inner side for the first triangle
+        double diagonal = edge(2, 0, u, v);
+        if (alignZero(_firstSign * edge(0, 1, u, v)) > 0 && alignZero(_firstSign * edge(1, 2, u, v)) > 0
+                && alignZero(_firstSign * diagonal) > 0)
+            return t;
+        if (alignZero(_secondSign * edge(2, 3, u, v)) > 0 && alignZero(_secondSign * edge(3, 0, u, v)) > 0
+                && alignZero(-_secondSign * diagonal) >= 0)
+            return t;
+        return Double.POSITIVE_INFINITY;
     }
 
     /***
@@ -78,8 +196,7 @@ public class Quadrangle extends Geometry {
      * @return Quadrangle for builder-like use
      */
     public Quadrangle setColor(Color color){
-        _firstTriangle.setEmission(color);
-        _secondTriangle.setEmission(color);
+        setEmission(color);
         return this;
     }
 
@@ -89,8 +206,7 @@ public class Quadrangle extends Geometry {
      * @return the object for builder-like use
      */
     public Quadrangle setTransparency(Double3 kt){
-        _firstTriangle.getMaterial().setKt(kt);
-        _secondTriangle.getMaterial().setKt(kt);
+        getMaterial().setKt(kt);
         return this;
     }
 
@@ -100,8 +216,7 @@ public class Quadrangle extends Geometry {
      * @return the object for builder-like use
      */
     public Quadrangle setReflectivity(Double3 kr){
-        _firstTriangle.getMaterial().setKr(kr);
-        _secondTriangle.getMaterial().setKr(kr);
+        getMaterial().setKr(kr);
         return this;
     }
 
@@ -111,8 +226,7 @@ public class Quadrangle extends Geometry {
      * @return the object for builder-like use
      */
     public Quadrangle setShininess(int shine){
-        _firstTriangle.getMaterial().setShininess(shine);
-        _secondTriangle.getMaterial().setShininess(shine);
+        getMaterial().setShininess(shine);
         return this;
     }
 
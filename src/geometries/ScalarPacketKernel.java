@@ -0,0 +1,68 @@
+package geometries;
+
+import static primitives.Util.isZero;
+
+/***
+ * the packets of rays one ray after the other, in plain numbers - used when the vector kernel is not available
+ */
+final class ScalarPacketKernel implements PacketKernel {
+
+    @Override
+    public int lanes() {
+        return 1;
+    }
+
+    @Override
+    public void entryDistances(PacketShapes.Packet packet, double[] sides, int at, double ox, double oy, double oz,
+                               int length, double[] entry) {
+        for (int k = 0; k < length; ++k)
+            entry[k] = BoundingBox.entryDistance(sides[at], sides[at + 1], sides[at + 2], sides[at + 3],
+                    sides[at + 4], sides[at + 5], ox, oy, oz, packet._invX[k], packet._invY[k], packet._invZ[k]);
+    }
+
+    @Override
+    public void intersect(PacketShapes.Packet packet, int kind, double[] data, int at, double ox, double oy,
+                          double oz, int length, double[] limit) {
+        for (int k = 0; k < length; ++k) {
+            double maxDistance = limit[k];
+            if (maxDistance == Double.NEGATIVE_INFINITY) {
+                packet._t[k] = Double.POSITIVE_INFINITY;
+                continue;
+            }
+            double dx = packet._dirX[k];
+            double dy = packet._dirY[k];
+            double dz = packet._dirZ[k];
+            packet._t[k] = switch (kind) {
+                case PacketShapes.SPHERE -> Sphere.closest(data[at], data[at + 1], data[at + 2], data[at + 3],
+                        ox, oy, oz, dx, dy, dz, maxDistance);
+                case PacketShapes.PLANE -> Plane.closest(data[at], data[at + 1], data[at + 2], data[at + 3],
+                        data[at + 4], data[at + 5], ox, oy, oz, dx, dy, dz, maxDistance);
+                default -> Triangle.mollerTrumbore(data[at], data[at + 1], data[at + 2], data[at + 3],
+                        data[at + 4], data[at + 5], data[at + 6], data[at + 7], data[at + 8],
+                        ox, oy, oz, dx, dy, dz, maxDistance, null);
+            };
+        }
+    }
+
+    @Override
+    public void keep(PacketShapes.Packet packet, int shape, double ox, double oy, double oz, int length) {
+        for (int k = 0; k < length; ++k) {
+            double t = packet._t[k];
+            if (t == Double.POSITIVE_INFINITY)
+                continue;
+            packet._closest[k] = t;
+            packet._hit[k] = shape;
+            //the distance of the point of the hit, as Geometries keeps it
+            double x = ox, y = oy, z = oz;
+            if (!isZero(t)) {
+                x = ox + packet._dirX[k] * t;
+                y = oy + packet._dirY[k] * t;
+                z = oz + packet._dirZ[k] * t;
+            }
+            double a = ox - x;
+            double b = oy - y;
+            double c = oz - z;
+            packet._maxDistance[k] = Math.sqrt(a * a + b * b + c * c);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package geometries;
 
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
 import primitives.Vector;
@@ -8,6 +9,7 @@ import java.util.List;
 
 import static java.lang.Math.sqrt;
 import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
 
 /***
  * class Sphere holds the information and functions used for a sphere
@@ -54,6 +56,13 @@ public class Sphere extends Geometry {
                 '}';
     }
 
+    @Override
+    protected BoundingBox calcBoundingBox() {
+        Double3 c = center.getXyz();
+        return new BoundingBox(c.getD1() - radius, c.getD2() - radius, c.getD3() - radius,
+                c.getD1() + radius, c.getD2() + radius, c.getD3() + radius);
+    }
+
     /**
      * Method for {@link geometries.Sphere#getNormal(Point)}.
      * This method finds the normal vector to a point on the sphere
@@ -71,19 +80,23 @@ public class Sphere extends Geometry {
      */
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray) {
-        Point P0 = ray.getP0();
-        Vector v = ray.getDir();
-
-        if (P0.equals(center)) {
+        //U = center - P0 in plain numbers, without temporary vectors
+        Double3 p0 = ray.getP0().getXyz();
+        Double3 v = ray.getDir().getXyz();
+        Double3 c = center.getXyz();
+        double ux = c.getD1() - p0.getD1();
+        double uy = c.getD2() - p0.getD2();
+        double uz = c.getD3() - p0.getD3();
+
+        if (isZero(ux) && isZero(uy) && isZero(uz)) {
 //            if(alignZero(radius - maxDistance) > 0){
 //                return null;
 //            }
-            return List.of(new GeoPoint(this, center.add(v.scale(radius))));
+            return List.of(new GeoPoint(this, ray.getPoint(radius)));
         }
-        Vector U = center.subtract(P0);
 
-        double tm = alignZero(v.dotProduct(U));
-        double d = alignZero(Math.sqrt(U.lengthSquared() - tm * tm));
+        double tm = alignZero(v.getD1() * ux + v.getD2() * uy + v.getD3() * uz);
+        double d = alignZero(Math.sqrt(ux * ux + uy * uy + uz * uz - tm * tm));
 
         // no intersections : the ray direction is above the sphere
         if (d >= radius) {
@@ -120,6 +133,68 @@ public class Sphere extends Geometry {
         return null;
     }
 
+    /***
+     * finds the closest intersection without creating a list - the smaller positive t
+     * (the direction of the ray is normalized so t is the distance)
+     * @param ray the ray to check for intersections
+     * @param maxDistance intersections at this distance or farther are ignored
+     * @return the closest GeoPoint, null if there is none
+     */
+    @Override
+    protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+        Double3 p0 = ray.getP0().getXyz();
+        Double3 v = ray.getDir().getXyz();
+        Double3 c = center.getXyz();
+        double t = closest(c.getD1(), c.getD2(), c.getD3(), radius, p0.getD1(), p0.getD2(), p0.getD3(),
+                v.getD1(), v.getD2(), v.getD3(), maxDistance);
+        return t == Double.POSITIVE_INFINITY ? null : new GeoPoint(this, ray.getPoint(t));
+    }
+
+    /***
+     * the closest intersection of a ray with a sphere in plain numbers, shared with the packets of rays
+     * @param cx x of the center
+     * @param cy y of the center
+     * @param cz z of the center
+     * @param radius the radius
+     * @param ox x of the head of the ray
+     * @param oy y of the head of the ray
+     * @param oz z of the head of the ray
+     * @param dx x of the (normalized) direction of the ray
+     * @param dy y of the (normalized) direction of the ray
+     * @param dz z of the (normalized) direction of the ray
+     * @param maxDistance intersections at this distance or farther are ignored
+     * @return the distance of the hit, positive infinity if there is none
+     */
+    static double closest(double cx, double cy, double cz, double radius, double ox, double oy, double oz,
+                          double dx, double dy, double dz, double maxDistance) {
+        //U = center - P0
+        double ux = cx - ox;
+        double uy = cy - oy;
+        double uz = cz - oz;
+
+        if (isZero(ux) && isZero(uy) && isZero(uz)) {
+            return radius < maxDistance ? radius : Double.POSITIVE_INFINITY;
+        }
+
+        double tm = alignZero(dx * ux + dy * uy + dz * uz);
+        double d = alignZero(Math.sqrt(ux * ux + uy * uy + uz * uz - tm * tm));
+
+        // no intersections : the ray direction is above the sphere
+        if (d >= radius) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        double th = alignZero(Math.sqrt(radius * radius - d * d));
+
+        //t1 is always the closer one, t2 is used only if t1 is behind the head of the ray
+        double t = alignZero(tm - th);
+        if (t <= 0)
+            t = alignZero(tm + th);
+        if (t <= 0 || t >= maxDistance)
+            return Double.POSITIVE_INFINITY;
+        return t;
+    }
+
     /**
      * Method for {@link geometries.Sphere#findGeoIntersectionsHelper(Ray)}.
      * This is the older function. It is still here to enable the original tests to run
@@ -1,19 +1,40 @@
 package geometries;
 
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
-import primitives.Vector;
 
 import java.util.List;
 
 import static primitives.Util.alignZero;
-import static primitives.Util.isZero;
 
 /***
  * class of triangle
+ * the intersection uses the Moller-Trumbore algorithm: the first vertex and the two edges from it are kept in plain
+ * numbers from the constructor, and a single test finds both the distance and the barycentric coordinates of the
+ * hit, without intersecting the plane first
  */
 public class Triangle extends Polygon {
 
+    /***
+     * the square of the size below which a number is zero (as in Util.isZero) - a ray whose squared cosine with the
+     * normal is not above it is parallel to the triangle
+     */
+    static final double PARALLEL = 0x1p-80;
+
+    /***
+     * the first vertex
+     */
+    private final double _ax, _ay, _az;
+    /***
+     * edge from the first vertex to the second one
+     */
+    private final double _e1x, _e1y, _e1z;
+    /***
+     * edge from the first vertex to the third one
+     */
+    private final double _e2x, _e2y, _e2z;
+
     /***
      * if all three points are in a line
      * @param p1 p1
@@ -22,6 +43,18 @@ public class Triangle extends Polygon {
      */
     public Triangle(Point p1, Point p2, Point p3) {
         super(p1, p2, p3);
+        Double3 a = p1.getXyz();
+        Double3 b = p2.getXyz();
+        Double3 c = p3.getXyz();
+        _ax = a.getD1();
+        _ay = a.getD2();
+        _az = a.getD3();
+        _e1x = b.getD1() - _ax;
+        _e1y = b.getD2() - _ay;
+        _e1z = b.getD3() - _az;
+        _e2x = c.getD1() - _ax;
+        _e2y = c.getD2() - _ay;
+        _e2z = c.getD3() - _az;
     }
 
     /***
@@ -43,43 +76,116 @@ public class Triangle extends Polygon {
      */
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray) {
-        List<GeoPoint> intersections = plane.findGeoIntersectionsHelper(ray);
-        if (intersections == null) {
-            return null;
-        }
-        Point p0 = ray.getP0();
-        Vector v = ray.getDir().normalize();
+        GeoPoint gp = findClosestGeoIntersectionHelper(ray, Double.POSITIVE_INFINITY);
+        return gp == null ? null : List.of(gp);
+    }
 
-        Vector v1 = vertices.get(0).subtract(p0);
-        Vector v2 = vertices.get(1).subtract(p0);
-        Vector v3 = vertices.get(2).subtract(p0);
+    /***
+     * a triangle has one intersection at most so it is also the closest one
+     * @param ray to find intersections
+     * @param maxDistance intersections at this distance or farther are ignored
+     * @return the GeoPoint intersection, null if there is none
+     */
+    @Override
+    protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+        double t = intersect(ray, maxDistance, null);
+        return t == Double.POSITIVE_INFINITY ? null : new GeoPoint(this, ray.getPoint(t));
+    }
 
-        double s1 = alignZero(v.dotProduct(v1.crossProduct(v2).normalize()));
-        if (isZero(s1)) {
-            return null;
-        }
-        double s2 = alignZero(v.dotProduct(v2.crossProduct(v3).normalize()));
-        if (isZero(s2)) {
-            return null;
-        }
-        double s3 = alignZero(v.dotProduct(v3.crossProduct(v1).normalize()));
-        if (isZero(s3)) {
-            return null;
-        }
-        if (s1 * s2 <= 0) {
-            return null;
-        }
+    /***
+     * occlusion query without creating the point of the intersection
+     * @param ray the ray from the point towards the light
+     * @param maxDistance intersections at this distance from the head of the ray or farther are ignored
+     * @param kT the transparency of the triangle
+     * @return the transparency of the triangle if the ray passes through it before the maximum distance, 1 otherwise
+     */
+    @Override
+    protected double findTransparencyHelper(Ray ray, double maxDistance, double kT) {
+        if (intersect(ray, maxDistance, null) == Double.POSITIVE_INFINITY)
+            return 1.0;
+        return alignZero(kT);
+    }
 
-        if (s1 * s3 <= 0) {
-            return null;
-        }
-        /***
-         * the list we got from super is valid, change the field of geoPointGeometry to this and then return the list
-         */
+    /***
+     * Moller-Trumbore intersection of the ray with the triangle.
+     * the hit point is p1 + u*(p2 - p1) + v*(p3 - p1), so the caller may interpolate values of the vertices
+     * (normals, texture coordinates) with the weights 1-u-v, u and v.
+     * the edges and the vertices of the triangle are not a part of it, as in the rest of the shapes
+     * @param ray the ray
+     * @param maxDistance intersections at this distance or farther are ignored
+     * @param uv array of size 2 which receives u and v of the hit, may be null if they are not needed
+     * @return the distance t of the hit from the head of the ray (the direction of the ray is normalized),
+     * positive infinity if the ray misses the triangle
+     */
+    public double intersect(Ray ray, double maxDistance, double[] uv) {
+        Double3 p0 = ray.getP0().getXyz();
+        Double3 dir = ray.getDir().getXyz();
+        return mollerTrumbore(_ax, _ay, _az, _e1x, _e1y, _e1z, _e2x, _e2y, _e2z,
+                p0.getD1(), p0.getD2(), p0.getD3(), dir.getD1(), dir.getD2(), dir.getD3(), maxDistance, uv);
+    }
+
+    /***
+     * the Moller-Trumbore test in plain numbers, shared with the faces of TriangleMesh
+     * @param ax x of the first vertex
+     * @param ay y of the first vertex
+     * @param az z of the first vertex
+     * @param e1x x of the edge from the first vertex to the second one
+     * @param e1y y of the edge from the first vertex to the second one
+     * @param e1z z of the edge from the first vertex to the second one
+     * @param e2x x of the edge from the first vertex to the third one
+     * @param e2y y of the edge from the first vertex to the third one
+     * @param e2z z of the edge from the first vertex to the third one
+     * @param ox x of the head of the ray
+     * @param oy y of the head of the ray
+     * @param oz z of the head of the ray
+     * @param dx x of the (normalized) direction of the ray
+     * @param dy y of the (normalized) direction of the ray
+     * @param dz z of the (normalized) direction of the ray
+     * @param maxDistance intersections at this distance or farther are ignored
+     * @param uv array of size 2 which receives u and v of the hit, may be null
+     * @return the distance of the hit, positive infinity if there is none
+     */
+    static double mollerTrumbore(double ax, double ay, double az, double e1x, double e1y, double e1z,
+                                 double e2x, double e2y, double e2z, double ox, double oy, double oz,
+                                 double dx, double dy, double dz, double maxDistance, double[] uv) {
+        //p = dir x e2
+        double px = dy * e2z - dz * e2y;
+        double py = dz * e2x - dx * e2z;
+        double pz = dx * e2y - dy * e2x;
+        double det = e1x * px + e1y * py + e1z * pz;
+        //the ray is parallel to the plane of the triangle - det is |e1 x e2| times the cosine of the angle between
+        //the ray and the normal, so the cosine is compared with zero and small triangles are not rejected
+        double nx = e1y * e2z - e1z * e2y;
+        double ny = e1z * e2x - e1x * e2z;
+        double nz = e1x * e2y - e1y * e2x;
+        if (det * det <= PARALLEL * (nx * nx + ny * ny + nz * nz))
+            return Double.POSITIVE_INFINITY;
+        double invDet = 1 / det;
+
+        //s = p0 - a
+        double sx = ox - ax;
+        double sy = oy - ay;
+        double sz = oz - az;
+        double u = alignZero((sx * px + sy * py + sz * pz) * invDet);
+        if (u <= 0 || u >= 1)
+            return Double.POSITIVE_INFINITY;
+
+        //q = s x e1
+        double qx = sy * e1z - sz * e1y;
+        double qy = sz * e1x - sx * e1z;
+        double qz = sx * e1y - sy * e1x;
+        double v = alignZero((dx * qx + dy * qy + dz * qz) * invDet);
+        if (v <= 0 || alignZero(1 - u - v) <= 0)
+            return Double.POSITIVE_INFINITY;
+
+        double t = alignZero((e2x * qx + e2y * qy + e2z * qz) * invDet);
+        if (t <= 0 || t >= maxDistance)
+            return Double.POSITIVE_INFINITY;
 
-        for (var item : intersections) {
-            item._geoPointGeometry = this;
+        if (uv != null) {
+            uv[0] = u;
+            uv[1] = v;
         }
-        return intersections;
+        return t;
     }
 }
@@ -0,0 +1,670 @@
+package geometries;
+
+import primitives.Color;
+import primitives.Double3;
+import primitives.Material;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+
+import static primitives.Util.alignZero;
+import static primitives.Util.isZero;
+
+/***
+ * class TriangleMesh is a shape made of many triangles which share their vertices, e.g. a model loaded from a file.
+ * the coordinates of all the vertices are kept in one array of numbers and the faces in one array of indices,
+ * and all the faces share the emission and the material of the mesh - instead of an object (with a list, a plane
+ * and a material) for every triangle.
+ * the mesh has its own bounding volume hierarchy over the faces, kept in arrays as well, so a ray tests only the
+ * faces whose boxes it passes through
+ */
+public class TriangleMesh extends Geometry {
+
+    /***
+     * maximum number of faces in a leaf of the hierarchy
+     */
+    private static final int LEAF_SIZE = 4;
+    /***
+     * small padding for the sides of the boxes so that flat boxes (of flat faces) are not missed
+     */
+    private static final double EPSILON = 1e-7;
+
+    /***
+     * x, y and z of every vertex
+     */
+    private final double[] _vertices;
+    /***
+     * indices of the three vertices of every face, in the order of the leaves of the hierarchy
+     */
+    private final int[] _faces;
+    /***
+     * box of every node of the hierarchy - minX, minY, minZ, maxX, maxY, maxZ
+     */
+    private final double[] _nodeBounds;
+    /***
+     * two numbers for every node of the hierarchy. a leaf holds the index of its first face and the amount of its
+     * faces, any other node holds the index of its right child and 0 (the left child is the next node)
+     */
+    private final int[] _nodeData;
+
+    /***
+     * constructor builds the hierarchy of the faces
+     * @param vertices x, y and z of every vertex, the array is kept by the mesh and must not be changed
+     * @param faces indices of the three vertices of every face (counter-clockwise when seen from the side of
+     *              the normal), the array is copied
+     * @throws IllegalArgumentException if the sizes of the arrays are not multiples of 3, there are no faces
+     *                                  or a face refers to a vertex which does not exist
+     */
+    public TriangleMesh(double[] vertices, int[] faces) {
+        if (vertices.length % 3 != 0)
+            throw new IllegalArgumentException("Every vertex must have 3 coordinates");
+        if (faces.length == 0 || faces.length % 3 != 0)
+            throw new IllegalArgumentException("A mesh must have faces of 3 vertices");
+        int vertexCount = vertices.length / 3;
+        for (int index : faces)
+            if (index < 0 || index >= vertexCount)
+                throw new IllegalArgumentException("A face refers to vertex " + index + " which does not exist");
+        _vertices = vertices;
+
+        //the faces are sorted into the leaves, so every leaf holds a range of faces
+        int faceCount = faces.length / 3;
+        int[] order = new int[faceCount];
+        double[] centers = new double[faceCount * 3];
+        for (int face = 0; face < faceCount; face++) {
+            order[face] = face;
+            for (int axis = 0; axis < 3; axis++)
+                centers[face * 3 + axis] = (vertices[faces[face * 3] * 3 + axis]
+                        + vertices[faces[face * 3 + 1] * 3 + axis] + vertices[faces[face * 3 + 2] * 3 + axis]) / 3;
+        }
+        HierarchyBuilder builder = new HierarchyBuilder(faces, order, centers);
+        builder.build(0, faceCount);
+        _nodeBounds = builder.nodes * 6 == builder.bounds.length ? builder.bounds
+                : Arrays.copyOf(builder.bounds, builder.nodes * 6);
+        _nodeData = builder.nodes * 2 == builder.data.length ? builder.data
+                : Arrays.copyOf(builder.data, builder.nodes * 2);
+
+        _faces = new int[faces.length];
+        for (int i = 0; i < faceCount; i++)
+            System.arraycopy(faces, order[i] * 3, _faces, i * 3, 3);
+    }
+
+    /***
+     * constructor from points, for small meshes
+     * @param vertices the vertices
+     * @param faces indices of the three vertices of every face
+     */
+    public TriangleMesh(Point[] vertices, int[] faces) {
+        this(coordinates(vertices), faces);
+    }
+
+    /***
+     * helper function for the constructor
+     * @param points the points
+     * @return x, y and z of every point
+     */
+    private static double[] coordinates(Point[] points) {
+        double[] coordinates = new double[points.length * 3];
+        for (int i = 0; i < points.length; i++) {
+            Double3 xyz = points[i].getXyz();
+            coordinates[i * 3] = xyz.getD1();
+            coordinates[i * 3 + 1] = xyz.getD2();
+            coordinates[i * 3 + 2] = xyz.getD3();
+        }
+        return coordinates;
+    }
+
+    /***
+     * getter
+     * @return amount of vertices
+     */
+    public int getVertexCount() {
+        return _vertices.length / 3;
+    }
+
+    /***
+     * getter
+     * @return amount of faces
+     */
+    public int getFaceCount() {
+        return _faces.length / 3;
+    }
+
+    @Override
+    public String toString() {
+        return "TriangleMesh{" +
+                "vertices=" + getVertexCount() +
+                ", faces=" + getFaceCount() +
+                '}';
+    }
+
+    @Override
+    protected BoundingBox calcBoundingBox() {
+        return new BoundingBox(_nodeBounds[0], _nodeBounds[1], _nodeBounds[2],
+                _nodeBounds[3], _nodeBounds[4], _nodeBounds[5]);
+    }
+
+    /***
+     * the normal of the face on which the point is. the hits of rays hold the face itself, which knows its normal,
+     * so this search over all the faces is needed only when the point is given from outside
+     * @param point a point on the mesh
+     * @return the normal of the face of the point
+     * @throws IllegalArgumentException if the point is not on the mesh
+     */
+    @Override
+    public Vector getNormal(Point point) {
+        Double3 p = point.getXyz();
+        for (int face = 0; face < getFaceCount(); face++)
+            if (contains(face, p.getD1(), p.getD2(), p.getD3()))
+                return faceNormal(face);
+        throw new IllegalArgumentException("The point is not on the mesh");
+    }
+
+    /***
+     * finds all the intersections in the faces whose boxes the ray passes through
+     * @param ray the ray to check for intersections
+     * @return list of GeoPoint intersections, null if there are none
+     */
+    @Override
+    protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray) {
+        Query query = new Query(ray, Double.POSITIVE_INFINITY);
+        if (entryDistance(0, query) == Double.POSITIVE_INFINITY)
+            return null;
+        List<GeoPoint> intersections = new LinkedList<>();
+        findAll(0, query, ray, intersections);
+        return intersections.isEmpty() ? null : intersections;
+    }
+
+    /***
+     * finds the closest intersection - the closer child of every node is searched first, and the other child only
+     * if its box is closer than the closest hit found
+     * @param ray the ray to check for intersections
+     * @param maxDistance intersections at this distance or farther are ignored
+     * @return the closest GeoPoint (with the face which was hit as its geometry), null if there is none
+     */
+    @Override
+    protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+        Query query = new Query(ray, maxDistance);
+        if (entryDistance(0, query) >= maxDistance)
+            return null;
+        findClosest(0, query);
+        return query.face < 0 ? null : new GeoPoint(new Face(query.face), ray.getPoint(query.maxDistance));
+    }
+
+    /***
+     * occlusion query - every face before the maximum distance multiplies the transparency by the transparency of
+     * the material, and the search stops as soon as it is 0
+     * @param ray the ray from the point towards the light
+     * @param maxDistance intersections at this distance from the head of the ray or farther are ignored
+     * @param kT the transparency of the material of the faces
+     * @return the transparency along the ray
+     */
+    @Override
+    protected double findTransparencyHelper(Ray ray, double maxDistance, double kT) {
+        Query query = new Query(ray, maxDistance);
+        if (entryDistance(0, query) >= maxDistance)
+            return 1.0;
+        return findTransparency(0, query, kT);
+    }
+
+    /***
+     * collects the hits of all the faces below a node
+     * @param node the node
+     * @param query the ray
+     * @param ray the ray itself, for the points of the hits
+     * @param intersections the list of the hits
+     */
+    private void findAll(int node, Query query, Ray ray, List<GeoPoint> intersections) {
+        int first = _nodeData[node * 2];
+        int count = _nodeData[node * 2 + 1];
+        if (count > 0) {
+            for (int face = first; face < first + count; face++) {
+                double t = intersect(face, query);
+                if (t != Double.POSITIVE_INFINITY)
+                    intersections.add(new GeoPoint(new Face(face), ray.getPoint(t)));
+            }
+            return;
+        }
+        if (entryDistance(node + 1, query) != Double.POSITIVE_INFINITY)
+            findAll(node + 1, query, ray, intersections);
+        if (entryDistance(first, query) != Double.POSITIVE_INFINITY)
+            findAll(first, query, ray, intersections);
+    }
+
+    /***
+     * finds the closest hit below a node, the query keeps the closest face and its distance
+     * @param node the node
+     * @param query the ray and the closest hit so far
+     */
+    private void findClosest(int node, Query query) {
+        int first = _nodeData[node * 2];
+        int count = _nodeData[node * 2 + 1];
+        if (count > 0) {
+            for (int face = first; face < first + count; face++) {
+                double t = intersect(face, query);
+                if (t != Double.POSITIVE_INFINITY) {
+                    query.maxDistance = t;
+                    query.face = face;
+                }
+            }
+            return;
+        }
+        int near = node + 1;
+        int far = first;
+        double nearDistance = entryDistance(near, query);
+        double farDistance = entryDistance(far, query);
+        if (farDistance < nearDistance) {
+            near = first;
+            far = node + 1;
+            double tmp = nearDistance;
+            nearDistance = farDistance;
+            farDistance = tmp;
+        }
+        if (nearDistance < query.maxDistance)
+            findClosest(near, query);
+        //the distance may have become shorter in the near child
+        if (farDistance < query.maxDistance)
+            findClosest(far, query);
+    }
+
+    /***
+     * occlusion query below a node
+     * @param node the node
+     * @param query the ray and the maximum distance
+     * @param kT transparency of the material
+     * @return the transparency of the faces below the node
+     */
+    private double findTransparency(int node, Query query, double kT) {
+        int first = _nodeData[node * 2];
+        int count = _nodeData[node * 2 + 1];
+        if (count > 0) {
+            double ktr = 1.0;
+            for (int face = first; face < first + count; face++) {
+                if (intersect(face, query) != Double.POSITIVE_INFINITY) {
+                    ktr = alignZero(ktr * kT);
+                    if (ktr == 0)
+                        return 0;
+                }
+            }
+            return ktr;
+        }
+        double ktr = 1.0;
+        if (entryDistance(node + 1, query) < query.maxDistance) {
+            ktr = findTransparency(node + 1, query, kT);
+            if (ktr == 0)
+                return 0;
+        }
+        if (entryDistance(first, query) < query.maxDistance)
+            ktr *= findTransparency(first, query, kT);
+        return ktr;
+    }
+
+    /***
+     * Moller-Trumbore test of one face
+     * @param face the index of the face
+     * @param query the ray and the maximum distance
+     * @return the distance of the hit, positive infinity if there is none
+     */
+    private double intersect(int face, Query query) {
+        int a = _faces[face * 3] * 3;
+        int b = _faces[face * 3 + 1] * 3;
+        int c = _faces[face * 3 + 2] * 3;
+        double ax = _vertices[a], ay = _vertices[a + 1], az = _vertices[a + 2];
+        return Triangle.mollerTrumbore(ax, ay, az,
+                _vertices[b] - ax, _vertices[b + 1] - ay, _vertices[b + 2] - az,
+                _vertices[c] - ax, _vertices[c + 1] - ay, _vertices[c + 2] - az,
+                query.ox, query.oy, query.oz, query.dx, query.dy, query.dz, query.maxDistance, null);
+    }
+
+    /***
+     * slab test of the box of a node, the same as BoundingBox.entryDistance with the inverse direction calculated
+     * once for the whole query
+     * @param node the node
+     * @param query the ray
+     * @return the distance from the head of the ray to the box (0 if it starts inside),
+     * positive infinity if the ray misses the box
+     */
+    private double entryDistance(int node, Query query) {
+        int i = node * 6;
+        double near = 0;
+        double far = Double.POSITIVE_INFINITY;
+
+        double t1 = (_nodeBounds[i] - query.ox) * query.ix;
+        double t2 = (_nodeBounds[i + 3] - query.ox) * query.ix;
+        if (t1 > t2) {
+            double tmp = t1;
+            t1 = t2;
+            t2 = tmp;
+        }
+        if (t1 > near)
+            near = t1;
+        if (t2 < far)
+            far = t2;
+
+        t1 = (_nodeBounds[i + 1] - query.oy) * query.iy;
+        t2 = (_nodeBounds[i + 4] - query.oy) * query.iy;
+        if (t1 > t2) {
+            double tmp = t1;
+            t1 = t2;
+            t2 = tmp;
+        }
+        if (t1 > near)
+            near = t1;
+        if (t2 < far)
+            far = t2;
+
+        t1 = (_nodeBounds[i + 2] - query.oz) * query.iz;
+        t2 = (_nodeBounds[i + 5] - query.oz) * query.iz;
+        if (t1 > t2) {
+            double tmp = t1;
+            t1 = t2;
+            t2 = tmp;
+        }
+        if (t1 > near)
+            near = t1;
+        if (t2 < far)
+            far = t2;
+        return near <= far ? near : Double.POSITIVE_INFINITY;
+    }
+
+    /***
+     * the normal of a face
+     * @param face the index of the face
+     * @return the normalized cross product of the edges from the first vertex of the face
+     */
+    private Vector faceNormal(int face) {
+        int a = _faces[face * 3] * 3;
+        int b = _faces[face * 3 + 1] * 3;
+        int c = _faces[face * 3 + 2] * 3;
+        Vector e1 = new Vector(_vertices[b] - _vertices[a], _vertices[b + 1] - _vertices[a + 1],
+                _vertices[b + 2] - _vertices[a + 2]);
+        Vector e2 = new Vector(_vertices[c] - _vertices[a], _vertices[c + 1] - _vertices[a + 1],
+                _vertices[c + 2] - _vertices[a + 2]);
+        return e1.crossProduct(e2).normalize();
+    }
+
+    /***
+     * checks whether a point is on a face (including its edges)
+     * @param face the index of the face
+     * @param px x of the point
+     * @param py y of the point
+     * @param pz z of the point
+     * @return true if the point is on the face
+     */
+    private boolean contains(int face, double px, double py, double pz) {
+        int a = _faces[face * 3] * 3;
+        int b = _faces[face * 3 + 1] * 3;
+        int c = _faces[face * 3 + 2] * 3;
+        double e1x = _vertices[b] - _vertices[a], e1y = _vertices[b + 1] - _vertices[a + 1];
+        double e1z = _vertices[b + 2] - _vertices[a + 2];
+        double e2x = _vertices[c] - _vertices[a], e2y = _vertices[c + 1] - _vertices[a + 1];
+        double e2z = _vertices[c + 2] - _vertices[a + 2];
+        double wx = px - _vertices[a], wy = py - _vertices[a + 1], wz = pz - _vertices[a + 2];
+
+        //distance from the plane of the face
+        double nx = e1y * e2z - e1z * e2y;
+        double ny = e1z * e2x - e1x * e2z;
+        double nz = e1x * e2y - e1y * e2x;
+        if (!isZero((wx * nx + wy * ny + wz * nz) / Math.sqrt(nx * nx + ny * ny + nz * nz)))
+            return false;
+
+        //barycentric coordinates of the point
+        double d11 = e1x * e1x + e1y * e1y + e1z * e1z;
+        double d12 = e1x * e2x + e1y * e2y + e1z * e2z;
+        double d22 = e2x * e2x + e2y * e2y + e2z * e2z;
+        double dw1 = wx * e1x + wy * e1y + wz * e1z;
+        double dw2 = wx * e2x + wy * e2y + wz * e2z;
+        double denominator = d11 * d22 - d12 * d12;
+        double u = alignZero((d22 * dw1 - d12 * dw2) / denominator);
+        double v = alignZero((d11 * dw2 - d12 * dw1) / denominator);
+        return u >= 0 && v >= 0 && alignZero(1 - u - v) >= 0;
+    }
+
+    /***
+     * a face of the mesh as a geometry of its own. it is created only for a hit and holds nothing but the index of
+     * the face - the vertices, the emission and the material are those of the mesh
+     */
+    public class Face extends Geometry {
+        private final int _face;
+
+        /***
+         * constructor
+         * @param face the index of the face
+         */
+        private Face(int face) {
+            _face = face;
+        }
+
+        /***
+         * getter
+         * @return the mesh of the face
+         */
+        public TriangleMesh getMesh() {
+            return TriangleMesh.this;
+        }
+
+        @Override
+        public Color getEmission() {
+            return TriangleMesh.this.getEmission();
+        }
+
+        @Override
+        public Material getMaterial() {
+            return TriangleMesh.this.getMaterial();
+        }
+
+        @Override
+        public Vector getNormal(Point point) {
+            return faceNormal(_face);
+        }
+
+        @Override
+        protected List<GeoPoint> findGeoIntersectionsHelper(Ray ray) {
+            double t = intersect(_face, new Query(ray, Double.POSITIVE_INFINITY));
+            return t == Double.POSITIVE_INFINITY ? null : List.of(new GeoPoint(this, ray.getPoint(t)));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Face other && other.getMesh() == getMesh() && other._face == _face;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(getMesh()) * 31 + _face;
+        }
+
+        @Override
+        public String toString() {
+            return "Face{" + _face + " of " + getMesh() + '}';
+        }
+    }
+
+    /***
+     * one ray in plain numbers for the traversal of the hierarchy, and the closest hit found so far
+     */
+    private static final class Query {
+        //head of the ray
+        final double ox, oy, oz;
+        //direction of the ray
+        final double dx, dy, dz;
+        //inverse of the direction for the slab tests
+        final double ix, iy, iz;
+        //intersections at this distance or farther are ignored, it becomes shorter with every closer hit
+        double maxDistance;
+        //the closest face found so far, -1 if none
+        int face = -1;
+
+        Query(Ray ray, double maxDistance) {
+            Double3 p0 = ray.getP0().getXyz();
+            Double3 dir = ray.getDir().getXyz();
+            ox = p0.getD1();
+            oy = p0.getD2();
+            oz = p0.getD3();
+            dx = dir.getD1();
+            dy = dir.getD2();
+            dz = dir.getD3();
+            ix = 1 / dx;
+            iy = 1 / dy;
+            iz = 1 / dz;
+            this.maxDistance = maxDistance;
+        }
+    }
+
+    /***
+     * builds the hierarchy into arrays - the faces are split in the middle of the longest axis of the centers of
+     * their range, as in the hierarchy of Geometries.
+     * the centers are kept in the order of the faces and moved with them, so every range is read in a row, and the
+     * box of a node is made of the boxes of its children - the vertices are read once, for the leaves
+     */
+    private final class HierarchyBuilder {
+        final int[] faces;
+        final int[] order;
+        //x, y and z of the center of the face at every place in the order
+        final double[] centers;
+        //the amount of nodes of the median split depends only on the amount of faces (a range of equal centers
+        //makes a leaf sooner and fewer nodes), so the arrays are not larger than needed - about half as many
+        //nodes as faces rather than the 2n - 1 nodes of the worst case, which matters for large models
+        final double[] bounds;
+        final int[] data;
+        int nodes = 0;
+
+        HierarchyBuilder(int[] faces, int[] order, double[] centers) {
+            this.faces = faces;
+            this.order = order;
+            this.centers = centers;
+            int capacity = nodeCount(order.length);
+            bounds = new double[capacity * 6];
+            data = new int[capacity * 2];
+        }
+
+        /***
+         * @param count amount of faces in a range
+         * @return amount of nodes of the range when it is split in the middle until the leaves
+         */
+        private static int nodeCount(int count) {
+            return count <= LEAF_SIZE ? 1 : 1 + nodeCount(count >>> 1) + nodeCount(count - (count >>> 1));
+        }
+
+        /***
+         * builds the node of a range of faces and all the nodes below it
+         * @param from the first face of the range in the order
+         * @param to the end of the range (exclusive)
+         */
+        void build(int from, int to) {
+            int node = nodes++;
+
+            int axis = longestAxisOfCenters(from, to);
+            if (to - from <= LEAF_SIZE || axis < 0) {
+                data[node * 2] = from;
+                data[node * 2 + 1] = to - from;
+                calcBounds(node, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            select(from, to, middle, axis);
+            build(from, middle);
+            int right = nodes;
+            data[node * 2] = right;
+            data[node * 2 + 1] = 0;
+            build(middle, to);
+            for (int i = 0; i < 3; i++) {
+                bounds[node * 6 + i] = Math.min(bounds[(node + 1) * 6 + i], bounds[right * 6 + i]);
+                bounds[node * 6 + 3 + i] = Math.max(bounds[(node + 1) * 6 + 3 + i], bounds[right * 6 + 3 + i]);
+            }
+        }
+
+        /***
+         * the box around all the vertices of the faces of a range, padded by epsilon
+         */
+        private void calcBounds(int node, int from, int to) {
+            int i = node * 6;
+            for (int axis = 0; axis < 3; axis++) {
+                bounds[i + axis] = Double.POSITIVE_INFINITY;
+                bounds[i + 3 + axis] = Double.NEGATIVE_INFINITY;
+            }
+            for (int k = from; k < to; k++)
+                for (int corner = 0; corner < 3; corner++) {
+                    int vertex = faces[order[k] * 3 + corner] * 3;
+                    for (int axis = 0; axis < 3; axis++) {
+                        bounds[i + axis] = Math.min(bounds[i + axis], _vertices[vertex + axis] - EPSILON);
+                        bounds[i + 3 + axis] = Math.max(bounds[i + 3 + axis], _vertices[vertex + axis] + EPSILON);
+                    }
+                }
+        }
+
+        /***
+         * @return the axis on which the centers of the faces of the range are spread the most,
+         * -1 if all the centers are at the same point
+         */
+        private int longestAxisOfCenters(int from, int to) {
+            double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY, minZ = Double.POSITIVE_INFINITY;
+            double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY, maxZ = Double.NEGATIVE_INFINITY;
+            for (int k = from * 3; k < to * 3; k += 3) {
+                minX = Math.min(minX, centers[k]);
+                maxX = Math.max(maxX, centers[k]);
+                minY = Math.min(minY, centers[k + 1]);
+                maxY = Math.max(maxY, centers[k + 1]);
+                minZ = Math.min(minZ, centers[k + 2]);
+                maxZ = Math.max(maxZ, centers[k + 2]);
+            }
+            double[] lengths = {maxX - minX, maxY - minY, maxZ - minZ};
+            int longest = -1;
+            double longestLength = 0;
+            for (int axis = 0; axis < 3; axis++)
+                if (lengths[axis] > longestLength) {
+                    longestLength = lengths[axis];
+                    longest = axis;
+                }
+            return longest;
+        }
+
+        /***
+         * quick select - reorders the range so that the face at the middle is in its sorted place according to
+         * the centers on the axis, the faces before it are not after it and the faces after it are not before it
+         */
+        private void select(int from, int to, int middle, int axis) {
+            int left = from;
+            int right = to - 1;
+            while (left < right) {
+                double pivot = centers[((left + right) >>> 1) * 3 + axis];
+                int i = left;
+                int j = right;
+                while (i <= j) {
+                    while (centers[i * 3 + axis] < pivot)
+                        i++;
+                    while (centers[j * 3 + axis] > pivot)
+                        j--;
+                    if (i <= j) {
+                        swap(i, j);
+                        i++;
+                        j--;
+                    }
+                }
+                if (middle <= j)
+                    right = j;
+                else if (middle >= i)
+                    left = i;
+                else
+                    return;
+            }
+        }
+
+        /***
+         * swaps two places in the order with their centers
+         */
+        private void swap(int i, int j) {
+            int face = order[i];
+            order[i] = order[j];
+            order[j] = face;
+            for (int axis = 0; axis < 3; axis++) {
+                double center = centers[i * 3 + axis];
+                centers[i * 3 + axis] = centers[j * 3 + axis];
+                centers[j * 3 + axis] = center;
+            }
+        }
+    }
+}
@@ -4,10 +4,13 @@ import primitives.*;
 
 import java.util.List;
 
+import static primitives.Util.alignZero;
 import static primitives.Util.isZero;
 
 /***
  * Class Tube represents an infinite cylinder using a vector axis and a radius
+ * the intersection is the quadratic equation of the distance of the points of the ray from the axis, in plain
+ * numbers - only the parts of the ray and of the head of the ray which are orthogonal to the axis count
  */
 
 public class Tube extends Geometry {
@@ -75,9 +78,117 @@ public class Tube extends Geometry {
         return normal.normalize();
     }
 
+    /***
+     * @param ray the ray to find intersections with
+     * @return the list of the intersections in order of distance, null if there are none
+     */
     @Override
     public List<GeoPoint> findGeoIntersectionsHelper(Ray ray) {
-        return null;
+        double t1 = nextHit(ray, 0, Double.POSITIVE_INFINITY);
+        if (t1 == Double.POSITIVE_INFINITY)
+            return null;
+        GeoPoint first = new GeoPoint(this, ray.getPoint(t1));
+        double t2 = nextHit(ray, t1, Double.POSITIVE_INFINITY);
+        //the shape is convex, so there are two intersections at most
+        return t2 == Double.POSITIVE_INFINITY ? List.of(first) : List.of(first, new GeoPoint(this, ray.getPoint(t2)));
+    }
+
+    /***
+     * @param ray the ray to find intersections with
+     * @param maxDistance intersections at this distance or farther are ignored
+     * @return the closest intersection, null if there is none
+     */
+    @Override
+    protected GeoPoint findClosestGeoIntersectionHelper(Ray ray, double maxDistance) {
+        double t = nextHit(ray, 0, maxDistance);
+        return t == Double.POSITIVE_INFINITY ? null : new GeoPoint(this, ray.getPoint(t));
+    }
+
+    /***
+     * occlusion query without creating the points of the intersections - the light passes through the wall of
+     * the shape once for every intersection
+     * @param ray the ray from the point towards the light
+     * @param maxDistance intersections at this distance from the head of the ray or farther are ignored
+     * @param kT the transparency of the shape
+     * @return the transparency along the ray
+     */
+    @Override
+    protected double findTransparencyHelper(Ray ray, double maxDistance, double kT) {
+        double t1 = nextHit(ray, 0, maxDistance);
+        if (t1 == Double.POSITIVE_INFINITY)
+            return 1.0;
+        double kt = alignZero(kT);
+        if (kt == 0 || nextHit(ray, t1, maxDistance) == Double.POSITIVE_INFINITY)
+            return kt;
+        return alignZero(kt * kt);
+    }
+
+    /***
+     * the closest intersection of the ray with the shape after some distance, so the intersections are found one
+     * by one without an array for them
+     * @param ray the ray
+     * @param after intersections at this distance or closer are ignored, 0 for the first intersection
+     * @param maxDistance intersections at this distance or farther are ignored
+     * @return the distance of the intersection, positive infinity if there is none
+     */
+    double nextHit(Ray ray, double after, double maxDistance) {
+        return sideHit(ray, after, maxDistance, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+    }
+
+    /***
+     * the closest intersection of the ray with the side of the tube after some distance, between two heights
+     * along the axis.
+     * the points on the ray whose distance from the axis is the radius: with w = p0 - axis head and d the axis,
+     * |(w + t*v) - ((w + t*v)·d)d|^2 = r^2, a quadratic equation in t
+     * @param ray the ray
+     * @param after intersections at this distance or closer are ignored
+     * @param maxDistance intersections at this distance or farther are ignored
+     * @param minHeight intersections at this distance along the axis or lower are ignored
+     * @param maxHeight intersections at this distance along the axis or higher are ignored
+     * @return the distance of the intersection, positive infinity if there is none
+     */
+    final double sideHit(Ray ray, double after, double maxDistance, double minHeight, double maxHeight) {
+        Double3 p0 = ray.getP0().getXyz();
+        Double3 v = ray.getDir().getXyz();
+        Double3 a = axisRay.getP0().getXyz();
+        Double3 d = axisRay.getDir().getXyz();
+        double wx = p0.getD1() - a.getD1(), wy = p0.getD2() - a.getD2(), wz = p0.getD3() - a.getD3();
+        double dx = d.getD1(), dy = d.getD2(), dz = d.getD3();
+        double vx = v.getD1(), vy = v.getD2(), vz = v.getD3();
+        double vd = vx * dx + vy * dy + vz * dz;
+        double wd = wx * dx + wy * dy + wz * dz;
+
+        //the parts orthogonal to the axis, both directions are normalized
+        double qa = 1 - vd * vd;
+        //the ray is parallel to the axis
+        if (isZero(qa))
+            return Double.POSITIVE_INFINITY;
+        double qb = vx * wx + vy * wy + vz * wz - vd * wd;
+        double qc = wx * wx + wy * wy + wz * wz - wd * wd - radius * radius;
+        double discriminant = alignZero(qb * qb - qa * qc);
+        //no intersections or the ray is tangent to the tube
+        if (discriminant <= 0)
+            return Double.POSITIVE_INFINITY;
+        double root = Math.sqrt(discriminant);
+
+        //qa is positive so t1 < t2
+        double t1 = alignZero((-qb - root) / qa);
+        if (t1 > after && t1 < maxDistance && between(wd + t1 * vd, minHeight, maxHeight))
+            return t1;
+        double t2 = alignZero((-qb + root) / qa);
+        if (t2 > after && t2 < maxDistance && between(wd + t2 * vd, minHeight, maxHeight))
+            return t2;
+        return Double.POSITIVE_INFINITY;
+    }
+
+    /***
+     * @param height distance along the axis from its head
+     * @param minHeight the lower bound
+     * @param maxHeight the upper bound
+     * @return true if the height is between the bounds (not on them)
+     */
+    static boolean between(double height, double minHeight, double maxHeight) {
+        return alignZero(height - minHeight) > 0 && alignZero(height - maxHeight) < 0;
     }
 }
 
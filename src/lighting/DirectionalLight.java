@@ -3,6 +3,7 @@ package lighting;
 import geometries.Intersectable;
 import primitives.Color;
 import primitives.Point;
+import primitives.Sampler;
 import primitives.Vector;
 
 import java.util.LinkedList;
@@ -20,7 +21,8 @@ public class DirectionalLight extends Light implements LightSource {
      */
     public DirectionalLight(Color intensity, Vector direction) {
         super(intensity);
-        _direction = direction;
+        //normalized once here and not for every point
+        _direction = direction.normalize();
     }
 
     @Override
@@ -30,7 +32,7 @@ public class DirectionalLight extends Light implements LightSource {
 
     @Override
     public Vector getL(Point p) {
-        return _direction.normalize();
+        return _direction;
     }
 
     @Override
@@ -44,7 +46,7 @@ public class DirectionalLight extends Light implements LightSource {
      * @return list of points around the light source
      */
     @Override
-    public LinkedList<Point> findPointsAroundLight(Vector lightDirection, int rootOfMovedPoints) {
+    public LinkedList<Point> findPointsAroundLight(Vector lightDirection, int rootOfMovedPoints, Sampler sampler) {
         return null;
     }
 }
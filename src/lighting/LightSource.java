@@ -2,6 +2,7 @@ package lighting;
 
 import primitives.Color;
 import primitives.Point;
+import primitives.Sampler;
 import primitives.Vector;
 
 import java.util.LinkedList;
@@ -35,7 +36,8 @@ public interface LightSource {
      *
      * @param lightDirection vector from the object to the light source
      * @param rootOfMovedLightPoints height and width of box around light
+     * @param sampler the sampler of the current thread, places the points around the light
      * @return list of points around the
      */
-    public LinkedList<Point> findPointsAroundLight(Vector lightDirection, int rootOfMovedLightPoints);
+    public LinkedList<Point> findPointsAroundLight(Vector lightDirection, int rootOfMovedLightPoints, Sampler sampler);
 }
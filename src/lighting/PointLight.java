@@ -2,6 +2,7 @@ package lighting;
 
 import primitives.Color;
 import primitives.Point;
+import primitives.Sampler;
 import primitives.Vector;
 
 import java.util.LinkedList;
@@ -108,10 +109,11 @@ public class PointLight extends Light implements LightSource {
      * this function uses createListOfMovedPoints in order to achieve the goal
      * @param lightDirection vector from the object to the light source
      * @param root_of_points this number is used to calculate how many points to create
+     * @param sampler the sampler of the current thread, places the points around the light
      * @return the list of points
      */
     @Override
-    public LinkedList<Point> findPointsAroundLight(Vector lightDirection, int root_of_points) {
+    public LinkedList<Point> findPointsAroundLight(Vector lightDirection, int root_of_points, Sampler sampler) {
 
         Vector U; //vup
         U = new Vector(0, -lightDirection.getXyz().getD3(), lightDirection.getXyz().getD2()).normalize();
@@ -125,6 +127,6 @@ public class PointLight extends Light implements LightSource {
         Point edgeOfPixel = _position.add(V.scale(-0.5*_size));
         edgeOfPixel=edgeOfPixel.add(U.scale(0.5*_size));
 
-        return _position.createListOfMovedPoints(edgeOfPixel, U, V, height, width, root_of_points);
+        return _position.createListOfMovedPoints(edgeOfPixel, U, V, height, width, root_of_points, sampler);
     }
 }
@@ -2,6 +2,7 @@ package lighting;
 
 import primitives.Color;
 import primitives.Point;
+import primitives.Sampler;
 import primitives.Vector;
 
 import java.util.LinkedList;
@@ -22,7 +23,8 @@ public class Spotlight extends PointLight {
      */
     public Spotlight(Color intensity, Point position, Vector direction) {
         super(intensity, position);
-        _direction = direction;
+        //normalized once here and not for every point
+        _direction = direction.normalize();
     }
 
     /***
@@ -35,7 +37,7 @@ public class Spotlight extends PointLight {
     @Override
     public Color getIntensity(Point p) {
         Vector l = getL(p); //vector from light to point p
-        double max = Math.max(0, _direction.normalize().dotProduct(l));
+        double max = Math.max(0, _direction.dotProduct(l));
         return super.getIntensity(p).scale(max); //uses parent function to implement DRY
     }
 
@@ -50,8 +52,8 @@ public class Spotlight extends PointLight {
     }
 
     @Override
-    public LinkedList<Point> findPointsAroundLight(Vector lightDirection, int root_of_points) {
+    public LinkedList<Point> findPointsAroundLight(Vector lightDirection, int root_of_points, Sampler sampler) {
         super.setSize(_size);
-        return super.findPointsAroundLight(lightDirection, root_of_points);
+        return super.findPointsAroundLight(lightDirection, root_of_points, sampler);
     }
 }
@@ -133,6 +133,38 @@ public class Color {
         return new java.awt.Color(ir > 255 ? 255 : ir, ig > 255 ? 255 : ig, ib > 255 ? 255 : ib);
     }
 
+    /**
+     * RGB getter - returns the components without the limit of 255, for accumulating
+     * samples in full precision
+     *
+     * @return triad of Red/Green/Blue components
+     */
+    public Double3 getRgb() {
+        return rgb;
+    }
+
+    /**
+     * Packed RGB getter - returns the color as an int 0xRRGGBB without creating a
+     * java.awt.Color object. Any component bigger than 255 is set to 255, and any negative one to 0
+     *
+     * @return the packed RGB components of this Color
+     */
+    public int getRGB() {
+        return channel(rgb.d1) << 16 | channel(rgb.d2) << 8 | channel(rgb.d3);
+    }
+
+    /**
+     * One component of a packed color - limited to 0..255 on both sides, so it never spills into the bits of the
+     * other components
+     *
+     * @param component the component
+     * @return the component as a byte of the packed color
+     */
+    private static int channel(double component) {
+        int c = (int) component;
+        return c > 255 ? 255 : Math.max(c, 0);
+    }
+
     /**
      * Operation of adding this and one or more other colors (by component)
      *
@@ -0,0 +1,64 @@
+package primitives;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/***
+ * class HaltonSampler creates low discrepancy samples from the Halton sequence in bases 2 and 3.
+ * every set starts from the beginning of the sequence and is shifted by a random offset (modulo 1),
+ * so that neighbouring pixels do not get the same pattern
+ */
+public class HaltonSampler implements Sampler {
+
+    /***
+     * index of the next sample in the sequence
+     */
+    private int _index = 0;
+    /***
+     * random shift of the current set
+     */
+    private double _shiftU = 0;
+    private double _shiftV = 0;
+
+    @Override
+    public void startSet(int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        _index = 0;
+        _shiftU = random.nextDouble();
+        _shiftV = random.nextDouble();
+    }
+
+    @Override
+    public void next2D(double[] uv) {
+        ++_index;
+        uv[0] = shift(radicalInverse(_index, 2), _shiftU);
+        uv[1] = shift(radicalInverse(_index, 3), _shiftV);
+    }
+
+    /***
+     * the radical inverse of a number - its digits in the base are mirrored around the decimal point
+     * @param index the number
+     * @param base the base
+     * @return the radical inverse in [0,1)
+     */
+    static double radicalInverse(int index, int base) {
+        double result = 0;
+        double digitValue = 1.0 / base;
+        while (index > 0) {
+            result += (index % base) * digitValue;
+            index /= base;
+            digitValue /= base;
+        }
+        return result;
+    }
+
+    /***
+     * adds the shift modulo 1
+     * @param value value in [0,1)
+     * @param shift shift in [0,1)
+     * @return the shifted value in [0,1)
+     */
+    private static double shift(double value, double shift) {
+        value += shift;
+        return value >= 1 ? value - 1 : value;
+    }
+}
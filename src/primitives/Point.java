@@ -2,9 +2,8 @@ package primitives;
 
 import java.util.LinkedList;
 import java.util.Objects;
-import java.util.Random;
 
-import static java.lang.Math.max;
+import static primitives.Util.isZero;
 
 /***
  * Class Point is the basic class representing a point of euclidean geometry in cartesian
@@ -73,14 +72,11 @@ public class Point {
      * @return my vector minus other vector
      */
     public Vector subtract(Point other) {
-        if (other._xyz.equals(_xyz)) {
-            throw new IllegalArgumentException("Cannot create Vector (0,0,0)");
-        }
-        return new Vector(
-                _xyz.d1 - other._xyz.d1,
-                _xyz.d2 - other._xyz.d2,
-                _xyz.d3 - other._xyz.d3
-        );
+        double x = _xyz.d1 - other._xyz.d1;
+        double y = _xyz.d2 - other._xyz.d2;
+        double z = _xyz.d3 - other._xyz.d3;
+        //the constructor checks the differences themselves, so the zero vector is found without a Double3 for it
+        return new Vector(x, y, z);
     }
 
     /***
@@ -119,6 +115,11 @@ public class Point {
         return Math.sqrt(distanceSquared(p));
     }
 
+    /***
+     * independent random samples for the functions which do not receive a sampler
+     */
+    private static final Sampler UNIFORM = new UniformSampler();
+
     /***
      * helper function implementing DRY
      * @param up direction to move
@@ -127,29 +128,38 @@ public class Point {
      * @return random point in rectangle around the origin
      */
     public Point movePointRandom(Vector up, Vector right, double aperture) {
-        Random rand = new Random();
-        double moveUp = rand.nextDouble() * aperture;
-        double moveRight = rand.nextDouble() * aperture;
-
-        int upMinus = rand.nextInt() % 2;
-        int rightMinus = rand.nextInt() % 2;
-
-        if (upMinus == 0)
-            upMinus = -1;
-
-        if (rightMinus == 0)
-            rightMinus = -1;
-
+        return movePointRandom(up, right, aperture, UNIFORM);
+    }
 
-        Point movedPoint = this.add(up.scale(moveUp * upMinus));
-        movedPoint = movedPoint.add(right.scale(moveRight * rightMinus));
+    /***
+     * moves the point to a place in the square around it according to a sample of the sampler.
+     * the sample is a set of its own, so it does not depend on the samples which the sampler gave before
+     * @param up direction to move
+     * @param right direction to move
+     * @param aperture the maximal distance to move in each direction
+     * @param sampler the sampler of the current thread
+     * @return point in the square around the origin
+     */
+    public Point movePointRandom(Vector up, Vector right, double aperture, Sampler sampler) {
+        double[] uv = new double[2];
+        sampler.startSet(1);
+        sampler.next2D(uv);
+        double moveUp = (uv[1] * 2 - 1) * aperture;
+        double moveRight = (uv[0] * 2 - 1) * aperture;
+
+        Point movedPoint = this;
+        //moving in parts to prevent scaling by zero
+        if (!isZero(moveUp))
+            movedPoint = movedPoint.add(up.scale(moveUp));
+        if (!isZero(moveRight))
+            movedPoint = movedPoint.add(right.scale(moveRight));
 
         return movedPoint;
     }
 
     /***
-     * creates a list of moved points around a point
-     * @param edgeOfPixel corner of the pixel
+     * creates a list of moved points around a point, spread by jittered (stratified) sampling
+     * @param edgeOfPixel top left corner of the pixel
      * @param _Vup vector up
      * @param _Vright vector right
      * @param sizeHOfPixel height of pixel
@@ -158,33 +168,38 @@ public class Point {
      * @return list of moved points
      */
     public LinkedList<Point> createListOfMovedPoints(Point edgeOfPixel, Vector _Vup, Vector _Vright, double sizeHOfPixel, double sizeWOfPixel, int numOfMiniPixels) {
-        //move out, this is current point//
-        // out.print(thisPixelPoint);
-        double heightOfMiniPixel = sizeHOfPixel / numOfMiniPixels;
-        double widthOfMiniPixel = sizeWOfPixel / numOfMiniPixels;
-
-        //creating a point in the top left corner that is slightly outside the square so that our loop will bring it
-        Point outerTopLeftCorner = edgeOfPixel.add(_Vup.scale(heightOfMiniPixel * 0.5));
-        outerTopLeftCorner = outerTopLeftCorner.add(_Vright.scale(widthOfMiniPixel * 0.5));
+        return createListOfMovedPoints(edgeOfPixel, _Vup, _Vright, sizeHOfPixel, sizeWOfPixel, numOfMiniPixels,
+                new StratifiedSampler());
+    }
 
+    /***
+     * creates a list of points inside a pixel (or any rectangle), placed according to the samples of the sampler
+     * @param edgeOfPixel top left corner of the pixel
+     * @param _Vup vector up
+     * @param _Vright vector right
+     * @param sizeHOfPixel height of pixel
+     * @param sizeWOfPixel width of pixel
+     * @param numOfMiniPixels root of the amount of points
+     * @param sampler the sampler of the current thread
+     * @return list of moved points
+     */
+    public LinkedList<Point> createListOfMovedPoints(Point edgeOfPixel, Vector _Vup, Vector _Vright, double sizeHOfPixel,
+                                                     double sizeWOfPixel, int numOfMiniPixels, Sampler sampler) {
         LinkedList<Point> movedPointsList = new LinkedList<>();
-
+        int count = numOfMiniPixels * numOfMiniPixels;
+        double[] uv = new double[2];
+        sampler.startSet(count);
         //for each mini pixel
-        for (int row = 1; row <= numOfMiniPixels; row++) {
-            //lowers the point for each row of minipixels
-            Point startPoint = outerTopLeftCorner.add(_Vup.scale(-1 * row * heightOfMiniPixel));
-            for (int column = 1; column <= numOfMiniPixels; column++) {
-                //moved the point to the right for each minipixel
-
-                Point currentPoint = startPoint.add(_Vright.normalize().scale(column * widthOfMiniPixel));
-                //out.print(currentPoint);
-                //?????????should we make movedPointrandom get width and length insead of aparture???????????
-                //creating ray from camera through random point in minipixel
-                //this function should also be in point class
-                Point movedPoint = currentPoint.movePointRandom(_Vup, _Vright, max(widthOfMiniPixel, heightOfMiniPixel));
-                movedPointsList.add(movedPoint);
-            }
+        for (int k = 0; k < count; k++) {
+            sampler.next2D(uv);
+            //moving right and down from the corner, in parts to prevent scaling by zero
+            Point movedPoint = edgeOfPixel;
+            if (!isZero(uv[0]))
+                movedPoint = movedPoint.add(_Vright.scale(uv[0] * sizeWOfPixel));
+            if (!isZero(uv[1]))
+                movedPoint = movedPoint.add(_Vup.scale(-uv[1] * sizeHOfPixel));
+            movedPointsList.add(movedPoint);
         }
         return movedPointsList;
     }
-}
\ No newline at end of file
+}
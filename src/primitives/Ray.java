@@ -34,7 +34,7 @@ public class Ray {
      */
     public Ray(Point p0, Vector dir) {
         this.p0 = p0;
-        this.dir = dir.normalize();
+        this.dir = normalized(dir);
     }
 
     /***
@@ -44,15 +44,23 @@ public class Ray {
      * @param direction direction of the light
      */
     public Ray(Point p, Vector n, Vector direction) {
-        Vector scaled;
         double nv = alignZero(n.dotProduct(direction));
-         if (nv < 0) {
-            scaled = n.scale(-DELTA);
-        } else {
-            scaled = n.scale(DELTA);
-        }
-        p0 = p.add(scaled);
-        dir = direction.normalize();
+        double delta = nv < 0 ? -DELTA : DELTA;
+        //moving the point by delta along the normal, without the temporary scaled vector
+        p0 = new Point(p._xyz.d1 + n._xyz.d1 * delta,
+                p._xyz.d2 + n._xyz.d2 * delta,
+                p._xyz.d3 + n._xyz.d3 * delta);
+        dir = normalized(direction);
+    }
+
+    /***
+     * most of the directions are already unit vectors (normals, directions of other rays, directions of the camera)
+     * so they are normalized only if they are not
+     * @param direction the direction
+     * @return the direction as a unit vector
+     */
+    private static Vector normalized(Vector direction) {
+        return isZero(direction.lengthSquared() - 1) ? direction : direction.normalize();
     }
 
     /***
@@ -95,7 +103,8 @@ public class Ray {
     public Point getPoint(double t) {
         if (isZero(t))
             return p0;
-        return p0.add(dir.scale(t));
+        //one new point instead of a scaled vector and a point
+        return new Point(p0._xyz.d1 + dir._xyz.d1 * t, p0._xyz.d2 + dir._xyz.d2 * t, p0._xyz.d3 + dir._xyz.d3 * t);
     }
 
     /***
@@ -115,8 +124,9 @@ public class Ray {
         double d;
 
         //compare the distance of each point, if smaller then update closest point and distance
+        //squared distances are compared in order to save the square root
         for (var pt : geoPointList) {
-            d = p0.distance(pt._geoPoint);
+            d = p0.distanceSquared(pt._geoPoint);
             if (d < distance) {
                 distance = d;
                 closestPoint = pt;
@@ -0,0 +1,25 @@
+package primitives;
+
+/***
+ * interface Sampler creates sample points in the unit square [0,1)x[0,1) for supersampling,
+ * depth of field and soft shadows.
+ * the samples are created in sets (e.g. all the samples of one pixel) so that the implementations can spread
+ * the samples of a set evenly over the square.
+ * every group of samples starts its own set - a single sample is a set of one. samples taken without a new set
+ * continue the previous one and are spread together with it, so they are not independent of it.
+ * a sampler keeps state and is not thread safe - every thread must have its own sampler
+ */
+public interface Sampler {
+
+    /***
+     * starts a new set of samples
+     * @param count the amount of samples which will be taken in the set
+     */
+    void startSet(int count);
+
+    /***
+     * creates the next sample of the current set
+     * @param uv array of two cells which receives the sample, both coordinates are in [0,1)
+     */
+    void next2D(double[] uv);
+}
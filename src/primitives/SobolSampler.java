@@ -0,0 +1,64 @@
+package primitives;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/***
+ * class SobolSampler creates low discrepancy samples from the first two dimensions of the Sobol sequence.
+ * for a set of 2^k samples every one of the 2^k equal rectangles of the square (of any shape) gets exactly
+ * one sample. every set is scrambled with random bits, which keeps this property
+ */
+public class SobolSampler implements Sampler {
+
+    /***
+     * scale from 32 bits to [0,1)
+     */
+    private static final double TO_UNIT = 1.0 / (1L << 32);
+
+    /***
+     * index of the next sample in the sequence
+     */
+    private int _index = 0;
+    /***
+     * random bits of the current set
+     */
+    private int _scrambleU = 0;
+    private int _scrambleV = 0;
+
+    @Override
+    public void startSet(int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        _index = 0;
+        _scrambleU = random.nextInt();
+        _scrambleV = random.nextInt();
+    }
+
+    @Override
+    public void next2D(double[] uv) {
+        int index = _index++;
+        uv[0] = toUnit(Integer.reverse(index) ^ _scrambleU);
+        uv[1] = toUnit(sobolSecondDimension(index) ^ _scrambleV);
+    }
+
+    /***
+     * the second dimension of the Sobol sequence, as 32 bits
+     * @param index index of the sample
+     * @return bits of the sample
+     */
+    static int sobolSecondDimension(int index) {
+        int result = 0;
+        for (int v = 1 << 31; index != 0; index >>>= 1, v ^= v >>> 1) {
+            if ((index & 1) != 0)
+                result ^= v;
+        }
+        return result;
+    }
+
+    /***
+     * converts 32 bits to a number in [0,1)
+     * @param bits the bits
+     * @return the number
+     */
+    private static double toUnit(int bits) {
+        return (bits & 0xffffffffL) * TO_UNIT;
+    }
+}
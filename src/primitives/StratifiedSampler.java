@@ -0,0 +1,34 @@
+package primitives;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/***
+ * class StratifiedSampler (jittered sampling) divides the square into a grid of cells, one cell for every
+ * sample of the set, and puts every sample in a random place inside its own cell
+ */
+public class StratifiedSampler implements Sampler {
+
+    /***
+     * the grid is root x root cells
+     */
+    private int _root = 1;
+    /***
+     * index of the next sample in the set
+     */
+    private int _index = 0;
+
+    @Override
+    public void startSet(int count) {
+        _root = Math.max(1, (int) Math.ceil(Math.sqrt(count)));
+        _index = 0;
+    }
+
+    @Override
+    public void next2D(double[] uv) {
+        //after the last cell of the set the grid is used again
+        int cell = _index++ % (_root * _root);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        uv[0] = (cell % _root + random.nextDouble()) / _root;
+        uv[1] = (cell / _root + random.nextDouble()) / _root;
+    }
+}
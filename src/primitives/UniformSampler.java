@@ -0,0 +1,22 @@
+package primitives;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/***
+ * class UniformSampler creates independent random samples, without spreading the samples of a set.
+ * it uses the random generator of the current thread, so it does not keep any state
+ */
+public class UniformSampler implements Sampler {
+
+    @Override
+    public void startSet(int count) {
+        //the samples are independent - nothing to prepare
+    }
+
+    @Override
+    public void next2D(double[] uv) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        uv[0] = random.nextDouble();
+        uv[1] = random.nextDouble();
+    }
+}
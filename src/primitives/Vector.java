@@ -17,7 +17,8 @@ public class Vector extends Point{
      */
     public Vector(double x, double y, double z){
         super(x,y,z);
-        if(_xyz.equals(Double3.ZERO))
+        //checking the numbers themselves - usually the first one is not zero and the check ends there
+        if(isZero(x) && isZero(y) && isZero(z))
             throw new IllegalArgumentException("creation of Vector (0,0,0)");
     }
 
@@ -27,7 +28,7 @@ public class Vector extends Point{
      */
     public Vector(Double3 xyz) {
         super(xyz);
-        if(_xyz.equals(Double3.ZERO))
+        if(isZero(xyz.d1) && isZero(xyz.d2) && isZero(xyz.d3))
             throw new IllegalArgumentException("creation of Vector (0,0,0)");
     }
 
@@ -122,6 +123,8 @@ public class Vector extends Point{
         if(isZero(size)){
             throw new ArithmeticException("normalizing resulting in Vector 0"); // check done also by builder
         }
+        //the check of the constructor is on the numbers themselves - for a unit vector it ends at the first one
+        //which is not zero
         return new Vector(
                 _xyz.d1/size,
                 _xyz.d2/size,
@@ -0,0 +1,104 @@
+package renderer;
+
+import primitives.Color;
+import primitives.Double3;
+
+import java.util.Arrays;
+
+/**
+ * Accumulation buffer for progressive rendering. The buffer keeps the sum of all the samples of every
+ * pixel in full (unclamped) precision, and the amount of samples of every pixel, so that more samples can be
+ * added later and the average can be written to the image at any time.<br/>
+ * Every pixel may be updated by a single thread at a time - the tile scheduler gives every pixel of a pass
+ * to one thread only.
+ */
+public class AccumulationBuffer {
+    private final int nX;
+    private final int nY;
+
+    /**
+     * Sum of the red, green and blue components of the samples of every pixel, row after row
+     */
+    private final double[] sums;
+    /**
+     * Amount of samples of every pixel
+     */
+    private final int[] counts;
+
+    /**
+     * Constructor
+     *
+     * @param nX amount of pixels by width
+     * @param nY amount of pixels by height
+     */
+    public AccumulationBuffer(int nX, int nY) {
+        this.nX = nX;
+        this.nY = nY;
+        sums = new double[nX * nY * 3];
+        counts = new int[nX * nY];
+    }
+
+    /**
+     * Add a sample to a pixel
+     *
+     * @param xIndex X axis index of the pixel
+     * @param yIndex Y axis index of the pixel
+     * @param color  the color of the sample
+     */
+    public void addSample(int xIndex, int yIndex, Color color) {
+        int pixel = yIndex * nX + xIndex;
+        Double3 rgb = color.getRgb();
+        sums[pixel * 3] += rgb.getD1();
+        sums[pixel * 3 + 1] += rgb.getD2();
+        sums[pixel * 3 + 2] += rgb.getD3();
+        ++counts[pixel];
+    }
+
+    /**
+     * The amount of samples of a pixel
+     *
+     * @param xIndex X axis index of the pixel
+     * @param yIndex Y axis index of the pixel
+     * @return the amount of samples added to the pixel
+     */
+    public int getSamples(int xIndex, int yIndex) {
+        return counts[yIndex * nX + xIndex];
+    }
+
+    /**
+     * The average color of a pixel
+     *
+     * @param xIndex X axis index of the pixel
+     * @param yIndex Y axis index of the pixel
+     * @return the average of the samples of the pixel, black if there are no samples
+     */
+    public Color getColor(int xIndex, int yIndex) {
+        int pixel = yIndex * nX + xIndex;
+        int count = counts[pixel];
+        if (count == 0)
+            return Color.BLACK;
+        return new Color(sums[pixel * 3] / count, sums[pixel * 3 + 1] / count, sums[pixel * 3 + 2] / count);
+    }
+
+    /**
+     * Write the average colors of all the pixels into the image writer, so a preview can be written after
+     * every pass
+     *
+     * @param imageWriter the image writer of the same size
+     */
+    public void writeTo(ImageWriter imageWriter) {
+        if (imageWriter.getNx() != nX || imageWriter.getNy() != nY)
+            throw new IllegalArgumentException("Image writer is not the size of the accumulation buffer");
+        for (int i = 0; i < nY; i++)
+            for (int j = 0; j < nX; j++)
+                imageWriter.writePixel(j, i, getColor(j, i));
+    }
+
+    /**
+     * Remove all the samples
+     */
+    public void clear() {
+        Arrays.fill(sums, 0);
+        Arrays.fill(counts, 0);
+    }
+}
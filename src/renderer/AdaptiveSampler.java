@@ -0,0 +1,357 @@
+package renderer;
+
+import primitives.Color;
+import primitives.Double3;
+import primitives.Sampler;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+/***
+ * adaptive super sampling of one pixel (part 9).
+ * the pixel starts with a sample in each of its corners. then, again and again, the part of the pixel whose corners
+ * are the most different is divided into four parts, with a new sample in its middle and in the middle of its sides.
+ * this stops when the corners of all the parts are close enough in perceptual space (see {@link #contrast}), or
+ * when the pixel has the maximal amount of samples. so the rays are spent only on the edges in the pixel, and noise
+ * which is smaller than the tolerance (e.g. of soft shadows) does not divide the pixel again and again.
+ * the samples are on a lattice of 2^levels x 2^levels cells in every pixel, which goes on through the whole tile
+ * of the pixel - so a sample on a corner or a side which is shared by several parts of a pixel, or by pixels next
+ * to each other in the tile, is traced only once. the samples are moved from the points of the lattice by a fixed
+ * pseudo-random amount of every point, so the pixels which share a sample see it in the same place.
+ * with depth of field, every sample also has its own point on the aperture (fixed for the point of the lattice as
+ * well), so the lens and the pixel are sampled together: in focus all the rays of a pixel meet, its corners are equal
+ * and it is not divided, and the more blurred the pixel is the more it is divided.
+ * an adaptive sampler is made for one render, and every thread keeps the lattice of the tile it renders. the
+ * lattices of the threads belong to the camera and are used again by its next renders (see {@link #newLattices()})
+ */
+class AdaptiveSampler {
+
+    /***
+     * traces the ray of one sample
+     */
+    @FunctionalInterface
+    interface SampleTracer {
+        /***
+         * @param x the column of the sample in pixels, from the left side of the image
+         * @param y the row of the sample in pixels, from the top of the image
+         * @param u the place of the sample on the width of the aperture, in [0,1)
+         * @param v the place of the sample on the height of the aperture, in [0,1)
+         * @return the color of the sample
+         */
+        Color trace(double x, double y, double u, double v);
+    }
+
+    /***
+     * a part of the pixel, in cells of the lattice
+     * @param x the column of its top left corner
+     * @param y the row of its top left corner
+     * @param size its width and height
+     * @param contrast the contrast of its corners
+     */
+    private record Part(int x, int y, int size, double contrast) {
+    }
+
+    /***
+     * the part with the largest error is divided first - the error is the contrast times the area of the part
+     */
+    private static final Comparator<Part> LARGEST_ERROR_FIRST =
+            Comparator.comparingDouble((Part part) -> part.contrast * part.size * part.size).reversed();
+
+    /***
+     * a sample is moved up to this part of a cell of the lattice in each direction
+     */
+    private static final double JITTER = 0.25;
+
+    /***
+     * the samples of the lattice of one tile
+     */
+    static final class TileLattice {
+        /***
+         * the sampler of the render whose samples are in the lattice, null before the first render
+         */
+        private AdaptiveSampler _render = null;
+        /***
+         * the column and the row of the top left pixel of the tile
+         */
+        private int _fromCol, _fromRow;
+        /***
+         * the samples, null where there is no sample yet
+         */
+        private Color[] _samples = new Color[0];
+    }
+
+    /***
+     * the amount of cells of the lattice in the width (and height) of the pixel
+     */
+    private final int _cells;
+    /***
+     * the parts are divided only while the contrast of their corners is larger than the tolerance
+     */
+    private final double _tolerance;
+    /***
+     * maximal amount of samples in a pixel
+     */
+    private final int _maxSamples;
+    /***
+     * width and height of a tile in pixels
+     */
+    private final int _tileSize;
+    /***
+     * the amount of points of the lattice in a row of a tile
+     */
+    private final int _side;
+    /***
+     * the lattice of the tile of every thread
+     */
+    private final ThreadLocal<TileLattice> _lattices;
+
+    /***
+     * constructor of a sampler with lattices of its own
+     * @param levels how many times a part of the pixel may be divided into four
+     * @param tolerance the maximal contrast (in [0,1]) of the corners of a part which is not divided
+     * @param maxSamples the maximal amount of samples in a pixel, at least the four corners
+     * @param tileSize width and height of the tiles in which the pixels are rendered
+     */
+    AdaptiveSampler(int levels, double tolerance, int maxSamples, int tileSize) {
+        this(levels, tolerance, maxSamples, tileSize, newLattices());
+    }
+
+    /***
+     * constructor
+     * @param levels how many times a part of the pixel may be divided into four
+     * @param tolerance the maximal contrast (in [0,1]) of the corners of a part which is not divided
+     * @param maxSamples the maximal amount of samples in a pixel, at least the four corners
+     * @param tileSize width and height of the tiles in which the pixels are rendered
+     * @param lattices the lattices of the threads, which were used by the earlier renders of the camera
+     */
+    AdaptiveSampler(int levels, double tolerance, int maxSamples, int tileSize, ThreadLocal<TileLattice> lattices) {
+        _cells = 1 << levels;
+        _tolerance = tolerance;
+        _maxSamples = Math.max(4, maxSamples);
+        _tileSize = tileSize;
+        _side = tileSize * _cells + 1;
+        _lattices = lattices;
+    }
+
+    /***
+     * the lattices of the threads of a camera. every thread keeps one lattice for all the renders of the camera,
+     * which a new render clears (and makes larger if it needs more samples), so the lattices of the renders which
+     * ended do not stay in the threads of a shared pool
+     * @return the lattices, empty until a thread samples a pixel
+     */
+    static ThreadLocal<TileLattice> newLattices() {
+        return ThreadLocal.withInitial(TileLattice::new);
+    }
+
+    /***
+     * the perceptual contrast of colors - every channel is clamped to the range of the image and moved to [0,1]
+     * with a gamma of 2 (the square root), which is close to the way the eye sees lightness, so the same
+     * difference counts more in the dark than in the light. the contrast is the largest range of a channel
+     * @param colors the colors
+     * @return the contrast in [0,1]
+     */
+    static double contrast(Color... colors) {
+        double contrast = 0;
+        for (int channel = 0; channel < 3; channel++) {
+            double min = 1, max = 0;
+            for (Color color : colors) {
+                double value = perceptual(color.getRgb(), channel);
+                min = Math.min(min, value);
+                max = Math.max(max, value);
+            }
+            contrast = Math.max(contrast, max - min);
+        }
+        return contrast;
+    }
+
+    /***
+     * one channel of a color in perceptual space
+     * @param rgb the color
+     * @param channel 0 for red, 1 for green, 2 for blue
+     * @return the value in [0,1]
+     */
+    private static double perceptual(Double3 rgb, int channel) {
+        double value = channel == 0 ? rgb.getD1() : channel == 1 ? rgb.getD2() : rgb.getD3();
+        return Math.sqrt(Math.min(Math.max(value, 0), 255) / 255);
+    }
+
+    /***
+     * samples one pixel adaptively
+     * @param j the column of the pixel
+     * @param i the row of the pixel
+     * @param tracer traces the samples
+     * @return the color of the pixel - the average of all its parts according to their area
+     */
+    Color pixelColor(int j, int i, SampleTracer tracer) {
+        //the samples of the previous tile of the thread (or of a previous render) are not needed anymore when a new
+        //tile starts
+        TileLattice tile = _lattices.get();
+        int fromCol = j - j % _tileSize, fromRow = i - i % _tileSize;
+        if (tile._render != this || fromCol != tile._fromCol || fromRow != tile._fromRow) {
+            if (tile._samples.length < _side * _side)
+                tile._samples = new Color[_side * _side];
+            else
+                Arrays.fill(tile._samples, null);
+            tile._render = this;
+            tile._fromCol = fromCol;
+            tile._fromRow = fromRow;
+        }
+        Color[] lattice = tile._samples;
+        //the point of the lattice of the tile at the top left corner of the pixel
+        int pixelX = (j - fromCol) * _cells, pixelY = (i - fromRow) * _cells;
+
+        //the corners of the pixel
+        for (int y = pixelY; y <= pixelY + _cells; y += _cells)
+            for (int x = pixelX; x <= pixelX + _cells; x += _cells)
+                sample(lattice, fromCol, fromRow, x, y, tracer);
+        //the samples which the pixel takes, whether they were already traced for a neighbour or not - so the color
+        //of the pixel does not depend on the order of the pixels
+        int samples = 4;
+
+        RenderCounters counters = RenderCounters.current();
+        PriorityQueue<Part> parts = new PriorityQueue<>(LARGEST_ERROR_FIRST);
+        parts.add(part(lattice, pixelX, pixelY, _cells));
+        Color sum = Color.BLACK;
+        while (!parts.isEmpty()) {
+            Part part = parts.poll();
+            int half = part.size / 2;
+            //the part is kept as it is when its corners are close enough, when it is a single cell,
+            //or when there are not enough samples left to divide it
+            if (part.contrast <= _tolerance || half == 0 || samples + 5 > _maxSamples) {
+                sum = sum.add(average(lattice, part).scale((double) part.size * part.size));
+                continue;
+            }
+            if (counters != null)
+                counters.countSubdivision();
+            //the middle of the part and the middles of its sides (which may be shared with a part next to it)
+            sample(lattice, fromCol, fromRow, part.x + half, part.y, tracer);
+            sample(lattice, fromCol, fromRow, part.x, part.y + half, tracer);
+            sample(lattice, fromCol, fromRow, part.x + half, part.y + half, tracer);
+            sample(lattice, fromCol, fromRow, part.x + part.size, part.y + half, tracer);
+            sample(lattice, fromCol, fromRow, part.x + half, part.y + part.size, tracer);
+            samples += 5;
+            for (int y = part.y; y < part.y + part.size; y += half)
+                for (int x = part.x; x < part.x + part.size; x += half)
+                    parts.add(part(lattice, x, y, half));
+        }
+        return sum.scale(1.0 / ((double) _cells * _cells));
+    }
+
+    /***
+     * traces the sample of a point of the lattice of the tile, unless it was already traced
+     * @param lattice the samples of the tile
+     * @param fromCol the column of the top left pixel of the tile
+     * @param fromRow the row of the top left pixel of the tile
+     * @param x the column of the point in the lattice of the tile
+     * @param y the row of the point in the lattice of the tile
+     * @param tracer traces the sample
+     */
+    private void sample(Color[] lattice, int fromCol, int fromRow, int x, int y, SampleTracer tracer) {
+        int index = y * _side + x;
+        if (lattice[index] != null)
+            return;
+        //the point of the lattice of the whole image, which decides how much the sample is moved
+        long col = (long) fromCol * _cells + x, row = (long) fromRow * _cells + y;
+        long hash = mix(col << 32 | row);
+        double moveX = (unit(hash) * 2 - 1) * JITTER;
+        double moveY = (unit(hash << 32) * 2 - 1) * JITTER;
+        long lens = mix(hash);
+        lattice[index] = tracer.trace(fromCol + (x + moveX) / _cells, fromRow + (y + moveY) / _cells,
+                unit(lens), unit(lens << 32));
+    }
+
+    /***
+     * @param bits pseudo-random bits
+     * @return a number in [0,1) from the 24 highest bits
+     */
+    private static double unit(long bits) {
+        return (bits >>> 40) / (double) (1 << 24);
+    }
+
+    /***
+     * samples the aperture for one point of the image (depth of field without anti-aliasing).
+     * the samples are taken four at a time, one in every quarter of the aperture, until the standard error of their
+     * average is at most the tolerance in perceptual space, or until there is the maximal amount of samples.
+     * when the point is in focus all the rays meet, the first four samples are equal and no more are taken
+     * @param x the column of the point in pixels, from the left side of the image
+     * @param y the row of the point in pixels, from the top of the image
+     * @param tracer traces the samples
+     * @param sampler the sampler of the current thread, which moves the samples inside the quarters
+     * @return the average color of the samples
+     */
+    Color apertureColor(double x, double y, SampleTracer tracer, Sampler sampler) {
+        double[] uv = new double[2];
+        //sums of the channels in perceptual space and of their squares
+        double[] sums = new double[3], squares = new double[3];
+        Color sum = Color.BLACK;
+        int samples = 0;
+        sampler.startSet(1);
+        do {
+            for (int quarter = 0; quarter < 4; quarter++) {
+                sampler.next2D(uv);
+                Color color = tracer.trace(x, y, (quarter % 2 + uv[0]) / 2, (quarter / 2 + uv[1]) / 2);
+                sum = sum.add(color);
+                for (int channel = 0; channel < 3; channel++) {
+                    double value = perceptual(color.getRgb(), channel);
+                    sums[channel] += value;
+                    squares[channel] += value * value;
+                }
+            }
+            samples += 4;
+        } while (samples + 4 <= _maxSamples && standardError(sums, squares, samples) > _tolerance);
+        return sum.scale(1.0 / samples);
+    }
+
+    /***
+     * the largest standard error of the average of a channel
+     * @param sums the sums of the channels
+     * @param squares the sums of the squares of the channels
+     * @param count the amount of samples
+     * @return the standard error
+     */
+    private static double standardError(double[] sums, double[] squares, int count) {
+        double error = 0;
+        for (int channel = 0; channel < 3; channel++) {
+            double variance = Math.max(0, (squares[channel] - sums[channel] * sums[channel] / count) / (count - 1));
+            error = Math.max(error, Math.sqrt(variance / count));
+        }
+        return error;
+    }
+
+    /***
+     * mixes the bits of a number (the finalizer of SplitMix64), so points of the lattice next to each other are
+     * moved in unrelated ways
+     * @param z the number
+     * @return the mixed number
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /***
+     * creates a part of a pixel whose corners were traced
+     * @param lattice the samples of the tile
+     * @param x the column of the top left corner of the part in the lattice of the tile
+     * @param y the row of the top left corner of the part in the lattice of the tile
+     * @param size the width and height of the part
+     * @return the part
+     */
+    private Part part(Color[] lattice, int x, int y, int size) {
+        return new Part(x, y, size, contrast(lattice[y * _side + x], lattice[y * _side + x + size],
+                lattice[(y + size) * _side + x], lattice[(y + size) * _side + x + size]));
+    }
+
+    /***
+     * @param lattice the samples of the tile
+     * @param part a part of a pixel
+     * @return the average of the colors of the corners of the part
+     */
+    private Color average(Color[] lattice, Part part) {
+        int x = part.x, y = part.y, size = part.size;
+        return lattice[y * _side + x].add(lattice[y * _side + x + size], lattice[(y + size) * _side + x],
+                lattice[(y + size) * _side + x + size]).scale(0.25);
+    }
+}
@@ -1,12 +1,20 @@
 package renderer;
 
 import primitives.Color;
+import primitives.Double3;
 import primitives.Point;
 import primitives.Ray;
+import primitives.Sampler;
+import primitives.StratifiedSampler;
 import primitives.Vector;
 
 import java.util.LinkedList;
 import java.util.MissingResourceException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
 
 import static primitives.Util.isZero;
 
@@ -45,24 +53,65 @@ public class Camera {
     //ON/OFF button default is off
     private boolean _JaggedEdgesButton = false;
     //number of minipixels is used for both height and width of the minipixel for simplicity
-    private static int NUMBER_OF_MINIPIXELS = 3;
+    private int _numberOfMiniPixels = 3;
 
 
     //feature of part 9
     //ON/OFF button default is off
-    private static boolean _MultiThreadingButton = false;
-    private static int NUM_OF_THREADS = 1;
+    private boolean _multiThreadingButton = false;
+    //number of worker threads, by default all the available cores are used
+    private int _numOfThreads = Runtime.getRuntime().availableProcessors();
+    //thread pool which may be shared by several cameras, null if every render creates its own pool
+    private ForkJoinPool _threadPool = null;
+    //width and height of a tile of pixels which is rendered by one thread at a time
+    private int _tileSize = 16;
     private double printInterval = 0;
 
+    //creates the sampler of every thread, which places the samples of supersampling and depth of field
+    private ThreadLocal<Sampler> _sampler = ThreadLocal.withInitial(StratifiedSampler::new);
+
+    //progressive rendering - the sum of the samples of all the passes, null before the first pass
+    private AccumulationBuffer _accumulation = null;
+    private int _passes = 0;
+
+    //ON/OFF button default is off - counting rays and intersection tests of every render
+    private boolean _statisticsButton = false;
+    //the report of the last render, null if statistics were not collected
+    private RenderReport _renderReport = null;
+
     /**
      *  feature of part 9
      *  /ON/OFF button default is off
      */
     private boolean _adaptiveSuperSampling = false;
     /***
-     * maximum recursion, for button
+     * maximum recursion, for button - how many times a part of a pixel may be divided into four
+     */
+    private int _maxRecursion = 3;
+    /***
+     * a part of a pixel is divided only while the perceptual contrast of its corners is larger than the tolerance
+     */
+    private double _adaptiveTolerance = 0.05;
+    /***
+     * maximal amount of samples in a pixel in adaptive super sampling
+     */
+    private int _adaptiveMaxSamples = 64;
+    /***
+     * the adaptive sampler of the current render, it keeps the samples of the tile of every thread
+     */
+    private volatile AdaptiveSampler _adaptiveSampler = null;
+    /***
+     * the lattices of the samples of the tile of every thread, used by all the adaptive samplers of the camera
      */
-    public static int MAX_RECURSION = 3;
+    private final ThreadLocal<AdaptiveSampler.TileLattice> _adaptiveLattices = AdaptiveSampler.newLattices();
+    /***
+     * the rays through the view plane, calculated again when the view plane or the image changes
+     */
+    private volatile PrimaryRays _primaryRays = null;
+    /***
+     * the batch of the rays of a row of every thread, used by all the primary rays of the camera
+     */
+    private final ThreadLocal<PrimaryRays.Batch> _rayBatches = PrimaryRays.newBatches();
 
 
     /***
@@ -100,6 +149,7 @@ public class Camera {
      */
     public Camera setVPDistance(double distanceVPToCam) {
         _distanceVPToCam = distanceVPToCam;
+        _primaryRays = null;
         return this;
     }
 
@@ -112,6 +162,7 @@ public class Camera {
     public Camera setVPSize(double width, double height) {
         _widthVP = width;
         _heightVP = height;
+        _primaryRays = null;
         return this;
     }
 
@@ -122,6 +173,8 @@ public class Camera {
      */
     public Camera setImageWriter(ImageWriter imageWriter) {
         _imageWriter = imageWriter;
+        _primaryRays = null;
+        clearPasses();
         return this;
     }
 
@@ -224,9 +277,20 @@ public class Camera {
     /***
      * function render Image checks that all the fields are initialized and then renders the image
      * this function uses some of the on/off buttons to determine which functions to call and in what manner
+     * when the statistics button is on, the report of the render is available from getRenderReport()
      * @return camera in build like manner
      */
     public Camera renderImage() {
+        prepareRender(true);
+        forEachRow(this::renderRow);
+        return this;
+    }
+
+    /***
+     * checks that all the fields are initialized and prepares the scene before the rays are sent
+     * @param compile whether the scene is compiled again, so the rays see the changes made in it
+     */
+    private void prepareRender(boolean compile) {
         //coordinates of the camera are not null
         if ((_Vright == null) || (_Vup == null) || (_Vto == null) || (_centerCam == null))
             throw new MissingResourceException("Camera coordinates are not initialized", "Camera", "coordinates");
@@ -236,51 +300,183 @@ public class Camera {
         //information about creation of the final image
         if ((_imageWriter == null) || (_rayTracerBase == null))
             throw new MissingResourceException("Image creation details are not initialized", "Camera", "Writer details");
-        //implementing the multi-threading time improvement of part 9
-        if (_MultiThreadingButton) {
+        //compiling the scene once before the rays are sent - this also builds the bounding volume hierarchy
+        //(only if its button is on)
+        if (compile)
+            _rayTracerBase.compileScene();
+        //the samples of the previous render must not be used
+        _adaptiveSampler = _adaptiveSuperSampling ? createAdaptiveSampler() : null;
+        _primaryRays = createPrimaryRays();
+    }
 
-            Pixel.initialize(_imageWriter.getNy(), _imageWriter.getNx(), printInterval); //debug print is print interval
-           int threadsCount = 3;
-            while (threadsCount-- > 0) {
-                new Thread(() -> {
-                    for (Pixel pixel = new Pixel(); pixel.nextPixel(); Pixel.printPixel(),Pixel.pixelDone()) {
-                        if(_adaptiveSuperSampling) {
-                            //implementing the adaptive super sampling time improvement of part 9
-                            Color thisPixelColor = castRay(pixel.col, pixel.row);
-                           _imageWriter.writePixel(pixel.col, pixel.row, thisPixelColor);
-                        }
-                        else{
-                            Color thisPixelColor = castRayOld(pixel.col, pixel.row);
-                            _imageWriter.writePixel(pixel.col, pixel.row, thisPixelColor);
-                        }
+    /***
+     * does the work for every row of every tile of the image, and collects the statistics of the render when their
+     * button is on
+     * @param renderer the work for one row of a tile
+     */
+    private void forEachRow(TileScheduler.RowRenderer renderer) {
+        if (!_statisticsButton) {
+            _renderReport = null;
+            renderRows(renderer);
+            return;
+        }
 
-                    }
-                }).start();
+        //every thread counts into its own counters, which are bound to it only while it renders a pixel of
+        //this render - so threads of a shared pool do not count the work of other renders
+        Queue<RenderCounters> allCounters = new ConcurrentLinkedQueue<>();
+        ThreadLocal<RenderCounters> threadCounters = ThreadLocal.withInitial(() -> {
+            RenderCounters counters = new RenderCounters();
+            allCounters.add(counters);
+            return counters;
+        });
+        RenderEvent event = new RenderEvent();
+        event.begin();
+        long start = System.nanoTime();
+        RenderCounters.start();
+        try {
+            renderRows((fromCol, toCol, row) -> {
+                RenderCounters.bind(threadCounters.get());
+                try {
+                    renderer.renderRow(fromCol, toCol, row);
+                } finally {
+                    RenderCounters.unbind();
+                }
+            });
+        } finally {
+            RenderCounters.stop();
+        }
+        _renderReport = new RenderReport(allCounters, System.nanoTime() - start);
+
+        event.end();
+        if (event.shouldCommit()) {
+            event.primaryRays = _renderReport.getPrimaryRays();
+            event.shadowRays = _renderReport.getShadowRays();
+            event.reflectionRays = _renderReport.getReflectionRays();
+            event.refractionRays = _renderReport.getRefractionRays();
+            event.intersectionTests = _renderReport.getTotalIntersectionTests();
+            event.subdivisions = _renderReport.getSubdivisions();
+            event.maxDepth = _renderReport.getMaxDepth();
+            event.threads = _renderReport.getThreads();
+            event.commit();
+        }
+    }
 
-            } Pixel.waitToFinish();
+    /***
+     * does the work for every row of every tile of the image, with or without multi-threading
+     * @param renderer the work for one row of a tile
+     */
+    private void renderRows(TileScheduler.RowRenderer renderer) {
+        //implementing the multi-threading time improvement of part 9
+        if (_multiThreadingButton) {
+            //the image is divided into tiles which are rendered by a work-stealing pool of threads
+            //the scheduler holds the progress of this render only, so several cameras may render at the same time
+            TileScheduler scheduler = new TileScheduler(_imageWriter.getNx(), _imageWriter.getNy(), _tileSize);
+            if (_threadPool == null)
+                scheduler.render(_numOfThreads, printInterval, renderer); //debug print is print interval
+            else
+                scheduler.render(_threadPool, printInterval, renderer);
+        } else { //when not using multithreading
+            //tile by tile as well, so adaptive super sampling shares the samples of the pixels of a tile
+            new TileScheduler(_imageWriter.getNx(), _imageWriter.getNy(), _tileSize).render(renderer);
+        }
+    }
 
+    /***
+     * progressive rendering - one pass adds one more sample to every pixel of the accumulation buffer and then
+     * writes the average of every pixel to the image writer, so a preview can be written after any pass.
+     * the samples are spread randomly inside the pixel when the jagged edges button is on, and on the
+     * aperture when the depth of field button is on.
+     * the scene is compiled by the first pass only (the first after clearPasses), so all the passes of the
+     * accumulation buffer trace the same scene - call clearPasses after the scene changes
+     * @return the camera
+     */
+    public Camera renderPass() {
+        prepareRender(_passes == 0);
+        if (_accumulation == null)
+            _accumulation = new AccumulationBuffer(_imageWriter.getNx(), _imageWriter.getNy());
+        TileScheduler.PixelRenderer pass = (j, i) -> _accumulation.addSample(j, i, castSample(j, i));
+        forEachRow(pass);
+        _accumulation.writeTo(_imageWriter);
+        ++_passes;
+        return this;
+    }
 
-        } else { //when not using multithreading
-            //for every row
-            for (int i = 0; i < _imageWriter.getNy(); i++) {
-                //for every column
-                for (int j = 0; j < _imageWriter.getNx(); j++) {
-                    if(_adaptiveSuperSampling) { //implementing adaptive super sampling (part 9)
-                        Color thisPixelColor = castRay(j, i);
-                        _imageWriter.writePixel(j, i, thisPixelColor);
-                        //out.print("calling cast ray new  ");
-                    }
-                    else{
-                        Color thisPixelColor = castRayOld(j, i);
-                        //out.print("calling cast ray old ");
-                        _imageWriter.writePixel(j, i, thisPixelColor);
-                    }
-                }
-            }
+    /***
+     * progressive rendering of several passes
+     * @param passes the amount of passes (samples for every pixel)
+     * @param previewInterval a preview image is written after every previewInterval passes, 0 for no preview
+     * @return the camera
+     */
+    public Camera renderProgressive(int passes, int previewInterval) {
+        for (int pass = 1; pass <= passes; pass++) {
+            renderPass();
+            if (previewInterval > 0 && pass % previewInterval == 0)
+                writeToImage();
         }
         return this;
     }
 
+    /***
+     * getter
+     * @return the amount of progressive passes done since the accumulation buffer was cleared
+     */
+    public int getPasses() {
+        return _passes;
+    }
+
+    /***
+     * getter for the statistics of the last render (or progressive pass)
+     * @return the report, null if the statistics button was off
+     */
+    public RenderReport getRenderReport() {
+        return _renderReport;
+    }
+
+    /***
+     * removes all the samples of the progressive passes, in order to start again
+     * @return the camera
+     */
+    public Camera clearPasses() {
+        _accumulation = null;
+        _passes = 0;
+        return this;
+    }
+
+    /***
+     * calculates the colors of the pixels of a part of a row and writes them to the image
+     * without super sampling and depth of field the rays of the row are made together, from the offsets of the
+     * rows and the columns which were calculated once for the render
+     * @param fromCol the first column
+     * @param toCol the column after the last one
+     * @param row the row
+     */
+    private void renderRow(int fromCol, int toCol, int row) {
+        if (_depthButton || _JaggedEdgesButton) {
+            for (int col = fromCol; col < toCol; ++col)
+                renderPixel(col, row);
+            return;
+        }
+        PrimaryRays.Batch batch = getPrimaryRays().row(fromCol, toCol, row);
+        //the ray tracer may trace the row as packets of rays
+        _rayTracerBase.traceRays(batch.getOrigin(), batch._dirX, batch._dirY, batch._dirZ, batch.size(),
+                batch._colors);
+        for (int k = 0; k < batch.size(); ++k)
+            _imageWriter.writePixel(fromCol + k, row, batch._colors[k]);
+    }
+
+    /***
+     * calculates the color of one pixel and writes it to the image
+     * @param j the column of the pixel
+     * @param i the row of the pixel
+     */
+    private void renderPixel(int j, int i) {
+        if (_adaptiveSuperSampling) { //implementing adaptive super sampling (part 9)
+            _imageWriter.writePixel(j, i, castRay(j, i));
+        } else {
+            _imageWriter.writePixel(j, i, castRayOld(j, i));
+        }
+    }
+
     /***
      * function printGrid places a grid
      * @param interval size of the squares in the grid
@@ -387,9 +583,35 @@ public class Camera {
     }
 
 
+    /***
+     * casts one random sample of a pixel for the progressive passes
+     * @param j the column of the pixel
+     * @param i the row of the pixel
+     * @return color of the sample
+     */
+    private Color castSample(int j, int i) {
+        Sampler sampler = _sampler.get();
+        double[] uv = {0.5, 0.5};
+        //a point inside the pixel, placed by the sampler - every sample of a pass is a set of its own
+        if (_JaggedEdgesButton) {
+            sampler.startSet(1);
+            sampler.next2D(uv);
+        }
+        double x = j + uv[0];
+        double y = i + uv[1];
+        //a point on the aperture (used only with depth of field), independent of the point in the pixel
+        if (_depthButton) {
+            sampler.startSet(1);
+            sampler.next2D(uv);
+        }
+        return traceImagePoint(x, y, uv[0], uv[1]);
+    }
+
     /***
      * cast ray is the main function in which the modifications of part 8 are made
      * for this reason, there are multiple clauses checking which fix we are currently in
+     * when both jagged edges and depth of field are on, every sample of the pixel goes through its own point of
+     * the aperture, and the points of the pixel and of the aperture are paired at random
      * this function casts a ray from the camera through the current pixel and returns the color of that pixel
      * this is called "old" because it is called when the adaptive super sampling is not used
      * @param j the column of the pixel
@@ -399,7 +621,7 @@ public class Camera {
     public Color castRayOld(int j, int i) {
 
         if ((!_depthButton) && (!_JaggedEdgesButton)) { //default code
-            Ray thisPixelRay = constructRay(_imageWriter.getNx(), _imageWriter.getNy(), j, i);
+            Ray thisPixelRay = getPrimaryRays().ray(j, i);
 
             Color thisPixelColor = _rayTracerBase.traceRay(thisPixelRay);
 
@@ -412,39 +634,63 @@ public class Camera {
             double colorY = 0;
             double colorZ = 0;
 
-            Point thisPixelPoint = createMiddlePixel(_imageWriter.getNx(), _imageWriter.getNy(), j, i);
+            Point thisPixelPoint = getPrimaryRays().pixelCenter(j, i);
             // out.print(thisPixelPoint);
-            double heightOfMiniPixel = (_heightVP / _imageWriter.getNy()) / NUMBER_OF_MINIPIXELS;
-            double widthOfMiniPixel = (_widthVP / _imageWriter.getNx()) / NUMBER_OF_MINIPIXELS;
-
-            //creating a point in the top left corner that is slightly outside the square so that our loop will bring it
-            Point outerTopLeftCorner = thisPixelPoint.add(_Vup.scale(heightOfMiniPixel * 0.5));
-            outerTopLeftCorner = outerTopLeftCorner.add(_Vright.scale(widthOfMiniPixel * 0.5));
-
-            LinkedList<Point> minipixelPoints = thisPixelPoint.createListOfMovedPoints(outerTopLeftCorner, _Vup, _Vright, _heightVP / _imageWriter.getNy()
-                    , _widthVP / _imageWriter.getNx(), NUMBER_OF_MINIPIXELS);
+            double heightOfMiniPixel = (_heightVP / _imageWriter.getNy()) / _numberOfMiniPixels;
+            double widthOfMiniPixel = (_widthVP / _imageWriter.getNx()) / _numberOfMiniPixels;
+
+            //creating a point in the top left corner of the pixel, the sampler spreads the points from it
+            Point topLeftCorner = thisPixelPoint.add(_Vup.scale(heightOfMiniPixel * _numberOfMiniPixels * 0.5));
+            topLeftCorner = topLeftCorner.add(_Vright.scale(widthOfMiniPixel * _numberOfMiniPixels * -0.5));
+
+            LinkedList<Point> minipixelPoints = thisPixelPoint.createListOfMovedPoints(topLeftCorner, _Vup, _Vright, _heightVP / _imageWriter.getNy()
+                    , _widthVP / _imageWriter.getNx(), _numberOfMiniPixels, _sampler.get());
+            //with depth of field the points of the aperture are a set of their own, given to the points of the pixel
+            //in a random order - so the k-th point of the pixel and the k-th point of the aperture are not in the same
+            //part of their squares
+            int count = minipixelPoints.size();
+            double[] lensU = new double[count];
+            double[] lensV = new double[count];
+            if (_depthButton) {
+                Sampler sampler = _sampler.get();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                double[] uv = new double[2];
+                sampler.startSet(count);
+                for (int k = 0; k < count; k++) {
+                    sampler.next2D(uv);
+                    //shuffling while filling - the new point goes to a random place and the point there moves to k
+                    int place = random.nextInt(k + 1);
+                    lensU[k] = lensU[place];
+                    lensV[k] = lensV[place];
+                    lensU[place] = uv[0];
+                    lensV[place] = uv[1];
+                }
+            }
             //for each mini pixel
+            int k = 0;
             for (Point movedPoint : minipixelPoints) {
 
-                Vector rayDirectionFromMiniPixel = _centerCam.subtract(movedPoint).normalize();
-                Ray jaggedEdgesRay = new Ray(_centerCam, rayDirectionFromMiniPixel.scale(-1));
+                Vector rayDirectionFromMiniPixel = movedPoint.subtract(_centerCam).normalize();
 
-                //tracing ray for color
-                Color thisPointColor = _rayTracerBase.traceRay(jaggedEdgesRay);
+                //tracing ray for color, through a point of the aperture when depth of field is on as well
+                Color thisPointColor = traceThroughLens(rayDirectionFromMiniPixel, lensU[k], lensV[k]);
+                k++;
                 //out.print(thisPointColor);
-                //adding the colors for average
-                colorX += thisPointColor.getColor().getRed();
-                colorY += thisPointColor.getColor().getGreen();
-                colorZ += thisPointColor.getColor().getBlue();
+                //adding the colors for average, in full precision - a bright sample is not cut to 255 before it
+                //is averaged with the others
+                Double3 rgb = thisPointColor.getRgb();
+                colorX += rgb.getD1();
+                colorY += rgb.getD2();
+                colorZ += rgb.getD3();
                 //out.print(_centerCam.subtract(movedPoint).normalize());
             }
 
 
             //calculating the average - dividing by the number of mini pixels squared because of the double loop
 
-            double averageX = colorX / (NUMBER_OF_MINIPIXELS * NUMBER_OF_MINIPIXELS);
-            double averageY = colorY / (NUMBER_OF_MINIPIXELS * NUMBER_OF_MINIPIXELS);
-            double averageZ = colorZ / (NUMBER_OF_MINIPIXELS * NUMBER_OF_MINIPIXELS);
+            double averageX = colorX / (_numberOfMiniPixels * _numberOfMiniPixels);
+            double averageY = colorY / (_numberOfMiniPixels * _numberOfMiniPixels);
+            double averageZ = colorZ / (_numberOfMiniPixels * _numberOfMiniPixels);
 
             Color thisPixelColor = new Color(averageX, averageY, averageZ);
             return thisPixelColor;
@@ -453,7 +699,7 @@ public class Camera {
 
         if (_depthButton) { //on/off button
             //one time calculate focal point
-            Ray thisPixelRay = constructRay(_imageWriter.getNx(), _imageWriter.getNy(), j, i);
+            Ray thisPixelRay = getPrimaryRays().ray(j, i);
             Point focalPoint = _centerCam.add(thisPixelRay.getDir().scale(_focalLength));
             //list of coordinates from each color for calculating the final color
             double colorX = 0;
@@ -465,21 +711,20 @@ public class Camera {
 
             //     construct depth ray from the aperture point to the focal point
             //     get the color using trace ray and add to list
-            double heightOfMiniPixel = _apertureSize / NUMBER_OF_APERTURE_POINTS;
-            double widthOfMiniPixel = _apertureSize / NUMBER_OF_APERTURE_POINTS;
-            Point outerTopLeftCorner = _centerCam.add(_Vup.scale(heightOfMiniPixel * 0.5));
-            outerTopLeftCorner = outerTopLeftCorner.add(_Vright.scale(widthOfMiniPixel * 0.5));
-            //helper function returns one random point around the center
-            LinkedList<Point> listPixelPoints = _centerCam.createListOfMovedPoints(outerTopLeftCorner, _Vup, _Vright, _apertureSize
-                    , _apertureSize, NUMBER_OF_APERTURE_POINTS);
+            Point topLeftCorner = _centerCam.add(_Vup.scale(_apertureSize * 0.5));
+            topLeftCorner = topLeftCorner.add(_Vright.scale(_apertureSize * -0.5));
+            //helper function returns the points on the aperture around the center, placed by the sampler
+            LinkedList<Point> listPixelPoints = _centerCam.createListOfMovedPoints(topLeftCorner, _Vup, _Vright, _apertureSize
+                    , _apertureSize, NUMBER_OF_APERTURE_POINTS, _sampler.get());
             for (Point movedPoint : listPixelPoints) {
 
                 Ray depthRay = constructDepthRay(movedPoint, focalPoint);
                 Color thisPointColor = _rayTracerBase.traceRay(depthRay);
 
-                colorX += thisPointColor.getColor().getRed();
-                colorY += thisPointColor.getColor().getGreen();
-                colorZ += thisPointColor.getColor().getBlue();
+                Double3 rgb = thisPointColor.getRgb();
+                colorX += rgb.getD1();
+                colorY += rgb.getD2();
+                colorZ += rgb.getD3();
 
             }
             // out of the for: calculate average of x,y,z for the colors (x,y,z)
@@ -497,8 +742,10 @@ public class Camera {
 
     /***
      * this function casts a ray from the camera through the current pixel and returns the color of that pixel
-     * this function is designed to save time when implementing the fix for jagged edges
-     * the time improvement here is from 38 seconds to 16 seconds on my computer
+     * this function is designed to save time when implementing the fix for jagged edges - the pixel is sampled
+     * adaptively, more samples are taken only where the colors in the pixel are different (see AdaptiveSampler).
+     * with depth of field the aperture is sampled adaptively too, together with the pixel when jagged edges is on -
+     * so a pixel in focus takes few samples and a blurred one takes more
      * @param j the column of the pixel
      * @param i the row of the pixel
      * @return color of the pixel
@@ -506,158 +753,82 @@ public class Camera {
     public Color castRay(int j, int i) {
 
         if ((!_depthButton) && (!_JaggedEdgesButton)) { //default code
-            Ray thisPixelRay = constructRay(_imageWriter.getNx(), _imageWriter.getNy(), j, i);
+            Ray thisPixelRay = getPrimaryRays().ray(j, i);
 
             Color thisPixelColor = _rayTracerBase.traceRay(thisPixelRay);
 
             return thisPixelColor;
         }
-        if (_JaggedEdgesButton) {
-            //initial color for average calculation
-            double colorX = 0;
-            double colorY = 0;
-            double colorZ = 0;
-
-            //creating the initial parameters for the recursive calculation
-
-            Point thisPixelPoint = createMiddlePixel(_imageWriter.getNx(), _imageWriter.getNy(), j, i);
-            // out.print(thisPixelPoint);
-
-            //creating a point in the top left corner
-            Point topLeftCorner = thisPixelPoint;
-            Color topLeftColor = _rayTracerBase.traceRay(new Ray(_centerCam, topLeftCorner.subtract(_centerCam).normalize()));
-
-
-            Point bottomRightCorner = thisPixelPoint.add(_Vup.scale((_heightVP / _imageWriter.getNy()) * -1));
-            bottomRightCorner = bottomRightCorner.add(_Vright.scale((_widthVP / _imageWriter.getNx())));
-            Color bottomRightColor = _rayTracerBase.traceRay(new Ray(_centerCam, bottomRightCorner.subtract(_centerCam).normalize()));
-
-            //calling recursive function to calculate the color for this pixel
-            Color fullPixelColor = recursivePixelColor(topLeftCorner, topLeftColor, bottomRightCorner, bottomRightColor,
-                    _Vup, _Vright, "left", 0, (_heightVP / _imageWriter.getNy()), (_widthVP / _imageWriter.getNx()));
-
-            return fullPixelColor;
-
-
-        }
-        return Color.BLACK;
+        //the sampler of the render, made again only if the camera is used without rendering
+        AdaptiveSampler adaptiveSampler = _adaptiveSampler;
+        if (adaptiveSampler == null)
+            _adaptiveSampler = adaptiveSampler = createAdaptiveSampler();
+        if (_JaggedEdgesButton)
+            return adaptiveSampler.pixelColor(j, i, this::traceImagePoint);
+        //depth of field only - the aperture is sampled for the middle of the pixel
+        return adaptiveSampler.apertureColor(j + 0.5, i + 0.5, this::traceImagePoint, _sampler.get());
     }
 
-
     /***
-     * This function is the recursive calculation of a color for a pixel or a section of a pixel.
-     * @param upperCorner upper left or right corner of pixel section
-     * @param upperColor color of upper corner
-     * @param bottomCorner bottom left or right corner of pixel section
-     * @param bottomColor color of bottom corner
-     * @param Vup vector going up (camera coordinates)
-     * @param Vright vector going right (camera coordinates)
-     * @param leftRight whether upper corner is to the left or the right of the bottom corner
-     * @param recursionNum number of the current recursion
-     * @param widthOfPixelSection the width of the current pixel section
-     * @param heightOfPixelSection the height of the current pixel section
-     * @return color of pixel segment( it's the recursive function)
-     */
-    public Color recursivePixelColor(Point upperCorner, Color upperColor, Point bottomCorner, Color bottomColor,
-                                     Vector Vup, Vector Vright, String leftRight, int recursionNum, double widthOfPixelSection,
-                                     double heightOfPixelSection) {
-
-        //stop condition
-        //MAX_RECURSION = 3 because we started from 0
-        //this means we've divided the pixel into 64 sections
-        if (recursionNum >= MAX_RECURSION)
-            return upperColor;
-
-        // out.print(recursionNum);
-
-        //initializing the points and colors so that they can be calculated separately for left and right calls
-        Point leftTopPoint;
-        Point rightTopPoint;
-        Point leftBottomPoint;
-        Point rightBottomPoint;
-        Point middlePoint;
-
-        Color leftTopColor;
-        Color rightTopColor;
-        Color leftBottomColor;
-        Color rightBottomColor;
-
-        //Calculations here depend on where upper corner is relative to bottom corner. If the upper corner is to the
-        //left of the bottom corner, then calculations are slightly different. Therefor we calculated all four corners
-        //as well as their colors and then calculated each of the four sub-pixels afterwards using these points
-        if (leftRight == "left") {
-            middlePoint = upperCorner.add(_Vup.scale(heightOfPixelSection * -0.5));
-            middlePoint = middlePoint.add(_Vright.scale(widthOfPixelSection * 0.5)).movePointRandom(_Vup, _Vright, widthOfPixelSection / 4);
-
-            rightBottomPoint = bottomCorner.movePointRandom(_Vup, _Vright, widthOfPixelSection / 4);
-            leftTopPoint = upperCorner.movePointRandom(_Vup, _Vright, widthOfPixelSection / 4);
-            rightTopPoint = upperCorner.add(_Vright.scale(widthOfPixelSection)).movePointRandom(_Vup, _Vright, widthOfPixelSection / 4);
-            leftBottomPoint = upperCorner.add(_Vup.scale(-1 * heightOfPixelSection)).movePointRandom(_Vup, _Vright, widthOfPixelSection / 4);
-
-            leftTopColor = upperColor;
-            rightBottomColor = bottomColor;
-            rightTopColor = _rayTracerBase.traceRay(new Ray(_centerCam, rightTopPoint.subtract(_centerCam).normalize()));
-            //if(!rightTopColor.equals(Color.MAGENTA)){
-            //  out.print(rightTopColor);
-            //}
-            leftBottomColor = _rayTracerBase.traceRay(new Ray(_centerCam, leftBottomPoint.subtract(_centerCam).normalize()));
-
-        } else {
-            middlePoint = upperCorner.add(_Vup.scale(heightOfPixelSection * -0.5));
-            middlePoint = middlePoint.add(_Vright.scale(widthOfPixelSection * -0.5)).movePointRandom(_Vup, _Vright, widthOfPixelSection / 4);
-
-            leftBottomPoint = bottomCorner.movePointRandom(_Vup, _Vright, widthOfPixelSection / 4);
-            rightTopPoint = upperCorner.movePointRandom(_Vup, _Vright, widthOfPixelSection / 4);
-            leftTopPoint = upperCorner.add(_Vright.scale(-1 * widthOfPixelSection)).movePointRandom(_Vup, _Vright, widthOfPixelSection / 4);
-            rightBottomPoint = upperCorner.add(_Vup.scale(-1 * heightOfPixelSection)).movePointRandom(_Vup, _Vright, widthOfPixelSection / 4);
-
-
-            rightTopColor = upperColor;
-            leftBottomColor = bottomColor;
-            leftTopColor = _rayTracerBase.traceRay(new Ray(_centerCam, leftTopPoint.subtract(_centerCam).normalize()));
-            rightBottomColor = _rayTracerBase.traceRay(new Ray(_centerCam, rightBottomPoint.subtract(_centerCam).normalize()));
-        }
-
-        //now that we have all five points we can find the middle color (this is done outside because it is the same for
-        //both types of calls
-
-
-        Color middleColor = _rayTracerBase.traceRay(new Ray(_centerCam, middlePoint.subtract(_centerCam).normalize()));
+     * @return the rays through the view plane, made again only if the camera is used without rendering
+     */
+    private PrimaryRays getPrimaryRays() {
+        PrimaryRays primaryRays = _primaryRays;
+        if (primaryRays == null)
+            _primaryRays = primaryRays = createPrimaryRays();
+        return primaryRays;
+    }
 
-        //Each sub-pixel's color is calculated. The color is initially the same as the middle and is only updated if
-        //there is a difference between it and the matching corner.
-        Color topRight = middleColor;
-        if (!middleColor.equals(rightTopColor)) {
+    /***
+     * @return the rays through the view plane of the camera
+     */
+    private PrimaryRays createPrimaryRays() {
+        return new PrimaryRays(_centerCam, _Vto, _Vup, _Vright, _distanceVPToCam, _widthVP, _heightVP,
+                _imageWriter.getNx(), _imageWriter.getNy(), _rayBatches);
+    }
 
-            topRight = recursivePixelColor(rightTopPoint, rightTopColor, middlePoint, middleColor, Vup, Vright, "right",
-                    recursionNum + 1, widthOfPixelSection / 2, heightOfPixelSection / 2);
-            // out.print(topRight);
-        }
+    /***
+     * @return a new adaptive sampler with the settings of the camera
+     */
+    private AdaptiveSampler createAdaptiveSampler() {
+        return new AdaptiveSampler(_maxRecursion, _adaptiveTolerance, _adaptiveMaxSamples, _tileSize,
+                _adaptiveLattices);
+    }
 
-        Color topLeft = middleColor;
-        if (!middleColor.equals(leftTopColor)) {
-            topLeft = recursivePixelColor(leftTopPoint, leftTopColor, middlePoint, middleColor, Vup, Vright, "left",
-                    recursionNum + 1, widthOfPixelSection / 2, heightOfPixelSection / 2);
-        }
-        //great
-        Color bottomRight = middleColor;
-        if (!middleColor.equals(rightBottomColor)) {
-            bottomRight = recursivePixelColor(middlePoint, middleColor, rightBottomPoint, rightBottomColor, Vup, Vright, "left",
-                    recursionNum + 1, widthOfPixelSection / 2, heightOfPixelSection / 2);
-        }
+    /***
+     * traces the ray from the camera through a point of the view plane
+     * @param x the column of the point in pixels, from the left side of the image
+     * @param y the row of the point in pixels, from the top of the image
+     * @param u the place on the width of the aperture in [0,1), used only when depth of field is on
+     * @param v the place on the height of the aperture in [0,1), used only when depth of field is on
+     * @return the color of the ray
+     */
+    private Color traceImagePoint(double x, double y, double u, double v) {
+        return traceThroughLens(getPrimaryRays().direction(x, y), u, v);
+    }
 
-        Color bottomLeft = middleColor;
-        if (!middleColor.equals(leftBottomColor)) {
-            bottomLeft = recursivePixelColor(middlePoint, middleColor, leftBottomPoint, leftBottomColor, Vup, Vright, "right",
-                    recursionNum + 1, widthOfPixelSection / 2, heightOfPixelSection / 2);
-        }
+    /***
+     * traces a ray in a direction from the camera. when depth of field is on, the ray starts at a point of the
+     * aperture and goes through the focal point of the direction
+     * @param direction the normalized direction from the center of the camera
+     * @param u the place on the width of the aperture in [0,1), used only when depth of field is on
+     * @param v the place on the height of the aperture in [0,1), used only when depth of field is on
+     * @return the color of the ray
+     */
+    private Color traceThroughLens(Vector direction, double u, double v) {
+        if (!_depthButton)
+            return _rayTracerBase.traceRay(new Ray(_centerCam, direction));
 
-        //once the color for all four sub-pixels has been calculated, they are all added up into one color and then
-        //divided by four in order to have an average.
-        //the average color is then returned
-        Color totalColor = topRight.add(topLeft, bottomRight, bottomLeft);
-        Color averageColor = totalColor.scale(0.25);
-        return averageColor;
+        //a point on the aperture, towards the focal point of the direction
+        Point focalPoint = _centerCam.add(direction.scale(_focalLength));
+        Point aperturePoint = _centerCam;
+        double up = (0.5 - v) * _apertureSize;
+        double right = (u - 0.5) * _apertureSize;
+        if (!isZero(up))
+            aperturePoint = aperturePoint.add(_Vup.scale(up));
+        if (!isZero(right))
+            aperturePoint = aperturePoint.add(_Vright.scale(right));
+        return _rayTracerBase.traceRay(constructDepthRay(aperturePoint, focalPoint));
     }
 
 
@@ -690,7 +861,7 @@ public class Camera {
      */
     public void setJaggedEdgesButton(boolean jaggedEdgesButton, int numberOfMiniPixels) {
         _JaggedEdgesButton = jaggedEdgesButton;
-        NUMBER_OF_MINIPIXELS = numberOfMiniPixels;
+        _numberOfMiniPixels = numberOfMiniPixels;
     }
 
     /***
@@ -709,8 +880,54 @@ public class Camera {
      */
     public Camera setMultithreading(int i) {
         if (i > 1)
-            _MultiThreadingButton = true;
-        NUM_OF_THREADS = i;
+            _multiThreadingButton = true;
+        _numOfThreads = i;
+        return this;
+    }
+
+    /***
+     * on/off button for multi-threading with a thread for every available core (part 9)
+     * @param multiThreadingButton on/off
+     * @return the camera
+     */
+    public Camera setMultithreading(boolean multiThreadingButton) {
+        _multiThreadingButton = multiThreadingButton;
+        _numOfThreads = Runtime.getRuntime().availableProcessors();
+        return this;
+    }
+
+    /***
+     * setter for a thread pool which is shared with other renders, instead of a new pool for every render.
+     * turns multi-threading on when the pool is not null
+     * @param threadPool the shared pool, null for a new pool in every render
+     * @return the camera
+     */
+    public Camera setThreadPool(ForkJoinPool threadPool) {
+        _threadPool = threadPool;
+        if (threadPool != null)
+            _multiThreadingButton = true;
+        return this;
+    }
+
+    /***
+     * setter for the kind of sampler which places the samples of supersampling and depth of field
+     * @param samplerFactory creates a sampler for every thread, e.g. HaltonSampler::new
+     * @return the camera
+     */
+    public Camera setSampler(Supplier<Sampler> samplerFactory) {
+        _sampler = ThreadLocal.withInitial(samplerFactory);
+        return this;
+    }
+
+    /***
+     * setter for the size of the tiles in multi-threading
+     * @param tileSize width and height of a tile in pixels
+     * @return the camera
+     */
+    public Camera setTileSize(int tileSize) {
+        if (tileSize < 1)
+            throw new IllegalArgumentException("Tile size must be positive");
+        _tileSize = tileSize;
         return this;
     }
 
@@ -724,6 +941,17 @@ public class Camera {
         return this;
     }
 
+    /***
+     * on/off button for the statistics of every render - rays by type, intersection tests by geometry class,
+     * depth of the recursion and adaptive super sampling subdivisions, see {@link #getRenderReport()}
+     * @param statisticsButton on/off
+     * @return the camera
+     */
+    public Camera setStatistics(boolean statisticsButton) {
+        _statisticsButton = statisticsButton;
+        return this;
+    }
+
     /***
      * on/off button for adaptive super sampling time improvement(part 9)
      * @param adaptiveSuperSampling on/off
@@ -742,7 +970,22 @@ public class Camera {
      */
     public Camera setAdaptiveSuperSampling(boolean adaptiveSuperSampling, int recursion) {
         _adaptiveSuperSampling = adaptiveSuperSampling;
-        MAX_RECURSION = recursion;
+        _maxRecursion = recursion;
+        return this;
+    }
+
+    /***
+     * setter for the accuracy of adaptive super sampling (part 9)
+     * @param tolerance a part of a pixel is divided only while the contrast of its corners is larger than this,
+     *                  in [0,1] in perceptual space - 0 divides it at any difference
+     * @param maxSamples the maximal amount of samples in a pixel
+     * @return the camera
+     */
+    public Camera setAdaptiveTolerance(double tolerance, int maxSamples) {
+        if (tolerance < 0 || maxSamples < 4)
+            throw new IllegalArgumentException("Tolerance must not be negative and a pixel has at least 4 samples");
+        _adaptiveTolerance = tolerance;
+        _adaptiveMaxSamples = maxSamples;
         return this;
     }
 
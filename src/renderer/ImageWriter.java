@@ -2,8 +2,13 @@ package renderer;
 
 import primitives.Color;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.awt.image.DirectColorModel;
+import java.awt.image.Raster;
+import java.awt.image.WritableRaster;
 import java.io.File;
 import java.io.IOException;
+import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -23,7 +28,13 @@ public class ImageWriter {
 
     private static final String FOLDER_PATH = System.getProperty("user.dir") + "/images";
 
-    private BufferedImage image;
+    private static final DirectColorModel RGB_MODEL = new DirectColorModel(24, 0xff0000, 0x00ff00, 0x0000ff);
+
+    /**
+     * The frame buffer - packed RGB of every pixel, row after row. The threads of the renderer write to it
+     * directly, and it is wrapped into an image only when the file is written
+     */
+    private final int[] pixels;
     private String imageName;
 
     private Logger logger = Logger.getLogger("ImageWriter");
@@ -40,7 +51,7 @@ public class ImageWriter {
         this.nX = nX;
         this.nY = nY;
 
-        image = new BufferedImage(nX, nY, BufferedImage.TYPE_INT_RGB);
+        pixels = new int[nX * nY];
     }
 
     // ***************** Getters/Setters ********************** //
@@ -69,6 +80,10 @@ public class ImageWriter {
      * pixel color matrix in the directory of the project
      */
     public void writeToImage() {
+        //the frame buffer becomes the data of the image without copying
+        WritableRaster raster = Raster.createPackedRaster(new DataBufferInt(pixels, pixels.length), nX, nY, nX,
+                RGB_MODEL.getMasks(), null);
+        BufferedImage image = new BufferedImage(RGB_MODEL, raster, false, null);
         try {
             File file = new File(FOLDER_PATH + '/' + imageName + ".png");
             ImageIO.write(image, "png", file);
@@ -85,9 +100,35 @@ public class ImageWriter {
      * @param xIndex X axis index of the pixel
      * @param yIndex Y axis index of the pixel
      * @param color  final color of the pixel
+     * @throws IndexOutOfBoundsException if the pixel is outside the image
      */
     public void writePixel(int xIndex, int yIndex, Color color) {
-        image.setRGB(xIndex, yIndex, color.getColor().getRGB());
+        pixels[index(xIndex, yIndex)] = color.getRGB();
+    }
+
+    /**
+     * The function getPixel reads the color of a specific pixel from the pixel color matrix
+     *
+     * @param xIndex X axis index of the pixel
+     * @param yIndex Y axis index of the pixel
+     * @return the packed RGB of the pixel (0xRRGGBB)
+     * @throws IndexOutOfBoundsException if the pixel is outside the image
+     */
+    public int getPixel(int xIndex, int yIndex) {
+        return pixels[index(xIndex, yIndex)];
+    }
+
+    /**
+     * The place of a pixel in the frame buffer - both coordinates are checked, since a column outside the row
+     * would be a pixel of another row
+     *
+     * @param xIndex X axis index of the pixel
+     * @param yIndex Y axis index of the pixel
+     * @return the place of the pixel
+     * @throws IndexOutOfBoundsException if the pixel is outside the image
+     */
+    private int index(int xIndex, int yIndex) {
+        return Objects.checkIndex(yIndex, nY) * nX + Objects.checkIndex(xIndex, nX);
     }
 
 }
@@ -0,0 +1,290 @@
+package renderer;
+
+import primitives.Color;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import static primitives.Util.isZero;
+
+/***
+ * the rays from the camera through the view plane of one render.
+ * the offsets of the middles of the columns (along vRight) and of the rows (along vUp) are calculated once, so the
+ * ray through the middle of a pixel costs a few additions - the rays give the same numbers as Camera.constructRay.
+ * the rays of a row of a tile are made together into the batch of the thread, which is used again for every row.
+ * the batches of the threads belong to the camera and are used again by its next renders (see {@link #newBatches()})
+ */
+final class PrimaryRays {
+
+    /***
+     * the directions of the rays of a row of pixels, normalized, and their colors once they are traced - kept in
+     * arrays which are used again for every row
+     */
+    static final class Batch {
+        /***
+         * the coordinates of the directions
+         */
+        double[] _dirX = new double[0];
+        double[] _dirY = new double[0];
+        double[] _dirZ = new double[0];
+        /***
+         * the colors of the rays
+         */
+        Color[] _colors = new Color[0];
+        /***
+         * the head of all the rays
+         */
+        private Point _origin;
+        /***
+         * the amount of rays in the batch
+         */
+        private int _size = 0;
+
+        /***
+         * makes the arrays larger if they cannot hold the rays of a row
+         * @param size the amount of rays of the row
+         */
+        private void ensureCapacity(int size) {
+            if (_dirX.length >= size)
+                return;
+            _dirX = new double[size];
+            _dirY = new double[size];
+            _dirZ = new double[size];
+            _colors = new Color[size];
+        }
+
+        /***
+         * getter
+         * @return the amount of rays in the batch
+         */
+        int size() {
+            return _size;
+        }
+
+        /***
+         * getter
+         * @return the head of all the rays
+         */
+        Point getOrigin() {
+            return _origin;
+        }
+    }
+
+    /***
+     * the center of the camera - the head of the rays
+     */
+    private final Point _origin;
+    private final double _originX;
+    private final double _originY;
+    private final double _originZ;
+    /***
+     * the middle of the view plane
+     */
+    private final double _centerX;
+    private final double _centerY;
+    private final double _centerZ;
+    /***
+     * the directions of the camera
+     */
+    private final Vector _vRight;
+    private final Vector _vUp;
+    /***
+     * vRight scaled to the middle of every column
+     */
+    private final double[] _columnX;
+    private final double[] _columnY;
+    private final double[] _columnZ;
+    /***
+     * vUp scaled to the middle of every row
+     */
+    private final double[] _rowX;
+    private final double[] _rowY;
+    private final double[] _rowZ;
+    /***
+     * the size of the image, of the view plane and of the pixels
+     */
+    private final int _nX;
+    private final int _nY;
+    private final double _width;
+    private final double _height;
+    private final double _pixelWidth;
+    private final double _pixelHeight;
+    /***
+     * the batch of every thread, shared with the other renders of the camera
+     */
+    private final ThreadLocal<Batch> _batch;
+
+    /***
+     * calculates the offsets of the rows and the columns, with batches of its own
+     * @param origin the center of the camera
+     * @param vTo the direction the camera is facing
+     * @param vUp the up direction of the camera
+     * @param vRight the right direction of the camera
+     * @param distance the distance of the view plane from the camera
+     * @param width the width of the view plane
+     * @param height the height of the view plane
+     * @param nX the amount of columns
+     * @param nY the amount of rows
+     */
+    PrimaryRays(Point origin, Vector vTo, Vector vUp, Vector vRight, double distance, double width, double height,
+                int nX, int nY) {
+        this(origin, vTo, vUp, vRight, distance, width, height, nX, nY, newBatches());
+    }
+
+    /***
+     * calculates the offsets of the rows and the columns
+     * @param origin the center of the camera
+     * @param vTo the direction the camera is facing
+     * @param vUp the up direction of the camera
+     * @param vRight the right direction of the camera
+     * @param distance the distance of the view plane from the camera
+     * @param width the width of the view plane
+     * @param height the height of the view plane
+     * @param nX the amount of columns
+     * @param nY the amount of rows
+     * @param batches the batches of the threads, which were used by the earlier renders of the camera
+     */
+    PrimaryRays(Point origin, Vector vTo, Vector vUp, Vector vRight, double distance, double width, double height,
+                int nX, int nY, ThreadLocal<Batch> batches) {
+        _origin = origin;
+        _originX = origin.getXyz().getD1();
+        _originY = origin.getXyz().getD2();
+        _originZ = origin.getXyz().getD3();
+        Point center = origin.add(vTo.scale(distance));
+        _centerX = center.getXyz().getD1();
+        _centerY = center.getXyz().getD2();
+        _centerZ = center.getXyz().getD3();
+        _vRight = vRight;
+        _vUp = vUp;
+        _nX = nX;
+        _nY = nY;
+        _width = width;
+        _height = height;
+        _pixelWidth = width / nX;
+        _pixelHeight = height / nY;
+
+        //the same numbers as in createMiddlePixel, so the rays are the same
+        _columnX = new double[nX];
+        _columnY = new double[nX];
+        _columnZ = new double[nX];
+        for (int j = 0; j < nX; ++j) {
+            double xj = (j - ((nX - 1) / 2.0)) * _pixelWidth;
+            _columnX[j] = vRight.getXyz().getD1() * xj;
+            _columnY[j] = vRight.getXyz().getD2() * xj;
+            _columnZ[j] = vRight.getXyz().getD3() * xj;
+        }
+        _rowX = new double[nY];
+        _rowY = new double[nY];
+        _rowZ = new double[nY];
+        for (int i = 0; i < nY; ++i) {
+            double yi = -(i - ((nY - 1) / 2.0)) * _pixelHeight;
+            _rowX[i] = vUp.getXyz().getD1() * yi;
+            _rowY[i] = vUp.getXyz().getD2() * yi;
+            _rowZ[i] = vUp.getXyz().getD3() * yi;
+        }
+        _batch = batches;
+    }
+
+    /***
+     * the batches of the threads of a camera. every thread keeps one batch for all the renders of the camera, so
+     * the batches of the renders which ended do not stay in the threads of a shared pool
+     * @return the batches, empty until a thread makes a row
+     */
+    static ThreadLocal<Batch> newBatches() {
+        return ThreadLocal.withInitial(Batch::new);
+    }
+
+    /***
+     * the middle of a pixel on the view plane
+     * @param col the column of the pixel
+     * @param row the row of the pixel
+     * @return the middle of the pixel
+     */
+    Point pixelCenter(int col, int row) {
+        return new Point(_centerX + _columnX[col] + _rowX[row],
+                _centerY + _columnY[col] + _rowY[row],
+                _centerZ + _columnZ[col] + _rowZ[row]);
+    }
+
+    /***
+     * the ray from the camera through the middle of a pixel
+     * @param col the column of the pixel
+     * @param row the row of the pixel
+     * @return the ray
+     */
+    Ray ray(int col, int row) {
+        return new Ray(_origin, new Vector(_centerX + _columnX[col] + _rowX[row] - _originX,
+                _centerY + _columnY[col] + _rowY[row] - _originY,
+                _centerZ + _columnZ[col] + _rowZ[row] - _originZ));
+    }
+
+    /***
+     * makes the rays through the middles of the pixels of a part of a row
+     * @param fromCol the first column
+     * @param toCol the column after the last one
+     * @param row the row
+     * @return the batch of the thread with the rays, valid until the next row of the thread
+     */
+    Batch row(int fromCol, int toCol, int row) {
+        Batch batch = _batch.get();
+        batch.ensureCapacity(toCol - fromCol);
+        batch._origin = _origin;
+        double rowX = _rowX[row];
+        double rowY = _rowY[row];
+        double rowZ = _rowZ[row];
+        //the middle of the view plane, then the column and then the row - the order of createMiddlePixel
+        for (int k = 0, col = fromCol; col < toCol; ++k, ++col)
+            store(batch, k, _centerX + _columnX[col] + rowX - _originX,
+                    _centerY + _columnY[col] + rowY - _originY,
+                    _centerZ + _columnZ[col] + rowZ - _originZ);
+        batch._size = toCol - fromCol;
+        return batch;
+    }
+
+    /***
+     * the normalized direction from the camera through a point of the view plane
+     * @param x the column of the point in pixels, from the left side of the image
+     * @param y the row of the point in pixels, from the top of the image
+     * @return the direction
+     */
+    Vector direction(double x, double y) {
+        double right = (x - _nX / 2.0) * _width / _nX;
+        double up = (_nY / 2.0 - y) * _height / _nY;
+        double px = _centerX;
+        double py = _centerY;
+        double pz = _centerZ;
+        //moving in parts, without moving by zero
+        if (!isZero(right)) {
+            px += _vRight.getXyz().getD1() * right;
+            py += _vRight.getXyz().getD2() * right;
+            pz += _vRight.getXyz().getD3() * right;
+        }
+        if (!isZero(up)) {
+            px += _vUp.getXyz().getD1() * up;
+            py += _vUp.getXyz().getD2() * up;
+            pz += _vUp.getXyz().getD3() * up;
+        }
+        return new Vector(px - _originX, py - _originY, pz - _originZ).normalize();
+    }
+
+    /***
+     * normalizes a direction into the batch, in the same way as a new ray does
+     * @param batch the batch
+     * @param k the index in the batch
+     * @param x the first coordinate of the direction
+     * @param y the second coordinate of the direction
+     * @param z the third coordinate of the direction
+     */
+    private static void store(Batch batch, int k, double x, double y, double z) {
+        double lengthSquared = x * x + y * y + z * z;
+        if (!isZero(lengthSquared - 1)) {
+            double length = Math.sqrt(lengthSquared);
+            x /= length;
+            y /= length;
+            z /= length;
+        }
+        batch._dirX[k] = x;
+        batch._dirY[k] = y;
+        batch._dirZ[k] = z;
+    }
+}
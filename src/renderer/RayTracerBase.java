@@ -1,7 +1,10 @@
 package renderer;
 
 import primitives.Color;
+import primitives.Point;
 import primitives.Ray;
+import primitives.Vector;
+import scene.CompiledScene;
 import scene.Scene;
 
 /***
@@ -12,6 +15,10 @@ public abstract class RayTracerBase {
      * scene after building
      */
     protected Scene _scene;
+    /***
+     * the scene compiled for the rays, null until it is needed
+     */
+    private volatile CompiledScene _compiledScene;
 
     /***
      * Constructor
@@ -28,5 +35,43 @@ public abstract class RayTracerBase {
      */
     public abstract Color traceRay(Ray ray);
 
+    /***
+     * traces a packet of rays which start at the same point, e.g. the rays of a row of pixels.
+     * by default the rays are traced one after the other
+     * @param origin the head of all the rays
+     * @param dirX x of the (normalized) direction of every ray
+     * @param dirY y of the (normalized) direction of every ray
+     * @param dirZ z of the (normalized) direction of every ray
+     * @param count the amount of rays
+     * @param colors receives the color of every ray
+     */
+    public void traceRays(Point origin, double[] dirX, double[] dirY, double[] dirZ, int count, Color[] colors) {
+        for (int k = 0; k < count; ++k)
+            colors[k] = traceRay(new Ray(origin, new Vector(dirX[k], dirY[k], dirZ[k])));
+    }
+
+    /***
+     * compiles the scene again, so that the rays see the changes made in it since it was compiled.
+     * the camera calls it every time it starts to render
+     */
+    public void compileScene() {
+        _compiledScene = new CompiledScene(_scene);
+    }
+
+    /***
+     * getter - compiles the scene the first time it is needed
+     * @return the compiled scene
+     */
+    protected CompiledScene getCompiledScene() {
+        CompiledScene compiledScene = _compiledScene;
+        if (compiledScene == null) {
+            synchronized (this) {
+                compiledScene = _compiledScene;
+                if (compiledScene == null)
+                    _compiledScene = compiledScene = new CompiledScene(_scene);
+            }
+        }
+        return compiledScene;
+    }
 
 }
@@ -1,17 +1,22 @@
 package renderer;
 
 import geometries.Intersectable.GeoPoint;
+import geometries.PacketShapes;
 import lighting.LightSource;
 import primitives.*;
+import scene.CompiledScene;
+import scene.CompiledScene.MaterialData;
 import scene.Scene;
 
 import java.util.LinkedList;
-import java.util.List;
+import java.util.function.Supplier;
 
 import static primitives.Util.alignZero;
 
 /***
  * class RayTracerBasic used for finding the color for pixels
+ * the rays are traced only in the compiled scene - the shapes, materials and lights as they were when the render
+ * started
  */
 public class RayTracerBasic extends RayTracerBase {
 
@@ -33,7 +38,34 @@ public class RayTracerBasic extends RayTracerBase {
     //ON/OFF button default is off
     private boolean _softShadowsButton =true;
     //root of number of points around the lightsource
-    private static int ROOT_OF_MOVED_LIGHT_POINTS = 1;
+    private int _rootOfMovedLightPoints = 1;
+    //creates the sampler of every thread, which places the points around the light source
+    private ThreadLocal<Sampler> _sampler = ThreadLocal.withInitial(StratifiedSampler::new);
+    //ON/OFF button default is off - the closest intersections of the rows of pixels are found as packets of rays
+    private boolean _packetTracingButton = false;
+    //the rays and the closest intersections of the packets of every thread, used again for all its packets
+    private final ThreadLocal<PacketBuffers> _packetBuffers = ThreadLocal.withInitial(PacketBuffers::new);
+
+    /***
+     * the arrays of the packets of a thread, grown when a longer packet needs it
+     */
+    private static final class PacketBuffers {
+        private Ray[] _rays = new Ray[0];
+        private GeoPoint[] _closest = new GeoPoint[0];
+
+        /***
+         * makes the arrays large enough
+         * @param count the amount of rays
+         * @return the object itself
+         */
+        private PacketBuffers ensureCapacity(int count) {
+            if (_rays.length < count) {
+                _rays = new Ray[count];
+                _closest = new GeoPoint[count];
+            }
+            return this;
+        }
+    }
 
     /***
      * creates a scene using the parent class
@@ -49,14 +81,49 @@ public class RayTracerBasic extends RayTracerBase {
      */
     @Override
     public Color traceRay(Ray ray) {
+        RenderCounters counters = RenderCounters.current();
+        if (counters != null)
+            counters.countPrimaryRay();
         //GeoPoint closestPoint = ray.findClosestGeoPoint(listPointsIntersections);
         GeoPoint closestPoint = findClosestGeoIntersection(ray);
         //out.print(closestPoint);
         if (closestPoint == null)
-            return _scene.getBackground();
+            return getCompiledScene().getBackground();
         return calcColor(closestPoint, ray);
     }
 
+    /***
+     * when the packet tracing button is on, the closest intersections of the rays are found together (see
+     * PacketShapes, which goes down the bounding volume hierarchy too) and then every ray gets its color as in
+     * traceRay - the colors are the same as without packets. the packets are not used while the statistics are
+     * collected (they count the tests of every shape)
+     * @param origin the head of all the rays
+     * @param dirX x of the (normalized) direction of every ray
+     * @param dirY y of the (normalized) direction of every ray
+     * @param dirZ z of the (normalized) direction of every ray
+     * @param count the amount of rays
+     * @param colors receives the color of every ray
+     */
+    @Override
+    public void traceRays(Point origin, double[] dirX, double[] dirY, double[] dirZ, int count, Color[] colors) {
+        CompiledScene scene = getCompiledScene();
+        PacketShapes shapes = scene.getPacketShapes();
+        if (!_packetTracingButton || RenderCounters.current() != null) {
+            super.traceRays(origin, dirX, dirY, dirZ, count, colors);
+            return;
+        }
+        PacketBuffers buffers = _packetBuffers.get().ensureCapacity(count);
+        Ray[] rays = buffers._rays;
+        GeoPoint[] closest = buffers._closest;
+        shapes.findClosest(origin, dirX, dirY, dirZ, count, rays, closest);
+        for (int k = 0; k < count; ++k) {
+            colors[k] = closest[k] == null ? scene.getBackground() : calcColor(closest[k], rays[k]);
+            //the points and the rays are not kept after the packet
+            closest[k] = null;
+            rays[k] = null;
+        }
+    }
+
     /***
      * Method which calculates the effects of deffusive light
      * @return color of the light
@@ -72,8 +139,16 @@ public class RayTracerBasic extends RayTracerBase {
      */
     private double calcSpecular(double kS, Vector n, Vector l, double nl, Vector v, double shininess) {
         //according to the phong model
-        Vector r = createR(l, n);
-        double max = Math.max(0, v.scale(-1).dotProduct(r));
+        //r = l - 2(l*n)n, calculated in plain numbers since only its dot product with -v is needed
+        Double3 lx = l.getXyz();
+        Double3 nx = n.getXyz();
+        Double3 vx = v.getXyz();
+        double ln2 = 2 * l.dotProduct(n);
+        double rx = lx.getD1() - nx.getD1() * ln2;
+        double ry = lx.getD2() - nx.getD2() * ln2;
+        double rz = lx.getD3() - nx.getD3() * ln2;
+        double minusVR = -(vx.getD1() * rx + vx.getD2() * ry + vx.getD3() * rz) / Math.sqrt(rx * rx + ry * ry + rz * rz);
+        double max = Math.max(0, minusVR);
         return kS * Math.pow(max, shininess);
     }
 
@@ -96,16 +171,17 @@ public class RayTracerBasic extends RayTracerBase {
         Vector n = intersection._geoPointGeometry.getNormal(intersection._geoPoint);
         double nv = alignZero(n.dotProduct(v));
         if (nv == 0) return color;
-        Material material = intersection._geoPointGeometry.getMaterial();
-        for (LightSource lightSource : _scene.getLights()) {
+        CompiledScene scene = getCompiledScene();
+        MaterialData material = scene.getMaterial(intersection);
+        for (LightSource lightSource : scene.getLights()) {
             Vector l = lightSource.getL(intersection._geoPoint);
             double nl = alignZero(n.dotProduct(l));
             if (nl * nv > 0) { // sign(nl) == sing(nv)
                 double ktr = transparency(intersection, l, n, lightSource);
                 if (ktr * k > MIN_CALC_COLOR_K) {
                     Color iL = lightSource.getIntensity(intersection._geoPoint).scale(ktr);
-                    color = color.add(iL.scale(calcDiffusive(material.getkD().getD1(), nl)),
-                            iL.scale(calcSpecular(material.getkS().getD1(), n, l, nl, v, material.nShininess)));
+                    color = color.add(iL.scale(calcDiffusive(material.kD(), nl)),
+                            iL.scale(calcSpecular(material.kS(), n, l, nl, v, material.shininess())));
                 }
             }
         }
@@ -126,7 +202,7 @@ public class RayTracerBasic extends RayTracerBase {
     public Color calcGlobalEffects(Ray ray, int level, Double3 kx, double kkx) {
         GeoPoint gp = findClosestGeoIntersection(ray);
         if (gp == null) {
-            return _scene.getBackground();
+            return getCompiledScene().getBackground();
         }
 
         //level-1 to ensure that the recursion stops
@@ -149,23 +225,28 @@ public class RayTracerBasic extends RayTracerBase {
         Color color = Color.BLACK;
         //normal
         Vector n = geoPoint._geoPointGeometry.getNormal(geoPoint._geoPoint);
-        Material material = geoPoint._geoPointGeometry.getMaterial();
+        MaterialData material = getCompiledScene().getMaterial(geoPoint);
 
         //checking that we haven't had too many refractions
         //adding refracted color
-        double kkt = k * material.kT.getD1();
+        double kkt = k * material.kT().getD1();
 
+        RenderCounters counters = RenderCounters.current();
         if (kkt > MIN_CALC_COLOR_K) {
             //kkt changes every iteration, kt stays the same
+            if (counters != null)
+                counters.countRefractionRay();
 
-            color = color.add(calcGlobalEffects(constructRefractedRay(geoPoint._geoPoint, v, n), level, material.kT, kkt));
+            color = color.add(calcGlobalEffects(constructRefractedRay(geoPoint._geoPoint, v, n), level, material.kT(), kkt));
         }
 
         //checking that we haven't had too many reflections
         //adding reflected color
-        double kkr = k * material.kR.getD1();
+        double kkr = k * material.kR().getD1();
         if (kkr > MIN_CALC_COLOR_K) {
-            color = color.add(calcGlobalEffects(constructReflectedRay(geoPoint._geoPoint, v, n), level, material.kR, kkr));
+            if (counters != null)
+                counters.countReflectionRay();
+            color = color.add(calcGlobalEffects(constructReflectedRay(geoPoint._geoPoint, v, n), level, material.kR(), kkr));
         }
         return color;
     }
@@ -180,6 +261,9 @@ public class RayTracerBasic extends RayTracerBase {
      * recursive function
      */
     public Color calcColor(GeoPoint closestPoint, Ray ray, int level, double k) {
+        RenderCounters counters = RenderCounters.current();
+        if (counters != null)
+            counters.countDepth(MAX_CALC_COLOR_LEVEL - level);
         // calcLocalEffects includes the color of the object
         Color color = calcLocalEffects(closestPoint, ray, k);
         //adding the local effects according to the phong model, including emissions
@@ -198,7 +282,7 @@ public class RayTracerBasic extends RayTracerBase {
      */
     private Color calcColor(GeoPoint gp, Ray ray) {
         Color x = calcColor(gp, ray, MAX_CALC_COLOR_LEVEL, INITIAL_K);
-        return x.add(_scene.getAmbientLight().getIntensity());
+        return x.add(getCompiledScene().getAmbientIntensity());
     }
 
     /***
@@ -212,22 +296,10 @@ public class RayTracerBasic extends RayTracerBase {
         Vector lightDirection = l.scale(-1); //from point to light source
         //took a point adding epsilon in the direction of the normal
         Ray lightRay = new Ray(gp._geoPoint, n, lightDirection);
-        //checks for intersections between the point and the light
-        List<GeoPoint> intersections = _scene.getGeometries().findGeoIntersections(lightRay);
-        //if there is nothing between the point and the light then the point is unshaded
-        if (intersections == null)
-            return true;
-        if (intersections.isEmpty())
-            return true;
-
+        //the occlusion query returns 0 only if an opaque object is between the point and the light
         //using distance to ensure that we don't put a shadow based on objects behind the light
-        double distance = lightSource.getDistance(gp._geoPoint);
-        for (GeoPoint intersection : intersections) {
-            if (alignZero(intersection._geoPoint.distance(gp._geoPoint) - distance) <= 0 &&
-                    intersection._geoPointGeometry.getMaterial().kT.getD1() == 0)
-                return false;
-        }
-        return true;
+        double distance = lightSource.getDistance(lightRay.getP0());
+        return getCompiledScene().findTransparency(lightRay, distance) != 0;
     }
 
 
@@ -261,12 +333,7 @@ public class RayTracerBasic extends RayTracerBase {
      * @return GeoPoint
      */
     private GeoPoint findClosestGeoIntersection(Ray ray) {
-        LinkedList<GeoPoint> l = (LinkedList<GeoPoint>) _scene.getGeometries().findGeoIntersections(ray);
-        if (l == null)
-            return null;
-        if (l.isEmpty())
-            return null;
-        return ray.findClosestGeoPoint(l);
+        return getCompiledScene().findClosestIntersection(ray);
     }
 
     /***
@@ -277,97 +344,47 @@ public class RayTracerBasic extends RayTracerBase {
      * @return double percentage of how shaded the point is
      */
     private double transparency(GeoPoint geoPoint, Vector l, Vector n, LightSource lightSource) {
-        //This while is so that we can break out of the soft shadows clause if our light source is directional light
-        //which returns null
-        boolean x = true;
-        while (x) {
-            x = false;
-            if (_softShadowsButton) {
-                //in light: field:  size of plane to move in
-                //function is called on the light source
-                //implement soft shadows:
-
-                Vector lightDirection = l.scale(-1); //from point to light source
-                //getting a list of points around the light source from function defined in each light source
-                //the size of the field of movement around the light source is defined per light source
-
-                LinkedList<Point> pointsAroundLight = lightSource.findPointsAroundLight(lightDirection, ROOT_OF_MOVED_LIGHT_POINTS);
-
-
+        Vector lightDirection = l.scale(-1); //from point to light source
+        RenderCounters counters = RenderCounters.current();
+        if (_softShadowsButton) {
+            //in light: field:  size of plane to move in
+            //function is called on the light source
+            //implement soft shadows:
+
+            //getting a list of points around the light source from function defined in each light source
+            //the size of the field of movement around the light source is defined per light source
+            //directional light returns null, and then the default code is used
+            LinkedList<Point> pointsAroundLight = lightSource.findPointsAroundLight(lightDirection, _rootOfMovedLightPoints,
+                    _sampler.get());
+
+            if ((pointsAroundLight != null) && (!pointsAroundLight.isEmpty())) {
+                if (counters != null)
+                    counters.countShadowRays(pointsAroundLight.size());
                 double sumTransparency = 0;
-                if ((pointsAroundLight == null) || (pointsAroundLight.isEmpty()))
-                    break;
-
-                else {
-                    //for each point of the list find the percentage of shading and add to the total sum
-                    //this is done by creating a ray for each point and finding how shaded it is
-                    for (Point lightPointMoved : pointsAroundLight) {
-                        //took a lightPointMoved adding epsilon in the direction of the normal
-                        //dot product check is done inside the constructor
-                        Ray lightRay = new Ray(geoPoint._geoPoint, n, lightPointMoved.subtract(geoPoint._geoPoint));
-
-                        //checks for intersections between the lightPointMoved and the light
-                        List<GeoPoint> intersections = _scene.getGeometries().findGeoIntersections(lightRay);
-
-                        double currentTransparency = 1.0;
-                        //if there is nothing between the lightPointMoved and the light then the lightPointMoved is unshaded
-                        if ((intersections != null) && (!intersections.isEmpty())) {
-                            //using distance to ensure that we don't put a shadow based on objects behind the light
-                            //distance from geopoint to the light
-                            double distanceLightToGeoPoint = lightPointMoved.distance(geoPoint._geoPoint);
-                            //out.print(distanceLightToGeoPoint+"\n");
-                            for (GeoPoint intersection : intersections) {
-                                //out.print(currentTransparency+"\n");
-
-                                //if the distance between the geoPoint and the movedLight is greater than the distance between
-                                // the geoPoint and the intersection then the intersected point is in the way
-                                double distanceIntersectionToGeoPoint = intersection._geoPoint.distance(geoPoint._geoPoint);
-                                //out.print(distanceIntersectionToGeoPoint+"\n");
-                                if (alignZero(distanceIntersectionToGeoPoint - distanceLightToGeoPoint) <= 0) {
-
-                                    currentTransparency = alignZero(currentTransparency *(1-intersection._geoPointGeometry.getMaterial().kT.getD1()));
-                                   // out.print(intersection._geoPointGeometry.getMaterial().kT.getD1());
-
-                                }
-
-                            }
-                            sumTransparency += currentTransparency;
-                        }
-
-                    }
-                    //return the transparency averaged from all the points
-
-                    return 1-sumTransparency / pointsAroundLight.size();
-
+                //for each point of the list find how much light passes from it and add to the total sum
+                //this is done by creating a ray for each point and asking for the transparency until that point
+                for (Point lightPointMoved : pointsAroundLight) {
+                    //took a lightPointMoved adding epsilon in the direction of the normal
+                    //dot product check is done inside the constructor
+                    Ray lightRay = new Ray(geoPoint._geoPoint, n, lightPointMoved.subtract(geoPoint._geoPoint));
+                    //using distance to ensure that we don't put a shadow based on objects behind the light
+                    sumTransparency += getCompiledScene().findTransparency(lightRay,
+                            lightPointMoved.distance(lightRay.getP0()));
                 }
+                //return the transparency averaged from all the points
+                return sumTransparency / pointsAroundLight.size();
             }
         }
         //default code
-        Vector lightDirection = l.scale(-1); //from point to light source
         //took a point adding epsilon in the direction of the normal
         //dot product check is done inside the constructor
         Ray lightRay = new Ray(geoPoint._geoPoint, n, lightDirection);
+        if (counters != null)
+            counters.countShadowRay();
 
-        //checks for intersections between the point and the light
-        List<GeoPoint> intersections = _scene.getGeometries().findGeoIntersections(lightRay);
-        //if there is nothing between the point and the light then the point is unshaded
-        if (intersections == null)
-            return 1.0;
-        if (intersections.isEmpty())
-            return 1.0;
-
-        double ktr = 1.0;
-
+        //the occlusion query multiplies kT of the objects between the point and the light and stops at an opaque one
         //using distance to ensure that we don't put a shadow based on objects behind the light
-        double distance = lightSource.getDistance(geoPoint._geoPoint);
-        for (GeoPoint intersection : intersections) {
-            if (alignZero(intersection._geoPoint.distance(geoPoint._geoPoint) - distance) <= 0) {
-                ktr = alignZero(ktr * intersection._geoPointGeometry.getMaterial().kT.getD1());
-                if (ktr == 0)
-                    return ktr;
-            }
-        }
-        return ktr;
+        return getCompiledScene().findTransparency(lightRay, lightSource.getDistance(lightRay.getP0()));
     }
 
     /***
@@ -388,7 +405,28 @@ public class RayTracerBasic extends RayTracerBase {
      */
     public RayTracerBasic setSoftShadowsButton(boolean softShadowsButton, int number_of_points) {
         _softShadowsButton = softShadowsButton;
-        ROOT_OF_MOVED_LIGHT_POINTS = number_of_points;
+        _rootOfMovedLightPoints = number_of_points;
+        return this;
+    }
+
+    /***
+     * ON/OFF button for packet tracing - the rays of a row of pixels are intersected with the shapes together,
+     * with the SIMD instructions of the processor when the vector kernel is available (see PacketShapes)
+     * @param packetTracingButton boolean enable packet tracing
+     * @return RayTracerBasic for builder-like use
+     */
+    public RayTracerBasic setPacketTracingButton(boolean packetTracingButton) {
+        _packetTracingButton = packetTracingButton;
+        return this;
+    }
+
+    /***
+     * setter for the kind of sampler which places the points around the light source for soft shadows
+     * @param samplerFactory creates a sampler for every thread, e.g. HaltonSampler::new
+     * @return the ray tracer
+     */
+    public RayTracerBasic setSampler(Supplier<Sampler> samplerFactory) {
+        _sampler = ThreadLocal.withInitial(samplerFactory);
         return this;
     }
 }
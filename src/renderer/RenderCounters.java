@@ -0,0 +1,175 @@
+package renderer;
+
+import geometries.Intersectable;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Instrumentation counters of one thread during one render: rays by type, intersection tests and hits by
+ * geometry class, the depth of the reflection/refraction recursion and the subdivisions of adaptive
+ * super-sampling.<br/>
+ * Every render thread has its own counters, so counting is a plain increment without any lock. The counters are
+ * bound to the thread only while it renders a pixel of a render which collects statistics - the code of the
+ * ray tracer asks for the counters of the current thread, and gets null otherwise. When no render collects
+ * statistics the only cost is one read of a static field.<br/>
+ * The shapes do not know the counters - while a render collects statistics their intersection tests are sent to
+ * the counters of the current thread through {@link Intersectable#setIntersectionCounter}.<br/>
+ * At the end of the render the counters of all the threads are added into a {@link RenderReport}.
+ */
+public final class RenderCounters {
+
+    /**
+     * The counters of the pixel which the current thread renders
+     */
+    private static final ThreadLocal<RenderCounters> BOUND = new ThreadLocal<>();
+    /**
+     * Amount of renders which collect statistics right now, the thread local is not read when it is 0
+     */
+    private static volatile int active = 0;
+
+    long primaryRays;
+    long shadowRays;
+    long reflectionRays;
+    long refractionRays;
+    long subdivisions;
+    /**
+     * Amount of color calculations at every depth of the recursion, 0 is the point seen by a primary ray
+     */
+    long[] depths = new long[4];
+    /**
+     * Intersection tests and hits of every geometry class - {tests, hits}
+     */
+    final Map<Class<?>, long[]> tests = new IdentityHashMap<>();
+
+    //the class of the last test and its entry, most of the tests in a row are of the same class
+    private Class<?> lastClass;
+    private long[] lastEntry;
+
+    /**
+     * The counters of the current thread
+     *
+     * @return the counters, null if the current thread does not render a pixel of a render which collects
+     * statistics
+     */
+    public static RenderCounters current() {
+        return active == 0 ? null : BOUND.get();
+    }
+
+    /**
+     * A render which collects statistics starts
+     */
+    static synchronized void start() {
+        if (active++ == 0)
+            Intersectable.setIntersectionCounter(RenderCounters::countTestOfThread);
+    }
+
+    /**
+     * A render which collects statistics is done
+     */
+    static synchronized void stop() {
+        if (--active == 0)
+            Intersectable.setIntersectionCounter(null);
+    }
+
+    /**
+     * Count an intersection test of a shape in the counters of the current thread, if it has counters
+     *
+     * @param geometryClass the class of the shape
+     * @param hit           whether the ray hits the shape
+     */
+    private static void countTestOfThread(Class<?> geometryClass, boolean hit) {
+        RenderCounters counters = BOUND.get();
+        if (counters != null)
+            counters.countTest(geometryClass, hit);
+    }
+
+    /**
+     * Bind counters to the current thread until {@link #unbind()}
+     *
+     * @param counters the counters of the thread in the current render
+     */
+    static void bind(RenderCounters counters) {
+        BOUND.set(counters);
+    }
+
+    /**
+     * Remove the counters of the current thread, so a thread of a shared pool does not count the work of another
+     * render
+     */
+    static void unbind() {
+        BOUND.remove();
+    }
+
+    /**
+     * Count a ray from the camera
+     */
+    public void countPrimaryRay() {
+        ++primaryRays;
+    }
+
+    /**
+     * Count a ray from a point towards a light source
+     */
+    public void countShadowRay() {
+        ++shadowRays;
+    }
+
+    /**
+     * Count several rays towards the points around a light source (soft shadows)
+     *
+     * @param count amount of rays
+     */
+    public void countShadowRays(int count) {
+        shadowRays += count;
+    }
+
+    /**
+     * Count a reflected ray
+     */
+    public void countReflectionRay() {
+        ++reflectionRays;
+    }
+
+    /**
+     * Count a refracted ray
+     */
+    public void countRefractionRay() {
+        ++refractionRays;
+    }
+
+    /**
+     * Count a division of a pixel section in adaptive super-sampling
+     */
+    public void countSubdivision() {
+        ++subdivisions;
+    }
+
+    /**
+     * Count a color calculation at some depth of the reflection/refraction recursion
+     *
+     * @param depth the depth, 0 for the point seen by a primary ray
+     */
+    public void countDepth(int depth) {
+        if (depth >= depths.length)
+            depths = Arrays.copyOf(depths, depth + 1);
+        ++depths[depth];
+    }
+
+    /**
+     * Count an exact intersection test of a shape (which was not rejected by its bounding box)
+     *
+     * @param geometryClass the class of the shape
+     * @param hit           whether the ray hits the shape
+     */
+    public void countTest(Class<?> geometryClass, boolean hit) {
+        if (geometryClass != lastClass) {
+            lastEntry = tests.computeIfAbsent(geometryClass, c -> new long[2]);
+            lastClass = geometryClass;
+        }
+        ++lastEntry[0];
+        if (hit)
+            ++lastEntry[1];
+    }
+}
@@ -0,0 +1,42 @@
+package renderer;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event of a render which collects statistics, so the counters of the {@link RenderReport} can be seen in a
+ * flight recording next to the CPU and allocation profile of the same time. The event is recorded only while a
+ * recording is running (e.g. {@code -XX:StartFlightRecording}).
+ */
+@Name("renderer.Render")
+@Label("Render")
+@Category("Renderer")
+@Description("Rays and intersection tests of one render")
+class RenderEvent extends Event {
+    @Label("Primary Rays")
+    long primaryRays;
+
+    @Label("Shadow Rays")
+    long shadowRays;
+
+    @Label("Reflection Rays")
+    long reflectionRays;
+
+    @Label("Refraction Rays")
+    long refractionRays;
+
+    @Label("Intersection Tests")
+    long intersectionTests;
+
+    @Label("Adaptive Subdivisions")
+    long subdivisions;
+
+    @Label("Max Recursion Depth")
+    int maxDepth;
+
+    @Label("Threads")
+    int threads;
+}
@@ -0,0 +1,179 @@
+package renderer;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Report of one render - the sum of the {@link RenderCounters} of all the threads which took part in it.<br/>
+ * It shows where the time of a slow render goes: primary rays, shadow rays (soft shadows send many of them) or
+ * the reflection/refraction recursion, and which geometry classes are tested most.
+ */
+public class RenderReport {
+    private final long primaryRays;
+    private final long shadowRays;
+    private final long reflectionRays;
+    private final long refractionRays;
+    private final long subdivisions;
+    private final long[] depths;
+    private final Map<String, Long> intersectionTests;
+    private final Map<String, Long> hits;
+    private final int threads;
+    private final long renderNanos;
+
+    /**
+     * Constructor - adds the counters of all the threads
+     *
+     * @param counters    the counters of every thread of the render
+     * @param renderNanos the duration of the render in nanoseconds
+     */
+    RenderReport(Collection<RenderCounters> counters, long renderNanos) {
+        long primary = 0, shadow = 0, reflection = 0, refraction = 0, subdivided = 0;
+        long[] depthSums = new long[0];
+        Map<String, Long> testSums = new TreeMap<>();
+        Map<String, Long> hitSums = new TreeMap<>();
+        for (RenderCounters c : counters) {
+            primary += c.primaryRays;
+            shadow += c.shadowRays;
+            reflection += c.reflectionRays;
+            refraction += c.refractionRays;
+            subdivided += c.subdivisions;
+            if (c.depths.length > depthSums.length)
+                depthSums = Arrays.copyOf(depthSums, c.depths.length);
+            for (int depth = 0; depth < c.depths.length; depth++)
+                depthSums[depth] += c.depths[depth];
+            for (var entry : c.tests.entrySet()) {
+                String name = entry.getKey().getSimpleName();
+                testSums.merge(name, entry.getValue()[0], Long::sum);
+                hitSums.merge(name, entry.getValue()[1], Long::sum);
+            }
+        }
+        //the histogram ends at the deepest level which was reached
+        int used = depthSums.length;
+        while (used > 0 && depthSums[used - 1] == 0)
+            --used;
+
+        primaryRays = primary;
+        shadowRays = shadow;
+        reflectionRays = reflection;
+        refractionRays = refraction;
+        subdivisions = subdivided;
+        depths = Arrays.copyOf(depthSums, used);
+        intersectionTests = Collections.unmodifiableMap(testSums);
+        hits = Collections.unmodifiableMap(hitSums);
+        threads = counters.size();
+        this.renderNanos = renderNanos;
+    }
+
+    /**
+     * @return amount of rays from the camera
+     */
+    public long getPrimaryRays() {
+        return primaryRays;
+    }
+
+    /**
+     * @return amount of rays towards the light sources
+     */
+    public long getShadowRays() {
+        return shadowRays;
+    }
+
+    /**
+     * @return amount of reflected rays
+     */
+    public long getReflectionRays() {
+        return reflectionRays;
+    }
+
+    /**
+     * @return amount of refracted rays
+     */
+    public long getRefractionRays() {
+        return refractionRays;
+    }
+
+    /**
+     * @return amount of rays of all the types
+     */
+    public long getTotalRays() {
+        return primaryRays + shadowRays + reflectionRays + refractionRays;
+    }
+
+    /**
+     * @return amount of divisions of pixel sections in adaptive super-sampling
+     */
+    public long getSubdivisions() {
+        return subdivisions;
+    }
+
+    /**
+     * Histogram of the reflection/refraction recursion
+     *
+     * @param depth the depth, 0 for the points seen by primary rays
+     * @return amount of color calculations at that depth
+     */
+    public long getColorCalculations(int depth) {
+        return depth < depths.length ? depths[depth] : 0;
+    }
+
+    /**
+     * @return the deepest level of the recursion which was reached plus 1, 0 if nothing was hit
+     */
+    public int getMaxDepth() {
+        return depths.length;
+    }
+
+    /**
+     * @return amount of exact intersection tests by the simple name of the geometry class
+     */
+    public Map<String, Long> getIntersectionTests() {
+        return intersectionTests;
+    }
+
+    /**
+     * @return amount of intersection tests which hit the shape by the simple name of the geometry class
+     */
+    public Map<String, Long> getHits() {
+        return hits;
+    }
+
+    /**
+     * @return amount of exact intersection tests of all the classes
+     */
+    public long getTotalIntersectionTests() {
+        return intersectionTests.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * @return amount of threads which rendered pixels
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return the duration of the render in nanoseconds
+     */
+    public long getRenderNanos() {
+        return renderNanos;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("render: %.1f ms, %d threads%n", renderNanos / 1e6, threads));
+        sb.append(String.format("rays: %d primary, %d shadow, %d reflection, %d refraction%n",
+                primaryRays, shadowRays, reflectionRays, refractionRays));
+        sb.append("recursion depth:");
+        for (int depth = 0; depth < depths.length; depth++)
+            sb.append(String.format(" %d=%d", depth, depths[depth]));
+        sb.append(String.format("%nadaptive subdivisions: %d%n", subdivisions));
+        for (var entry : intersectionTests.entrySet())
+            sb.append(String.format("%-12s %12d tests %12d hits%n",
+                    entry.getKey(), entry.getValue(), hits.get(entry.getKey())));
+        return sb.toString();
+    }
+}
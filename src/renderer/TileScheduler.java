@@ -0,0 +1,205 @@
+package renderer;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.System.out;
+
+/**
+ * TileScheduler is a helper class for multi-threading in the renderer.<br/>
+ * The image is divided into square tiles which are rendered by a work-stealing thread pool: the range of tiles
+ * is split in half again and again, and an idle thread steals half of the range of a busy one, so slow tiles
+ * (reflections, soft shadows) do not leave threads without work. The threads do not share any lock - the
+ * progress is counted with an atomic counter once per tile.<br/>
+ * All the state of a render is held by its own scheduler, so several renders can share one pool.
+ */
+class TileScheduler {
+
+    /**
+     * The work which is done for the pixels of one row of a tile
+     */
+    @FunctionalInterface
+    interface RowRenderer {
+        /**
+         * render a part of a row of pixels
+         *
+         * @param fromCol the first column
+         * @param toCol   the column after the last one
+         * @param row     the row of the pixels
+         */
+        void renderRow(int fromCol, int toCol, int row);
+    }
+
+    /**
+     * The work which is done for every pixel
+     */
+    @FunctionalInterface
+    interface PixelRenderer extends RowRenderer {
+        /**
+         * render one pixel
+         *
+         * @param col column of the pixel
+         * @param row row of the pixel
+         */
+        void renderPixel(int col, int row);
+
+        @Override
+        default void renderRow(int fromCol, int toCol, int row) {
+            for (int col = fromCol; col < toCol; ++col)
+                renderPixel(col, row);
+        }
+    }
+
+    private static final String PRINT_FORMAT = "%5.1f%%\r";
+
+    private final int nX;
+    private final int nY;
+    private final int tileSize;
+    private final int tilesInRow;
+    private final int tilesCount;
+
+    private final AtomicLong pixelsDone = new AtomicLong(0);
+
+    /**
+     * Constructor
+     *
+     * @param nX       the amount of pixel columns
+     * @param nY       the amount of pixel rows
+     * @param tileSize the width and height of a tile in pixels
+     */
+    TileScheduler(int nX, int nY, int tileSize) {
+        if (tileSize < 1)
+            throw new IllegalArgumentException("Tile size must be positive");
+        this.nX = nX;
+        this.nY = nY;
+        this.tileSize = tileSize;
+        tilesInRow = (nX + tileSize - 1) / tileSize;
+        tilesCount = tilesInRow * ((nY + tileSize - 1) / tileSize);
+    }
+
+    /**
+     * Render all the tiles one after the other in the calling thread - without multi-threading the pixels are
+     * still rendered tile by tile, so the work of a pixel may use what was found for its neighbours in the tile
+     *
+     * @param renderer the work for every row of a tile
+     */
+    void render(RowRenderer renderer) {
+        for (int tile = 0; tile < tilesCount; ++tile)
+            renderTile(tile, renderer);
+    }
+
+    /**
+     * Render all the tiles and wait for them to finish
+     *
+     * @param threads  the amount of worker threads
+     * @param interval print time interval in seconds, 0 if printing is not required
+     * @param renderer the work for every row of a tile
+     */
+    void render(int threads, double interval, RowRenderer renderer) {
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            render(pool, interval, renderer);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Render all the tiles in a pool which may be shared with other renders, and wait for them to finish
+     *
+     * @param pool     the thread pool, it is not shut down
+     * @param interval print time interval in seconds, 0 if printing is not required
+     * @param renderer the work for every row of a tile
+     */
+    void render(ForkJoinPool pool, double interval, RowRenderer renderer) {
+        TileRange all = new TileRange(0, tilesCount, renderer);
+        //called from a worker of the same pool (e.g. a batch of renders) - the worker takes part in the work
+        //instead of blocking while it waits
+        if (ForkJoinTask.getPool() == pool) {
+            all.invoke();
+            return;
+        }
+        waitToFinish(pool.submit(all), (long) (interval * 1000));
+    }
+
+    /**
+     * Wait for all the tiles to be done and print the progress percentage - run from the calling thread
+     *
+     * @param task       the task of all the tiles
+     * @param intervalMs print time interval in milliseconds, 0 if printing is not required
+     * @throws IllegalStateException if the calling thread is interrupted before the tiles are done
+     */
+    private void waitToFinish(ForkJoinTask<Void> task, long intervalMs) {
+        try {
+            if (intervalMs <= 0) {
+                task.get();
+                return;
+            }
+            while (true) {
+                try {
+                    task.get(intervalMs, TimeUnit.MILLISECONDS);
+                    out.println("100.0%");
+                    return;
+                } catch (TimeoutException e) {
+                    out.printf(PRINT_FORMAT, 100d * pixelsDone.get() / ((long) nX * nY));
+                }
+            }
+        } catch (InterruptedException e) {
+            task.cancel(true);
+            Thread.currentThread().interrupt();
+            //the image is not complete - it must not be written as if it was
+            throw new IllegalStateException("Rendering was interrupted", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException)
+                throw runtimeException;
+            throw new IllegalStateException("Rendering failed", e.getCause());
+        }
+    }
+
+    /**
+     * Render all the pixels of one tile
+     *
+     * @param tile     the index of the tile
+     * @param renderer the work for every row of a tile
+     */
+    private void renderTile(int tile, RowRenderer renderer) {
+        int fromCol = (tile % tilesInRow) * tileSize;
+        int fromRow = (tile / tilesInRow) * tileSize;
+        int toCol = Math.min(fromCol + tileSize, nX);
+        int toRow = Math.min(fromRow + tileSize, nY);
+        for (int row = fromRow; row < toRow; ++row)
+            renderer.renderRow(fromCol, toCol, row);
+        pixelsDone.addAndGet((long) (toCol - fromCol) * (toRow - fromRow));
+    }
+
+    /**
+     * A range of tiles - split in half until one tile is left, so idle threads can steal the halves
+     */
+    private class TileRange extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final RowRenderer renderer;
+
+        TileRange(int from, int to, RowRenderer renderer) {
+            this.from = from;
+            this.to = to;
+            this.renderer = renderer;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1) {
+                if (to > from)
+                    renderTile(from, renderer);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new TileRange(from, middle, renderer), new TileRange(middle, to, renderer));
+        }
+    }
+}
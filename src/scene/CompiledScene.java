@@ -0,0 +1,205 @@
+package scene;
+
+import geometries.CompiledShape;
+import geometries.Geometries;
+import geometries.Geometry;
+import geometries.Intersectable;
+import geometries.Intersectable.GeoPoint;
+import geometries.PacketShapes;
+import lighting.LightSource;
+import primitives.Color;
+import primitives.Double3;
+import primitives.Material;
+import primitives.Ray;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/***
+ * the scene as the ray tracer sees it - an immutable copy of a scene which is made when the render starts.
+ * the groups of shapes are flattened into one list of shapes, which is arranged once in a bounding volume hierarchy
+ * (when the button of the hierarchy is on in the scene), the materials are kept once in plain numbers and every
+ * shape keeps the place of its material and its transparency (see CompiledShape), and the lights and the ambient
+ * light are kept in their final form.
+ * changes to the scene after the compilation - new shapes, other materials, other lights - are not seen by it, the
+ * scene should be compiled again. the shapes themselves are not copied, so a shape should not be moved after the
+ * compilation
+ */
+public final class CompiledScene {
+
+    /***
+     * the numbers of a material which are used to calculate the color, taken from it once
+     * @param kD the diffusive factor
+     * @param kS the specular factor
+     * @param shininess the shininess
+     * @param kT the transparency
+     * @param kR the reflection
+     */
+    public record MaterialData(double kD, double kS, int shininess, Double3 kT, Double3 kR) {
+        /***
+         * takes the numbers of a material
+         * @param material the material
+         * @return the numbers of the material
+         */
+        static MaterialData of(Material material) {
+            return new MaterialData(material.getkD().getD1(), material.getkS().getD1(), material.nShininess,
+                    material.kT, material.kR);
+        }
+    }
+
+    /***
+     * the background color
+     */
+    private final Color _background;
+    /***
+     * the intensity of the ambient light
+     */
+    private final Color _ambientIntensity;
+    /***
+     * the light sources
+     */
+    private final List<LightSource> _lights;
+    /***
+     * all the shapes of the scene in one group, with its hierarchy built
+     */
+    private final Geometries _geometries;
+    /***
+     * the number of shapes after the groups are flattened
+     */
+    private final int _shapeCount;
+    /***
+     * the different materials of the scene, equal materials are kept once. a shape keeps the place of its material
+     */
+    private final MaterialData[] _materials;
+    /***
+     * the shapes and the hierarchy of the scene in plain numbers for packets of rays
+     */
+    private final PacketShapes _packetShapes;
+
+    /***
+     * compiles the scene
+     * @param scene the scene
+     */
+    public CompiledScene(Scene scene) {
+        _background = scene.getBackground();
+        _ambientIntensity = scene.getAmbientLight().getIntensity();
+        _lights = List.of(scene.getLights().toArray(new LightSource[0]));
+
+        List<Intersectable> shapes = new ArrayList<>();
+        List<MaterialData> materials = new ArrayList<>();
+        boolean bvh = flatten(scene.getGeometries(), shapes, materials, new IdentityHashMap<>(), new HashMap<>());
+        _shapeCount = shapes.size();
+        _materials = materials.toArray(new MaterialData[0]);
+        _geometries = new Geometries(shapes.toArray(new Intersectable[0])).setBVH(bvh).buildBVH();
+        _packetShapes = PacketShapes.of(_geometries);
+    }
+
+    /***
+     * adds the shapes of a group, and of the groups inside it, to the list together with their materials
+     * @param geometries the group
+     * @param shapes the list of shapes
+     * @param materials the list of the different materials
+     * @param placeOf the place of every material which was seen in the list of the materials
+     * @param placeOfData the place of the numbers of every material in the list of the materials, so every material
+     *                    is kept once even if it is in several equal objects
+     * @return true if the button of the hierarchy is on in the group or in one of the groups inside it
+     */
+    private static boolean flatten(Geometries geometries, List<Intersectable> shapes, List<MaterialData> materials,
+                                   Map<Material, Integer> placeOf, Map<MaterialData, Integer> placeOfData) {
+        boolean bvh = geometries.isBVH();
+        for (Intersectable item : geometries.getGeometries()) {
+            if (item instanceof Geometries group) {
+                bvh |= flatten(group, shapes, materials, placeOf, placeOfData);
+            } else if (item instanceof Geometry geometry) {
+                int place = placeOf.computeIfAbsent(geometry.getMaterial(), material ->
+                        placeOfData.computeIfAbsent(MaterialData.of(material), data -> {
+                            materials.add(data);
+                            return materials.size() - 1;
+                        }));
+                shapes.add(new CompiledShape(geometry, place, materials.get(place).kT().getD1()));
+            } else {
+                throw new IllegalArgumentException("Unknown kind of shape: " + item.getClass().getName());
+            }
+        }
+        return bvh;
+    }
+
+    /***
+     * getter
+     * @return the background color
+     */
+    public Color getBackground() {
+        return _background;
+    }
+
+    /***
+     * getter
+     * @return the intensity of the ambient light
+     */
+    public Color getAmbientIntensity() {
+        return _ambientIntensity;
+    }
+
+    /***
+     * getter
+     * @return the light sources, the list cannot be changed
+     */
+    public List<LightSource> getLights() {
+        return _lights;
+    }
+
+    /***
+     * getter
+     * @return the number of shapes after the groups are flattened
+     */
+    public int getShapeCount() {
+        return _shapeCount;
+    }
+
+    /***
+     * getter
+     * @return the number of different materials
+     */
+    public int getMaterialCount() {
+        return _materials.length;
+    }
+
+    /***
+     * the numbers of the material of the shape of a point
+     * @param gp a point which was found in this scene
+     * @return the numbers of the material of its shape, as it was when the scene was compiled
+     */
+    public MaterialData getMaterial(GeoPoint gp) {
+        return _materials[gp._material];
+    }
+
+    /***
+     * getter
+     * @return the shapes for packets of rays
+     */
+    public PacketShapes getPacketShapes() {
+        return _packetShapes;
+    }
+
+    /***
+     * finds the closest intersection of the ray with the shapes of the scene
+     * @param ray the ray
+     * @return the closest intersection, null if there is none
+     */
+    public GeoPoint findClosestIntersection(Ray ray) {
+        return _geometries.findClosestGeoIntersection(ray);
+    }
+
+    /***
+     * occlusion query - the transparency of the shapes of the scene along the ray
+     * @param ray the ray from the point towards the light
+     * @param maxDistance intersections at this distance from the head of the ray or farther are ignored
+     * @return the transparency along the ray
+     */
+    public double findTransparency(Ray ray, double maxDistance) {
+        return _geometries.findTransparency(ray, maxDistance);
+    }
+}
@@ -0,0 +1,75 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import primitives.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for geometries.BoundingBox class
+ * @author Nechama Eri-Barron and Chaya Yazersky
+ */
+class BoundingBoxTest {
+
+    /**
+     * Test method for {@link geometries.BoundingBox#intersects(Ray)}.
+     * This method checks the slab test of a ray against a box
+     */
+    @Test
+    void testIntersects() {
+        BoundingBox box = new BoundingBox(0, 0, 0, 1, 1, 1);
+
+        // ====== Equivalence Partition Tests ======
+        // TC01: ray passes through the box
+        assertTrue(box.intersects(new Ray(new Point(0.5, 0.5, -1), new Vector(0, 0, 1))), "Ray through the box");
+
+        // TC02: ray passes next to the box
+        assertFalse(box.intersects(new Ray(new Point(2, 0.5, -1), new Vector(0, 0, 1))), "Ray next to the box");
+
+        // TC03: box is behind the ray
+        assertFalse(box.intersects(new Ray(new Point(0.5, 0.5, 2), new Vector(0, 0, 1))), "Box behind the ray");
+
+        // TC04: ray starts inside the box
+        assertTrue(box.intersects(new Ray(new Point(0.5, 0.5, 0.5), new Vector(1, 1, 1))), "Ray from inside the box");
+
+        // =============== Boundary Values Tests ==================
+        // TC10: ray parallel to a side of the box and on it
+        assertTrue(box.intersects(new Ray(new Point(-1, 0.5, 1), new Vector(1, 0, 0))), "Ray on a side of the box");
+
+        // TC11: flat box of a flat shape
+        BoundingBox flat = new BoundingBox(0, 0, 0, 1, 1, 0);
+        assertTrue(flat.intersects(new Ray(new Point(0.5, 0.5, -1), new Vector(0, 0, 1))), "Ray through a flat box");
+    }
+
+    /**
+     * Test method for {@link geometries.Intersectable#getBoundingBox()}.
+     * This method checks the boxes of the different shapes
+     */
+    @Test
+    void testGetBoundingBox() {
+        // TC01: sphere
+        BoundingBox sphere = new Sphere(new Point(1, 2, 3), 2).getBoundingBox();
+        assertEquals(new Point(-1, 0, 1), sphere.getMin(), "Bad box of a sphere");
+        assertEquals(new Point(3, 4, 5), sphere.getMax(), "Bad box of a sphere");
+
+        // TC02: triangle
+        BoundingBox triangle = new Triangle(new Point(0, 0, 0), new Point(2, 0, 0), new Point(0, 3, 1)).getBoundingBox();
+        assertEquals(new Point(0, 0, 0), triangle.getMin(), "Bad box of a triangle");
+        assertEquals(new Point(2, 3, 1), triangle.getMax(), "Bad box of a triangle");
+
+        // TC03: cylinder standing on the z axis
+        BoundingBox cylinder = new Cylinder(new Ray(new Point(0, 0, 0), new Vector(0, 0, 1)), 1, 5).getBoundingBox();
+        assertEquals(new Point(-1, -1, 0), cylinder.getMin(), "Bad box of a cylinder");
+        assertEquals(new Point(1, 1, 5), cylinder.getMax(), "Bad box of a cylinder");
+
+        // TC04: plane and tube are infinite
+        assertNull(new Plane(new Point(0, 0, 0), new Vector(0, 0, 1)).getBoundingBox(), "Plane has a box");
+        assertNull(new Tube(new Ray(new Point(0, 0, 0), new Vector(0, 0, 1)), 1).getBoundingBox(), "Tube has a box");
+
+        // TC05: group of shapes
+        Geometries geometries = new Geometries(new Sphere(new Point(0, 0, 0), 1), new Sphere(new Point(5, 0, 0), 1));
+        assertEquals(new Point(6, 1, 1), geometries.getBoundingBox().getMax(), "Bad box of a group");
+        geometries.add(new Plane(new Point(0, 0, 0), new Vector(0, 0, 1)));
+        assertNull(geometries.getBoundingBox(), "Group with a plane has a box");
+    }
+}
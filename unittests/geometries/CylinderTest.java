@@ -3,7 +3,10 @@ package geometries;
 import org.junit.jupiter.api.Test;
 import primitives.*;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 /**
  * Unit tests for geometries.Cylinder class
  * @author Nechama Eri-Barron and Chaya Yazersky
@@ -43,4 +46,39 @@ class CylinderTest {
                 new Vector(0,0,1),
                 "Incorrect vector from center of top base");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link geometries.Cylinder#findIntersections(Ray)}.
+     */
+    @Test
+    void testFindIntersections() {
+        Cylinder cylinder = new Cylinder(new Ray(new Point(0, 0, 0), new Vector(0, 0, 1)), 1, 2);
+
+        // ====== Equivalence Partition Tests ======
+        //TC01: the ray crosses the side twice
+        assertEquals(List.of(new Point(1, 0, 0.5), new Point(-1, 0, 0.5)),
+                cylinder.findIntersections(new Ray(new Point(2, 0, 0.5), new Vector(-1, 0, 0))), "Ray crosses the side");
+        //TC02: the ray crosses both of the bases
+        assertEquals(List.of(new Point(0.5, 0, 0), new Point(0.5, 0, 2)),
+                cylinder.findIntersections(new Ray(new Point(0.5, 0, -1), new Vector(0, 0, 1))), "Ray through the bases");
+        //TC03: the ray crosses the side and then the top base
+        assertEquals(List.of(new Point(1, 0, 1), new Point(0, 0, 2)),
+                cylinder.findIntersections(new Ray(new Point(2, 0, 0), new Vector(-1, 0, 1))), "Ray through side and base");
+        //TC04: the ray passes the tube of the cylinder above the top base
+        assertNull(cylinder.findIntersections(new Ray(new Point(2, 0, 3), new Vector(-1, 0, 0))), "Ray above");
+        //TC05: the ray starts inside the cylinder
+        assertEquals(List.of(new Point(0, 0, 2)),
+                cylinder.findIntersections(new Ray(new Point(0, 0, 1), new Vector(0, 0, 1))), "Ray from inside");
+
+        // ====== Boundary Value Tests ======
+        //TC10: the ray is on the plane of the bottom base
+        assertNull(cylinder.findIntersections(new Ray(new Point(2, 0, 0), new Vector(-1, 0, 0))),
+                "Ray on the plane of a base");
+        //TC11: the ray is on the side, parallel to the axis
+        assertNull(cylinder.findIntersections(new Ray(new Point(1, 0, -1), new Vector(0, 0, 1))),
+                "Ray on the side");
+        //TC12: the ray goes along the axis
+        assertEquals(List.of(new Point(0, 0, 0), new Point(0, 0, 2)),
+                cylinder.findIntersections(new Ray(new Point(0, 0, -1), new Vector(0, 0, 1))), "Ray along the axis");
+    }
+}
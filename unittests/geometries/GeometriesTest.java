@@ -7,6 +7,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Unit tests for geometries.Geometries class
@@ -68,4 +69,136 @@ public class GeometriesTest {
         Geometries g4 = new Geometries(planeInter, sphereInter, triangleInter);
         assertEquals(4,g4.findIntersections(ray).size(), "All geometries intersect failure");
     }
+
+    /**
+     * Test method for {@link geometries.Geometries#buildBVH()}.
+     * This method checks that the bounding volume hierarchy finds the same intersections as the list
+     */
+    @Test
+    void testBuildBVH() {
+        Geometries list = new Geometries();
+        Geometries bvh = new Geometries().setBVH(true);
+        //a grid of small spheres and triangles and one infinite plane
+        for (int i = 0; i < 10; i++) {
+            for (int j = 0; j < 10; j++) {
+                Sphere sphere = new Sphere(new Point(i * 3, j * 3, 5), 1);
+                Triangle triangle = new Triangle(new Point(i * 3, j * 3, 10), new Point(i * 3 + 2, j * 3, 10),
+                        new Point(i * 3, j * 3 + 2, 10));
+                list.add(sphere, triangle);
+                bvh.add(sphere, triangle);
+            }
+        }
+        Plane plane = new Plane(new Point(0, 0, 20), new Vector(0, 0, 1));
+        list.add(plane);
+        bvh.add(plane);
+        bvh.buildBVH();
+
+        // TC01: Ray through a sphere and a triangle
+        Ray r1 = new Ray(new Point(9.5, 6.5, -10), new Vector(0, 0, 1));
+        assertEquals(4, bvh.findGeoIntersections(r1).size(), "Wrong number of intersections through the hierarchy");
+        assertTrue(list.findGeoIntersections(r1).containsAll(bvh.findGeoIntersections(r1)),
+                "Hierarchy intersections differ from the list");
+
+        // TC02: Ray between the shapes hits only the plane
+        Ray r2 = new Ray(new Point(1.5, -1.5, -10), new Vector(0, 0, 1));
+        assertEquals(1, bvh.findGeoIntersections(r2).size(), "Wrong number of intersections through the hierarchy");
+
+        // TC03: Ray away from all the shapes
+        Ray r3 = new Ray(new Point(0, 0, -10), new Vector(0, 0, -1));
+        assertNull(bvh.findGeoIntersections(r3), "Ray away from the shapes has intersections");
+
+        // TC04: Diagonal ray through many boxes
+        Ray r4 = new Ray(new Point(-5, -5, -5), new Vector(1, 1, 0.6));
+        assertEquals(list.findGeoIntersections(r4).size(), bvh.findGeoIntersections(r4).size(),
+                "Hierarchy intersections differ from the list");
+        assertTrue(list.findGeoIntersections(r4).containsAll(bvh.findGeoIntersections(r4)),
+                "Hierarchy intersections differ from the list");
+    }
+
+    /**
+     * Test method for {@link geometries.Geometries#findClosestGeoIntersection(Ray, double)}.
+     * This method checks the closest intersection with and without a maximum distance
+     */
+    @Test
+    void testFindClosestGeoIntersection() {
+        Sphere sphere = new Sphere(new Point(0, 0, 5), 1);
+        Triangle triangle = new Triangle(new Point(-1, -1, 10), new Point(3, -1, 10), new Point(-1, 3, 10));
+        Plane plane = new Plane(new Point(0, 0, 20), new Vector(0, 0, 1));
+        Geometries geometries = new Geometries(plane, triangle, sphere);
+        Ray ray = new Ray(new Point(0, 0, 0), new Vector(0, 0, 1));
+
+        // ====== Equivalence Partition Tests ======
+        // TC01: the closest intersection is the front of the sphere
+        assertEquals(new Point(0, 0, 4), geometries.findClosestGeoIntersection(ray)._geoPoint,
+                "Wrong closest intersection");
+
+        // TC02: the maximum distance is between the sphere and the triangle
+        assertNull(geometries.findClosestGeoIntersection(ray, 3), "Intersection farther than the maximum distance");
+
+        // TC03: the ray starts inside the sphere
+        Ray inside = new Ray(new Point(0, 0, 5), new Vector(0, 0, 1));
+        assertEquals(sphere, geometries.findClosestGeoIntersection(inside)._geoPointGeometry,
+                "Wrong closest geometry");
+        assertEquals(new Point(0, 0, 6), geometries.findClosestGeoIntersection(inside)._geoPoint,
+                "Wrong closest intersection");
+
+        // TC04: no intersections
+        assertNull(geometries.findClosestGeoIntersection(new Ray(new Point(0, 0, 0), new Vector(0, 0, -1))),
+                "Ray away from the shapes has intersections");
+
+        // =============== Boundary Values Tests ==================
+        // TC10: the maximum distance is exactly the distance to the triangle
+        Ray aside = new Ray(new Point(0.5, 0.5, 0), new Vector(0, 0, 1));
+        assertEquals(new Point(0.5, 0.5, 4.292893218813452), geometries.findClosestGeoIntersection(aside, 10)._geoPoint,
+                "Wrong closest intersection");
+        Ray missSphere = new Ray(new Point(1.5, 0, 0), new Vector(0, 0, 1));
+        assertNull(geometries.findClosestGeoIntersection(missSphere, 10), "Intersection at the maximum distance");
+        assertEquals(triangle, geometries.findClosestGeoIntersection(missSphere, 10.5)._geoPointGeometry,
+                "Wrong closest geometry");
+    }
+
+    /**
+     * Test method for {@link geometries.Geometries#getBoundingBox()}.
+     * This method checks that the box of a group follows the shapes added to the groups inside it
+     */
+    @Test
+    void testBoundingBox() {
+        Geometries inner = new Geometries(new Sphere(new Point(0, 0, -10), 1));
+        Geometries outer = new Geometries(inner);
+        Ray ray = new Ray(new Point(5, 0, 0), new Vector(0, 0, -1));
+
+        // ====== Equivalence Partition Tests ======
+        // TC01: shape added to an inner group after the outer box was calculated
+        assertNull(outer.findClosestGeoIntersection(ray), "Ray hits before the shape was added");
+        inner.add(new Sphere(new Point(5, 0, -10), 1));
+        assertEquals(new Point(5, 0, -9), outer.findClosestGeoIntersection(ray)._geoPoint,
+                "Box of the outer group is not updated");
+    }
+
+    /**
+     * Test method for {@link geometries.Geometries#findTransparency(Ray, double)}.
+     * This method checks the occlusion query used for shadows
+     */
+    @Test
+    void testFindTransparency() {
+        Sphere glass = new Sphere(new Point(0, 0, 5), 1);
+        glass.setMaterial(new Material().setkT(0.5));
+        Triangle wall = new Triangle(new Point(-1, -1, 10), new Point(3, -1, 10), new Point(-1, 3, 10));
+        Geometries geometries = new Geometries(glass, wall);
+        Ray ray = new Ray(new Point(0, 0, 0), new Vector(0, 0, 1));
+
+        // ====== Equivalence Partition Tests ======
+        // TC01: the light is before all the objects
+        assertEquals(1, geometries.findTransparency(ray, 2), 0.00001, "Objects behind the light block it");
+
+        // TC02: the light is behind the transparent sphere - both of its sides are passed
+        assertEquals(0.25, geometries.findTransparency(ray, 8), 0.00001, "Wrong transparency through the sphere");
+
+        // TC03: the light is behind the opaque triangle
+        assertEquals(0, geometries.findTransparency(ray, 20), 0.00001, "Opaque object does not block the light");
+
+        // TC04: the ray misses all the objects
+        Ray away = new Ray(new Point(0, 0, 0), new Vector(0, 0, -1));
+        assertEquals(1, geometries.findTransparency(away, 20), 0.00001, "Ray away from the objects is blocked");
+    }
 }
@@ -0,0 +1,147 @@
+package geometries;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import primitives.Point;
+import primitives.Ray;
+import primitives.Vector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for geometries.MeshLoader class
+ */
+class MeshLoaderTest {
+
+    /**
+     * a folder for the files of the tests
+     */
+    @TempDir
+    Path folder;
+
+    /**
+     * checks that the mesh is the square of size 2 at z = 0
+     *
+     * @param mesh the loaded mesh
+     */
+    private static void assertSquare(TriangleMesh mesh) {
+        assertEquals(4, mesh.getVertexCount(), "Wrong number of vertices");
+        assertEquals(2, mesh.getFaceCount(), "Wrong number of faces");
+        var intersections = mesh.findGeoIntersections(new Ray(new Point(0.5, -0.2, 1), new Vector(0, 0, -1)));
+        assertEquals(1, intersections.size(), "Wrong number of points");
+        assertEquals(new Point(0.5, -0.2, 0), intersections.get(0)._geoPoint, "Wrong point");
+    }
+
+    /**
+     * Test method for {@link geometries.MeshLoader#loadObj(Path)}.
+     */
+    @Test
+    void testLoadObj() throws IOException {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a quad with texture and normal indices, comments and other commands
+        Path file = folder.resolve("square.obj");
+        Files.writeString(file, """
+                # a square
+                mtllib square.mtl
+                o square
+                v -1 -1 0
+                v 1.0 -1.0 0.0
+                v\t1e0 +1 0
+                v -10E-1 1 -0.0
+                vt 0 0
+                vn 0 0 1
+                usemtl red
+                f 1/1/1 2/1/1 3//1 4
+                """);
+        assertSquare(MeshLoader.load(file));
+
+        // TC02: negative indices count from the last vertex, lines end with \\r\\n
+        assertSquare(MeshLoader.loadObj(ByteBuffer.wrap(("v -1 -1 0\r\nv 1 -1 0\r\nv 1 1 0\r\nf -3 -2 -1\r\n"
+                + "v -1 1 0\r\nf -2 -1 -4\r\n").getBytes(StandardCharsets.US_ASCII))));
+
+        // =============== Boundary Values Tests ==================
+        // TC10: a face refers to a vertex which does not exist
+        assertThrows(IOException.class, () -> MeshLoader.loadObj(ByteBuffer.wrap(
+                "v 0 0 0\nv 1 0 0\nv 0 1 0\nf 1 2 4\n".getBytes(StandardCharsets.US_ASCII))), "Vertex out of range");
+
+        // TC11: a coordinate which is not a number
+        assertThrows(IOException.class, () -> MeshLoader.loadObj(ByteBuffer.wrap(
+                "v 0 0 x\n".getBytes(StandardCharsets.US_ASCII))), "Invalid number");
+    }
+
+    /**
+     * Test method for {@link geometries.MeshLoader#loadPly(Path)}.
+     */
+    @Test
+    void testLoadPly() throws IOException {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: ascii with a quad and more properties
+        Path file = folder.resolve("square.ply");
+        Files.writeString(file, """
+                ply
+                format ascii 1.0
+                comment a square
+                element vertex 4
+                property float x
+                property float y
+                property float z
+                property uchar red
+                element face 1
+                property list uchar int vertex_indices
+                end_header
+                -1 -1 0 255
+                1 -1 0 255
+                1 1 0 255
+                -1 1 0 255
+                4 0 1 2 3
+                """);
+        assertSquare(MeshLoader.load(file));
+
+        // TC02: binary little endian and big endian, with a normal for every vertex and an element which is skipped
+        for (ByteOrder order : new ByteOrder[]{ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN}) {
+            String header = "ply\nformat " + (order == ByteOrder.LITTLE_ENDIAN ? "binary_little_endian"
+                    : "binary_big_endian") + " 1.0\nelement vertex 4\nproperty double x\nproperty double y\n"
+                    + "property double z\nproperty float nz\nelement face 2\nproperty list uchar uint vertex_index\n"
+                    + "element edge 1\nproperty int vertex1\nproperty int vertex2\nend_header\n";
+            byte[] text = header.getBytes(StandardCharsets.US_ASCII);
+            ByteBuffer bytes = ByteBuffer.allocate(text.length + 4 * 28 + 2 * 13 + 8).order(order);
+            bytes.put(text);
+            double[][] vertices = {{-1, -1, 0}, {1, -1, 0}, {1, 1, 0}, {-1, 1, 0}};
+            for (double[] vertex : vertices)
+                bytes.putDouble(vertex[0]).putDouble(vertex[1]).putDouble(vertex[2]).putFloat(1);
+            bytes.put((byte) 3).putInt(0).putInt(1).putInt(2);
+            bytes.put((byte) 3).putInt(2).putInt(3).putInt(0);
+            bytes.putInt(0).putInt(1);
+            bytes.flip();
+            assertSquare(MeshLoader.loadPly(bytes));
+        }
+
+        // =============== Boundary Values Tests ==================
+        // TC10: the data ends before all the faces
+        assertThrows(IOException.class, () -> MeshLoader.loadPly(ByteBuffer.wrap(("ply\nformat binary_little_endian 1.0\n"
+                + "element vertex 0\nproperty float x\nelement face 1\nproperty list uchar int vertex_indices\n"
+                + "end_header\n").getBytes(StandardCharsets.US_ASCII))), "Missing data");
+
+        // TC11: the header declares far more vertices than the data holds - an error instead of a huge array
+        assertThrows(IOException.class, () -> MeshLoader.loadPly(ByteBuffer.wrap(("ply\nformat ascii 1.0\n"
+                + "element vertex 2000000000\nproperty float x\nproperty float y\nproperty float z\n"
+                + "end_header\n0 0 0\n").getBytes(StandardCharsets.US_ASCII))), "Huge vertex count");
+
+        // TC12: a negative size of a list (signed char), and a size of a list beyond the data (uint)
+        for (String countType : new String[]{"char", "uint"}) {
+            byte[] text = ("ply\nformat binary_big_endian 1.0\nelement vertex 0\nproperty float x\nelement face 1\n"
+                    + "property list " + countType + " int vertex_indices\nend_header\n")
+                    .getBytes(StandardCharsets.US_ASCII);
+            ByteBuffer bytes = ByteBuffer.allocate(text.length + 16).put(text).put(new byte[]{-1, -1, -1, -1});
+            bytes.putInt(0).putInt(1).putInt(2).flip();
+            assertThrows(IOException.class, () -> MeshLoader.loadPly(bytes), "Bad size of a list " + countType);
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package geometries;
+
+import geometries.Intersectable.GeoPoint;
+import org.junit.jupiter.api.Test;
+import primitives.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for geometries.PacketShapes class
+ */
+class PacketShapesTest {
+
+    /**
+     * checks that a packet of rays finds exactly the closest intersections of the group, ray by ray
+     *
+     * @param geometries the group
+     * @param kernel     the kernel of the packets
+     * @param origin     the head of the rays
+     */
+    private void assertSameAsGroup(Geometries geometries, PacketKernel kernel, Point origin) {
+        PacketShapes shapes = PacketShapes.of(geometries);
+        int nX = 41, nY = 23;
+        double[] dirX = new double[nX], dirY = new double[nX], dirZ = new double[nX];
+        Ray[] rays = new Ray[nX];
+        GeoPoint[] closest = new GeoPoint[nX];
+        for (int i = 0; i < nY; ++i) {
+            for (int j = 0; j < nX; ++j) {
+                Vector dir = new Vector(j - nX / 2 + 0.25, i - nY / 2 + 0.5, -30).normalize();
+                dirX[j] = dir.getXyz().getD1();
+                dirY[j] = dir.getXyz().getD2();
+                dirZ[j] = dir.getXyz().getD3();
+            }
+            shapes.findClosest(kernel, origin, dirX, dirY, dirZ, nX, rays, closest);
+            for (int j = 0; j < nX; ++j) {
+                GeoPoint expected = geometries.findClosestGeoIntersection(rays[j]);
+                if (expected == null) {
+                    assertNull(closest[j], "Hit without an intersection");
+                    continue;
+                }
+                assertNotNull(closest[j], "No hit with an intersection");
+                assertSame(expected._geoPointGeometry, closest[j]._geoPointGeometry, "Wrong shape");
+                Double3 point = closest[j]._geoPoint.getXyz();
+                assertEquals(expected._geoPoint.getXyz().getD1(), point.getD1(), 0, "Wrong point");
+                assertEquals(expected._geoPoint.getXyz().getD2(), point.getD2(), 0, "Wrong point");
+                assertEquals(expected._geoPoint.getXyz().getD3(), point.getD3(), 0, "Wrong point");
+            }
+        }
+    }
+
+    /**
+     * a group of many small spheres and triangles behind each other, with a polygon and an infinite plane
+     *
+     * @return the group
+     */
+    private Geometries crowd() {
+        Geometries geometries = new Geometries(new Plane(new Point(0, 0, -80), new Vector(0.1, 0.2, 1)));
+        for (int x = -12; x <= 12; x += 3)
+            for (int y = -6; y <= 6; y += 3) {
+                geometries.add(new Sphere(new Point(x, y, -50 + x), 1.2));
+                geometries.add(new Triangle(new Point(x, y, -40 - y), new Point(x + 2, y, -41),
+                        new Point(x, y + 2, -42)));
+            }
+        geometries.add(new Polygon(new Point(-3, -3, -30), new Point(3, -3, -30), new Point(3, 3, -31),
+                new Point(-3, 3, -31)));
+        return geometries;
+    }
+
+    /**
+     * Test method for {@link geometries.PacketShapes#findClosest(Point, double[], double[], double[], int, Ray[], GeoPoint[])}.
+     */
+    @Test
+    void testFindClosest() {
+        Geometries bounded = new Geometries(
+                new Sphere(new Point(-4, 2, -40), 5),
+                new Sphere(new Point(2, 0, -45), 6),
+                //two triangles with a common edge, in front of the spheres
+                new Triangle(new Point(-6, -8, -35), new Point(6, -8, -35), new Point(0, 0, -35)),
+                new Triangle(new Point(6, -8, -35), new Point(6, 4, -38), new Point(0, 0, -35)));
+        Geometries infinite = new Geometries(new Plane(new Point(0, 0, -60), new Vector(0.1, 0.2, 1)));
+        infinite.add(bounded.getGeometries().toArray(new Intersectable[0]));
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the kernel which was loaded, and the scalar kernel - with the box of the group and without it
+        assertSameAsGroup(bounded, PacketKernel.load(), new Point(0, 0, 0));
+        assertSameAsGroup(infinite, PacketKernel.load(), new Point(0, 0, 0));
+        assertSameAsGroup(bounded, new ScalarPacketKernel(), new Point(0, 0, 0));
+        assertSameAsGroup(infinite, new ScalarPacketKernel(), new Point(0, 0, 0));
+
+        // TC02: a group with a hierarchy, a polygon and a plane - with both kernels
+        assertSameAsGroup(crowd().setBVH(true), PacketKernel.load(), new Point(0, 0, 0));
+        assertSameAsGroup(crowd().setBVH(true), new ScalarPacketKernel(), new Point(0, 0, 0));
+
+        // TC03: the same group without the hierarchy
+        assertSameAsGroup(crowd(), PacketKernel.load(), new Point(0, 0, 0));
+
+        // TC04: a hierarchy with a group inside it
+        assertSameAsGroup(new Geometries(crowd(), new Sphere(new Point(0, 0, -20), 1)).setBVH(true),
+                PacketKernel.load(), new Point(0, 0, 0));
+
+        // =============== Boundary Values Tests ==================
+        // TC10: the rays start at the center of a sphere
+        assertSameAsGroup(infinite, PacketKernel.load(), new Point(-4, 2, -40));
+
+        // TC11: the rays start inside the boxes of the hierarchy
+        assertSameAsGroup(crowd().setBVH(true), PacketKernel.load(), new Point(1, 1, -45));
+    }
+
+    /**
+     * Test method for {@link geometries.PacketShapes#of(Geometries)}.
+     */
+    @Test
+    void testOf() {
+        Sphere sphere = new Sphere(new Point(0, 0, -10), 1);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: spheres, planes and triangles
+        assertEquals(1, PacketShapes.of(new Geometries(sphere)).size(), "Wrong amount of shapes");
+
+        // TC02: another kind of shape, traced ray by ray in its place
+        assertEquals(2, PacketShapes.of(new Geometries(sphere, new Polygon(new Point(0, 0, 0), new Point(1, 0, 0),
+                new Point(1, 1, 0), new Point(0, 1, 0)))).size(), "Wrong amount of shapes");
+
+        // TC03: the shapes of the hierarchy
+        assertEquals(92, PacketShapes.of(crowd().setBVH(true)).size(), "Wrong amount of shapes");
+    }
+}
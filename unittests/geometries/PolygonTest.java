@@ -2,8 +2,11 @@ package geometries;
 
 import org.junit.jupiter.api.Test;
 import primitives.Point;
+import primitives.Ray;
 import primitives.Vector;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 /**
  * Unit tests for geometries.Polygon class
@@ -86,6 +89,66 @@ class PolygonTest {
     }
 
 
+    /**
+     * Test method for {@link geometries.Polygon#findGeoIntersections(Ray)}.
+     */
+    @Test
+    void testFindGeoIntersections() {
+        // a regular hexagon of radius 2 on the plane x + y + z = 3, around (1, 1, 1)
+        Vector a = new Vector(1, -1, 0).normalize();
+        Vector b = new Vector(1, 1, -2).normalize();
+        Point center = new Point(1, 1, 1);
+        Point[] vertices = new Point[6];
+        for (int i = 0; i < 6; i++) {
+            double cos = 2 * Math.cos(i * Math.PI / 3), sin = 2 * Math.sin(i * Math.PI / 3);
+            vertices[i] = new Point(1 + cos / Math.sqrt(2) + sin / Math.sqrt(6),
+                    1 - cos / Math.sqrt(2) + sin / Math.sqrt(6), 1 - 2 * sin / Math.sqrt(6));
+        }
+        Polygon hexagon = new Polygon(vertices);
+        Vector n = new Vector(1, 1, 1).normalize();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the ray passes inside the polygon
+        Point inside = center.add(a.scale(0.5)).add(b.scale(-1));
+        var intersections = hexagon.findGeoIntersections(new Ray(inside.add(n.scale(3)), n.scale(-1)));
+        assertEquals(1, intersections.size(), "Wrong number of points");
+        assertEquals(inside, intersections.get(0)._geoPoint, "Wrong point");
+
+        // TC02: the ray passes outside the polygon against an edge
+        Point outside = center.add(b.scale(1.9));
+        assertNull(hexagon.findGeoIntersections(new Ray(outside.add(n.scale(3)), n.scale(-1))),
+                "Ray outside against an edge");
+
+        // TC03: the ray passes outside the polygon against a vertex
+        outside = center.add(a.scale(2.1));
+        assertNull(hexagon.findGeoIntersections(new Ray(outside.add(n.scale(3)), n.scale(-1))),
+                "Ray outside against a vertex");
+
+        // TC04: the ray starts after the polygon
+        assertNull(hexagon.findGeoIntersections(new Ray(inside.add(n.scale(-3)), n.scale(-1))),
+                "Ray after the polygon");
+
+        // =============== Boundary Values Tests ==================
+        // TC10: the ray passes through an edge
+        Point onEdge = vertices[1].add(vertices[2].subtract(vertices[1]).scale(0.5));
+        assertNull(hexagon.findGeoIntersections(new Ray(onEdge.add(n.scale(3)), n.scale(-1))), "Ray through an edge");
+
+        // TC11: the ray passes through a vertex
+        assertNull(hexagon.findGeoIntersections(new Ray(vertices[3].add(n.scale(3)), n.scale(-1))),
+                "Ray through a vertex");
+
+        // TC12: the ray passes through the continuation of an edge
+        Point onLine = vertices[1].add(vertices[2].subtract(vertices[1]).scale(1.5));
+        assertNull(hexagon.findGeoIntersections(new Ray(onLine.add(n.scale(3)), n.scale(-1))),
+                "Ray through the continuation of an edge");
+
+        // TC13: a polygon of three vertices
+        Polygon triangle = new Polygon(new Point(0, 0, 0), new Point(2, 0, 0), new Point(0, 2, 0));
+        assertEquals(List.of(new Point(0.5, 0.5, 0)), triangle.findGeoIntersections(
+                new Ray(new Point(0.5, 0.5, 1), new Vector(0, 0, -1))).stream().map(gp -> gp._geoPoint).toList(),
+                "Wrong point in a polygon of three vertices");
+    }
+
     /**
      * Test method for {@link geometries.Polygon#getNormal(primitives.Point)}.
      */
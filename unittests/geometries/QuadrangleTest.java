@@ -0,0 +1,91 @@
+package geometries;
+
+import geometries.Intersectable.GeoPoint;
+import org.junit.jupiter.api.Test;
+import primitives.*;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for geometries.Quadrangle class
+ */
+class QuadrangleTest {
+
+    /**
+     * a square of size 2 at z = 0
+     */
+    private final Quadrangle square = new Quadrangle(new Point(-1, -1, 0), new Point(1, -1, 0), new Point(1, 1, 0),
+            new Point(-1, 1, 0));
+
+    /**
+     * Test method for {@link geometries.Quadrangle#findGeoIntersections(Ray)}.
+     */
+    @Test
+    void testFindGeoIntersections() {
+        Vector down = new Vector(0, 0, -1);
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the ray passes through the triangle p0, p1, p2
+        var intersections = square.findGeoIntersections(new Ray(new Point(0.5, -0.2, 1), down));
+        assertEquals(1, intersections.size(), "Wrong number of points");
+        assertEquals(new Point(0.5, -0.2, 0), intersections.get(0)._geoPoint, "Wrong point");
+        assertSame(square, intersections.get(0)._geoPointGeometry, "The point is not of the quadrangle");
+
+        // TC02: the ray passes through the triangle p2, p3, p0
+        intersections = square.findGeoIntersections(new Ray(new Point(-0.5, 0.2, 1), down));
+        assertEquals(1, intersections.size(), "Wrong number of points");
+        assertEquals(new Point(-0.5, 0.2, 0), intersections.get(0)._geoPoint, "Wrong point");
+
+        // TC03: the ray passes outside the quadrangle against an edge
+        assertNull(square.findGeoIntersections(new Ray(new Point(2, 0, 1), down)), "Ray outside against an edge");
+
+        // TC04: the ray passes outside the quadrangle against a vertex
+        assertNull(square.findGeoIntersections(new Ray(new Point(2, 2, 1), down)), "Ray outside against a vertex");
+
+        // TC05: the ray starts after the quadrangle
+        assertNull(square.findGeoIntersections(new Ray(new Point(0.5, 0.2, -1), down)), "Ray after the quadrangle");
+
+        // =============== Boundary Values Tests ==================
+        // TC10: the ray passes through the diagonal between the two triangles
+        intersections = square.findGeoIntersections(new Ray(new Point(0.3, 0.3, 1), down));
+        assertEquals(1, intersections.size(), "Ray through the diagonal");
+
+        // TC11: the ray passes through an edge
+        assertNull(square.findGeoIntersections(new Ray(new Point(1, 0.5, 1), down)), "Ray through an edge");
+
+        // TC12: the ray passes through a vertex
+        assertNull(square.findGeoIntersections(new Ray(new Point(1, 1, 1), down)), "Ray through a vertex");
+
+        // TC13: the ray is parallel to the quadrangle
+        assertNull(square.findGeoIntersections(new Ray(new Point(0, 0, 1), new Vector(1, 0, 0))), "Parallel ray");
+    }
+
+    /**
+     * Test method for {@link geometries.Quadrangle#findClosestGeoIntersection(Ray)}.
+     * compares the quadrangle with its two triangles
+     */
+    @Test
+    void testFindClosestGeoIntersection() {
+        Point p0 = new Point(0, 0, 1), p1 = new Point(4, 0, 2), p2 = new Point(5, 3, 3.5), p3 = new Point(2, 2.4, 2.5);
+        Quadrangle quadrangle = new Quadrangle(p0, p1, p2, p3);
+        Geometries triangles = new Geometries(new Triangle(p0, p1, p2), new Triangle(p2, p3, p0));
+
+        // TC01: random rays hit the same points as the two triangles, and the normal of the quadrangle
+        Random random = new Random(7);
+        for (int r = 0; r < 500; r++) {
+            Ray ray = new Ray(new Point(random.nextDouble() * 7 - 1, random.nextDouble() * 6 - 1, 10),
+                    new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, -1));
+            GeoPoint expected = triangles.findClosestGeoIntersection(ray);
+            GeoPoint actual = quadrangle.findClosestGeoIntersection(ray);
+            if (expected == null)
+                assertNull(actual, "Hit where the triangles are missed");
+            else {
+                assertNotNull(actual, "Missed where the triangles are hit");
+                assertEquals(expected._geoPoint, actual._geoPoint, "Wrong point");
+                assertEquals(expected._geoPointGeometry.getNormal(expected._geoPoint),
+                        quadrangle.getNormal(actual._geoPoint), "Wrong normal");
+            }
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package geometries;
+
+import geometries.Intersectable.GeoPoint;
+import org.junit.jupiter.api.Test;
+import primitives.*;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for geometries.TriangleMesh class
+ */
+class TriangleMeshTest {
+
+    /**
+     * a square of size 2 at z = 0 made of two faces
+     */
+    private final TriangleMesh square = new TriangleMesh(new Point[]{
+            new Point(-1, -1, 0), new Point(1, -1, 0), new Point(1, 1, 0), new Point(-1, 1, 0)},
+            new int[]{0, 1, 2, 2, 3, 0});
+
+    /**
+     * Test method for {@link geometries.TriangleMesh#findGeoIntersections(Ray)}.
+     */
+    @Test
+    void testFindGeoIntersections() {
+        // ====== Equivalence Partition Tests ======
+        // TC01: the ray passes through the first face
+        Ray ray = new Ray(new Point(0.5, -0.2, 1), new Vector(0, 0, -1));
+        var intersections = square.findGeoIntersections(ray);
+        assertEquals(1, intersections.size(), "Wrong number of points");
+        assertEquals(new Point(0.5, -0.2, 0), intersections.get(0)._geoPoint, "Wrong point");
+        assertEquals(new Vector(0, 0, 1), intersections.get(0)._geoPointGeometry.getNormal(intersections.get(0)._geoPoint),
+                "Wrong normal of the face");
+
+        // TC02: the ray misses the mesh
+        assertNull(square.findGeoIntersections(new Ray(new Point(2, 0, 1), new Vector(0, 0, -1))), "Ray misses");
+
+        // TC03: very small faces (edges of 1e-7, as in a scanned model) are not taken for parallel to the ray
+        TriangleMesh small = new TriangleMesh(new double[]{0, 0, 0, 4e-7, 0, 0, 0, 4e-7, 0}, new int[]{0, 1, 2});
+        intersections = small.findGeoIntersections(new Ray(new Point(1e-7, 2e-7, 2), new Vector(0, 0, -1)));
+        assertNotNull(intersections, "Small face is missed");
+        assertEquals(new Point(1e-7, 2e-7, 0), intersections.get(0)._geoPoint, "Wrong point of a small face");
+
+        // =============== Boundary Values Tests ==================
+        // TC10: the ray passes through the diagonal which the faces share
+        assertNull(square.findGeoIntersections(new Ray(new Point(0, 0, 1), new Vector(0, 0, -1))),
+                "Ray through the edge of the faces");
+    }
+
+    /**
+     * Test method for {@link geometries.TriangleMesh#findClosestGeoIntersection(Ray)}.
+     * compares the mesh with separate triangles of the same faces
+     */
+    @Test
+    void testFindClosestGeoIntersection() {
+        // a wavy surface of 20 x 20 squares
+        int n = 20;
+        Point[] vertices = new Point[(n + 1) * (n + 1)];
+        for (int i = 0; i <= n; i++)
+            for (int j = 0; j <= n; j++)
+                vertices[i * (n + 1) + j] = new Point(i, j, Math.sin(i * 0.7) + Math.cos(j * 0.5));
+        int[] faces = new int[n * n * 6];
+        Geometries triangles = new Geometries();
+        int k = 0;
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < n; j++) {
+                int a = i * (n + 1) + j, b = a + n + 1, c = b + 1, d = a + 1;
+                faces[k++] = a;
+                faces[k++] = b;
+                faces[k++] = c;
+                faces[k++] = c;
+                faces[k++] = d;
+                faces[k++] = a;
+                triangles.add(new Triangle(vertices[a], vertices[b], vertices[c]),
+                        new Triangle(vertices[c], vertices[d], vertices[a]));
+            }
+        TriangleMesh mesh = new TriangleMesh(vertices, faces);
+        assertEquals(n * n * 2, mesh.getFaceCount(), "Wrong number of faces");
+
+        // TC01: random rays from above hit the same points as the separate triangles
+        Random random = new Random(5);
+        for (int r = 0; r < 500; r++) {
+            Ray ray = new Ray(new Point(random.nextDouble() * n, random.nextDouble() * n, 10),
+                    new Vector(random.nextDouble() - 0.5, random.nextDouble() - 0.5, -1));
+            GeoPoint expected = triangles.findClosestGeoIntersection(ray);
+            GeoPoint actual = mesh.findClosestGeoIntersection(ray);
+            if (expected == null)
+                assertNull(actual, "Hit where the triangles are missed");
+            else {
+                assertNotNull(actual, "Missed where the triangles are hit");
+                assertEquals(expected._geoPoint, actual._geoPoint, "Wrong closest point");
+                assertEquals(expected._geoPointGeometry.getNormal(expected._geoPoint),
+                        actual._geoPointGeometry.getNormal(actual._geoPoint), "Wrong normal");
+            }
+        }
+    }
+
+    /**
+     * Test method for {@link geometries.TriangleMesh#TriangleMesh(double[], int[])}.
+     */
+    @Test
+    void testConstructor() {
+        // =============== Boundary Values Tests ==================
+        // TC10: a face refers to a vertex which does not exist
+        assertThrows(IllegalArgumentException.class,
+                () -> new TriangleMesh(new double[]{0, 0, 0, 1, 0, 0, 0, 1, 0}, new int[]{0, 1, 3}),
+                "Vertex out of range");
+
+        // TC11: no faces
+        assertThrows(IllegalArgumentException.class, () -> new TriangleMesh(new double[]{0, 0, 0}, new int[0]),
+                "Mesh without faces");
+    }
+}
@@ -38,4 +38,41 @@ class TriangleTest {
         assertEquals(null, t1.findIntersections(r3), "Intersection point outside corner of triangle failed");
 
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link geometries.Triangle#intersect(Ray, double, double[])}.
+     */
+    @Test
+    void testIntersect() {
+        Triangle triangle = new Triangle(new Point(0, 0, 0), new Point(4, 0, 0), new Point(0, 4, 0));
+        double[] uv = new double[2];
+
+        // ====== Equivalence Partition Tests ======
+        // TC01: inside the triangle - distance and barycentric coordinates of the hit
+        assertEquals(2, triangle.intersect(new Ray(new Point(1, 2, 2), new Vector(0, 0, -1)), 10, uv), 1e-10,
+                "Bad distance");
+        assertEquals(0.25, uv[0], 1e-10, "Bad u");
+        assertEquals(0.5, uv[1], 1e-10, "Bad v");
+
+        // TC02: inside the triangle but farther than the maximum distance
+        assertEquals(Double.POSITIVE_INFINITY,
+                triangle.intersect(new Ray(new Point(1, 2, 2), new Vector(0, 0, -1)), 2, uv), "Hit after maximum distance");
+
+        // TC03: the triangle is behind the head of the ray
+        assertEquals(Double.POSITIVE_INFINITY,
+                triangle.intersect(new Ray(new Point(1, 2, 2), new Vector(0, 0, 1)), 10, uv), "Hit behind the ray");
+
+        // =============== Boundary Values Tests ==================
+        // TC10: on the edge between the second and the third vertices
+        assertEquals(Double.POSITIVE_INFINITY,
+                triangle.intersect(new Ray(new Point(2, 2, 2), new Vector(0, 0, -1)), 10, uv), "Hit on edge");
+
+        // TC11: on a vertex
+        assertEquals(Double.POSITIVE_INFINITY,
+                triangle.intersect(new Ray(new Point(0, 0, 2), new Vector(0, 0, -1)), 10, uv), "Hit on vertex");
+
+        // TC12: the ray is parallel to the plane of the triangle
+        assertEquals(Double.POSITIVE_INFINITY,
+                triangle.intersect(new Ray(new Point(1, 1, 0), new Vector(1, 1, 0)), 10, uv), "Hit of a parallel ray");
+    }
+}
@@ -3,6 +3,8 @@ package geometries;
 import org.junit.jupiter.api.Test;
 import primitives.*;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 /**
  * Unit tests for geometries.Tube class
@@ -28,4 +30,38 @@ class TubeTest {
         //TC01: check the case where the vector from the point to the center is orthogonal to the axis
         assertEquals(tube.getNormal(new Point (0,3,0)), new Vector(0,1,0), "Incorrect vector");
     }
-}
\ No newline at end of file
+
+    /**
+     * Test method for {@link geometries.Tube#findIntersections(Ray)}.
+     */
+    @Test
+    void testFindIntersections() {
+        Tube tube = new Tube(new Ray(new Point(0, 0, 0), new Vector(0, 0, 1)), 1);
+
+        // ====== Equivalence Partition Tests ======
+        //TC01: the ray crosses the tube
+        assertEquals(List.of(new Point(1, 0, 0.5), new Point(-1, 0, 0.5)),
+                tube.findIntersections(new Ray(new Point(2, 0, 0.5), new Vector(-1, 0, 0))), "Ray crosses the tube");
+        //TC02: the ray crosses the tube in a slope
+        List<Point> result = tube.findIntersections(new Ray(new Point(0, -2, -4), new Vector(0, 1, 2)));
+        assertEquals(List.of(new Point(0, -1, -2), new Point(0, 1, 2)), result, "Ray crosses the tube in a slope");
+        //TC03: the ray starts inside the tube
+        assertEquals(List.of(new Point(0, 1, 0)),
+                tube.findIntersections(new Ray(new Point(0, 0.5, 0), new Vector(0, 1, 0))), "Ray from inside");
+        //TC04: the ray misses the tube
+        assertNull(tube.findIntersections(new Ray(new Point(2, 0, 0), new Vector(0, 1, 1))), "Ray misses");
+        //TC05: the ray starts after the tube
+        assertNull(tube.findIntersections(new Ray(new Point(2, 0, 0), new Vector(1, 0, 0))), "Ray after the tube");
+
+        // ====== Boundary Value Tests ======
+        //TC10: the ray is tangent to the tube
+        assertNull(tube.findIntersections(new Ray(new Point(1, -1, 0), new Vector(0, 1, 0))), "Tangent ray");
+        //TC11: the ray is parallel to the axis
+        assertNull(tube.findIntersections(new Ray(new Point(0.5, 0, 0), new Vector(0, 0, 1))), "Parallel ray");
+        //TC12: the ray starts on the tube and goes inside
+        assertEquals(List.of(new Point(-1, 0, 0)),
+                tube.findIntersections(new Ray(new Point(1, 0, 0), new Vector(-1, 0, 0))), "Ray from the tube inside");
+        //TC13: the ray starts on the tube and goes outside
+        assertNull(tube.findIntersections(new Ray(new Point(1, 0, 0), new Vector(1, 0, 0))), "Ray from the tube out");
+    }
+}
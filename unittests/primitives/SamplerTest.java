@@ -0,0 +1,78 @@
+package primitives;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Unit tests for the samplers of the primitives package
+ * @author Nechama Eri-Barron and Chaya Yazersky
+ */
+class SamplerTest {
+
+    /**
+     * helper function - counts the samples of one set in every cell of a grid
+     * @param sampler the sampler
+     * @param root the grid is root x root cells, the set has root*root samples
+     * @return amount of samples in every cell
+     */
+    private int[] samplesInCells(Sampler sampler, int root) {
+        int[] cells = new int[root * root];
+        double[] uv = new double[2];
+        sampler.startSet(root * root);
+        for (int k = 0; k < root * root; k++) {
+            sampler.next2D(uv);
+            assertTrue(uv[0] >= 0 && uv[0] < 1 && uv[1] >= 0 && uv[1] < 1, "Sample out of the unit square");
+            ++cells[(int) (uv[1] * root) * root + (int) (uv[0] * root)];
+        }
+        return cells;
+    }
+
+    /**
+     * Test method for {@link primitives.StratifiedSampler#next2D(double[])}.
+     * This method checks that every cell of the grid gets one sample
+     */
+    @Test
+    void testStratifiedSampler() {
+        // TC01: set of 16 samples
+        for (int cell : samplesInCells(new StratifiedSampler(), 4))
+            assertEquals(1, cell, "Cell without exactly one sample");
+
+        // TC02: set of one sample
+        assertEquals(1, samplesInCells(new StratifiedSampler(), 1)[0], "Bad set of one sample");
+    }
+
+    /**
+     * Test method for {@link primitives.SobolSampler#next2D(double[])}.
+     * This method checks that a scrambled set of 2^k samples has one sample in every cell
+     */
+    @Test
+    void testSobolSampler() {
+        // TC01: set of 16 samples - every row and column of the 4x4 grid is a rectangle of the net
+        for (int cell : samplesInCells(new SobolSampler(), 4))
+            assertEquals(1, cell, "Cell without exactly one sample");
+
+        // TC02: the second dimension of the sequence
+        assertEquals(0x80000000, SobolSampler.sobolSecondDimension(1), "Bad second sample");
+        assertEquals(0xc0000000, SobolSampler.sobolSecondDimension(2), "Bad third sample");
+        assertEquals(0x40000000, SobolSampler.sobolSecondDimension(3), "Bad fourth sample");
+    }
+
+    /**
+     * Test method for {@link primitives.HaltonSampler#next2D(double[])}.
+     * This method checks the radical inverse and the range of the samples
+     */
+    @Test
+    void testHaltonSampler() {
+        // TC01: radical inverse in base 2 and 3
+        assertEquals(0.75, HaltonSampler.radicalInverse(3, 2), 1e-12, "Bad radical inverse in base 2");
+        assertEquals(7 / 9d, HaltonSampler.radicalInverse(5, 3), 1e-12, "Bad radical inverse in base 3");
+
+        // TC02: samples of a set are inside the square
+        int total = 0;
+        for (int cell : samplesInCells(new HaltonSampler(), 3))
+            total += cell;
+        assertEquals(9, total, "Bad amount of samples");
+    }
+}
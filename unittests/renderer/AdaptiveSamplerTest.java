@@ -0,0 +1,116 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+import primitives.Color;
+import primitives.StratifiedSampler;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for renderer.AdaptiveSampler class
+ */
+class AdaptiveSamplerTest {
+
+    /**
+     * Test method for {@link renderer.AdaptiveSampler#contrast(Color...)}.
+     */
+    @Test
+    void testContrast() {
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the same difference counts more in the dark than in the light
+        double dark = AdaptiveSampler.contrast(new Color(0, 0, 0), new Color(20, 20, 20));
+        double light = AdaptiveSampler.contrast(new Color(200, 200, 200), new Color(220, 220, 220));
+        assertTrue(dark > light, "Dark difference is not larger");
+
+        // =============== Boundary Values Tests ==================
+        // TC10: equal colors, and colors which are brighter than the image
+        assertEquals(0, AdaptiveSampler.contrast(Color.RED, Color.RED), "Contrast of equal colors");
+        assertEquals(0, AdaptiveSampler.contrast(new Color(300, 300, 300), new Color(900, 900, 900)),
+                "Contrast of colors out of range");
+        assertEquals(1, AdaptiveSampler.contrast(Color.BLACK, Color.RED), 0.000001, "Contrast of a full channel");
+    }
+
+    /**
+     * Test method for {@link renderer.AdaptiveSampler#pixelColor(int, int, AdaptiveSampler.SampleTracer)}.
+     */
+    @Test
+    void testPixelColor() {
+        AdaptiveSampler sampler = new AdaptiveSampler(3, 0.05, 64, 16);
+        AtomicInteger samples = new AtomicInteger();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a pixel of one color has only the samples of its corners
+        Color color = sampler.pixelColor(2, 3, (x, y, u, v) -> {
+            samples.incrementAndGet();
+            return Color.BLUE;
+        });
+        assertEquals(4, samples.get(), "Flat pixel is divided");
+        assertEquals(Color.BLUE.getRGB(), color.getRGB(), "Wrong color of a flat pixel");
+
+        // TC02: the pixel next to it in the tile traces only its two corners which are not shared
+        samples.set(0);
+        sampler.pixelColor(3, 3, (x, y, u, v) -> {
+            samples.incrementAndGet();
+            return Color.BLUE;
+        });
+        assertEquals(2, samples.get(), "Shared corners are traced again");
+
+        // TC03: a pixel with a vertical edge in its middle is divided only along the edge, and its color is close to
+        // the average of the two sides
+        sampler = new AdaptiveSampler(3, 0.05, 64, 16);
+        samples.set(0);
+        color = sampler.pixelColor(2, 3, (x, y, u, v) -> {
+            samples.incrementAndGet();
+            return x < 2.5 ? Color.BLACK : Color.WHITE;
+        });
+        assertTrue(samples.get() > 4 && samples.get() < 64, "Wrong amount of samples of an edge: " + samples.get());
+        assertEquals(127.5, color.getRgb().getD1(), 255 / 8.0, "Wrong color of an edge");
+
+        // =============== Boundary Values Tests ==================
+        // TC10: a noisy pixel stops at the maximal amount of samples
+        sampler = new AdaptiveSampler(3, 0.05, 64, 16);
+        samples.set(0);
+        sampler.pixelColor(0, 0, (x, y, u, v) -> samples.incrementAndGet() % 2 == 0 ? Color.BLACK : Color.WHITE);
+        assertTrue(samples.get() <= 64, "Too many samples: " + samples.get());
+
+        // TC11: a new render with the same lattices traces the samples of the pixel again
+        ThreadLocal<AdaptiveSampler.TileLattice> lattices = AdaptiveSampler.newLattices();
+        new AdaptiveSampler(3, 0.05, 64, 16, lattices).pixelColor(2, 3, (x, y, u, v) -> Color.BLUE);
+        samples.set(0);
+        color = new AdaptiveSampler(3, 0.05, 64, 16, lattices).pixelColor(2, 3, (x, y, u, v) -> {
+            samples.incrementAndGet();
+            return Color.RED;
+        });
+        assertEquals(4, samples.get(), "Samples of the previous render are used");
+        assertEquals(Color.RED.getRGB(), color.getRGB(), "Wrong color after the previous render");
+    }
+
+    /**
+     * Test method for {@link renderer.AdaptiveSampler#apertureColor(double, double, AdaptiveSampler.SampleTracer, primitives.Sampler)}.
+     */
+    @Test
+    void testApertureColor() {
+        AdaptiveSampler sampler = new AdaptiveSampler(3, 0.05, 64, 16);
+        AtomicInteger samples = new AtomicInteger();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: a point in focus has the same color from all the aperture, so only the first four samples are taken
+        Color color = sampler.apertureColor(2.5, 3.5, (x, y, u, v) -> {
+            samples.incrementAndGet();
+            return Color.GREEN;
+        }, new StratifiedSampler());
+        assertEquals(4, samples.get(), "Point in focus has more samples");
+        assertEquals(Color.GREEN.getRGB(), color.getRGB(), "Wrong color in focus");
+
+        // TC02: a blurred point, half of the aperture sees white - more samples, and their average is close to gray
+        samples.set(0);
+        color = sampler.apertureColor(2.5, 3.5, (x, y, u, v) -> {
+            samples.incrementAndGet();
+            return u < 0.5 ? Color.BLACK : Color.WHITE;
+        }, new StratifiedSampler());
+        assertTrue(samples.get() > 4 && samples.get() <= 64, "Wrong amount of samples of a blurred point");
+        assertEquals(127.5, color.getRgb().getD1(), 0.001, "Wrong color of a blurred point");
+    }
+}
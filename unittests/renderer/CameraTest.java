@@ -9,6 +9,8 @@ import scene.Scene;
 import java.util.LinkedList;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Testing Camera Class
@@ -56,6 +58,67 @@ class CameraTest {
                 camera.setVPSize(8, 8).constructRay(4, 4, 1, 0), badRay);
 
     }
+
+    /**
+     * Test method for {@link renderer.Camera#renderPass()}.
+     * This method checks that the passes are accumulated in the image
+     */
+    @Test
+    void testRenderPass() {
+        Scene scene = new Scene.SceneBuilder("progressive").build();
+        scene.getGeometries().add(new Sphere(new Point(0, 0, -100), 30).setEmission(Color.BLUE));
+        ImageWriter imageWriter = new ImageWriter("progressive", 10, 10);
+        Camera camera = new Camera(ZERO_POINT, new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPSize(100, 100).setVPDistance(100)
+                .setImageWriter(imageWriter).setRayTracer(new RayTracerBasic(scene));
+        camera.setJaggedEdgesButton(true);
+
+        // TC01: every pass adds one sample and the image is written after every pass
+        camera.renderProgressive(4, 0);
+        assertEquals(4, camera.getPasses(), "Bad amount of passes");
+        assertEquals(camera.castRayOld(5, 5).getRGB(), imageWriter.getPixel(5, 5), "Bad color inside the sphere");
+        assertEquals(scene.getBackground().getRGB(), imageWriter.getPixel(0, 0), "Bad color of the background");
+
+        // TC02: the passes trace the scene which was compiled by the first pass, until the passes are cleared
+        scene.getGeometries().add(new Plane(new Point(0, 0, -200), new Vector(0, 0, 1)).setEmission(Color.RED));
+        camera.renderPass();
+        assertEquals(scene.getBackground().getRGB(), imageWriter.getPixel(0, 0), "The new shape is seen");
+        camera.clearPasses().renderPass();
+        assertEquals(Color.RED.getRGB(), imageWriter.getPixel(0, 0), "The new shape is not seen");
+
+        // TC03: a new image writer starts the passes again
+        camera.setImageWriter(new ImageWriter("progressive", 10, 10));
+        assertEquals(0, camera.getPasses(), "Passes were not cleared");
+    }
+
+    /**
+     * Test method for {@link renderer.Camera#getRenderReport()}.
+     */
+    @Test
+    void testRenderReport() {
+        Scene scene = new Scene.SceneBuilder("statistics").build();
+        scene.getGeometries().add(new Sphere(new Point(0, 0, -100), 30).setEmission(Color.BLUE)
+                .setMaterial(new Material().setKd(0.5).setkR(0.5)));
+        scene.getLights().add(new PointLight(new Color(255, 255, 255), new Point(0, 100, 0)));
+        Camera camera = new Camera(ZERO_POINT, new Vector(0, 0, -1), new Vector(0, 1, 0))
+                .setVPSize(100, 100).setVPDistance(100)
+                .setImageWriter(new ImageWriter("statistics", 10, 10))
+                .setRayTracer(new RayTracerBasic(scene).setSoftShadowsButton(false));
+
+        // TC01: no report when the statistics button is off
+        assertNull(camera.renderImage().getRenderReport(), "Report without statistics");
+
+        // TC02: a ray for every pixel, and a reflected ray for every pixel which sees the sphere
+        RenderReport report = camera.setStatistics(true).renderImage().getRenderReport();
+        assertEquals(100, report.getPrimaryRays(), "Bad amount of primary rays");
+        assertTrue(report.getColorCalculations(0) > 0, "The sphere was not hit");
+        assertEquals(report.getColorCalculations(0), report.getReflectionRays(), "Bad amount of reflected rays");
+        assertTrue(report.getShadowRays() > 0, "No shadow rays");
+        assertTrue(report.getHits().get("Sphere") >= report.getColorCalculations(0),
+                "Hits were not counted");
+        assertEquals(0, report.getSubdivisions(), "Subdivisions without adaptive super sampling");
+    }
+
     @Test
     public void imageWithTenShapes() {
         Camera camera = new Camera(new Point(80, 0, 2), new Vector(-1, 0, 0), new Vector(0, 0, 1))
@@ -3,6 +3,9 @@ package renderer;
 import org.junit.jupiter.api.Test;
 import primitives.Color;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
 /**
  * Unit tests for renderer.ImageWriter class
  * @author Nechama Eri-Barron and Chaya Yazersky
@@ -31,4 +34,31 @@ public class ImageWriterTest {
         }
         imageWriter.writeToImage();
     }
+
+    /**
+     * Test method for {@link ImageWriter#writePixel(int, int, Color)}
+     * This method checks the packed colors in the frame buffer
+     */
+    @Test
+    public void testWritePixel() {
+        ImageWriter imageWriter = new ImageWriter("test write pixel", 3, 2);
+
+        // TC01: color inside the range
+        imageWriter.writePixel(2, 1, new Color(10, 20, 30));
+        assertEquals(0x0a141e, imageWriter.getPixel(2, 1), "Bad packed color");
+
+        // TC02: components above 255 are cut
+        imageWriter.writePixel(0, 1, new Color(300, 0, 1000));
+        assertEquals(0xff00ff, imageWriter.getPixel(0, 1), "Bad packed color above 255");
+
+        // TC03: other pixels are not changed
+        assertEquals(0, imageWriter.getPixel(1, 1), "Wrong pixel was written");
+
+        // TC04: a column outside the row is not written to the next row
+        assertThrows(IndexOutOfBoundsException.class, () -> imageWriter.writePixel(3, 0, Color.BLACK),
+                "Column outside the image was written");
+        assertThrows(IndexOutOfBoundsException.class, () -> imageWriter.writePixel(-1, 1, Color.BLACK),
+                "Negative column was written");
+        assertEquals(0xff00ff, imageWriter.getPixel(0, 1), "Pixel of the next row was written");
+    }
 }
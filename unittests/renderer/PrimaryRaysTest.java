@@ -0,0 +1,52 @@
+package renderer;
+
+import org.junit.jupiter.api.Test;
+import primitives.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for renderer.PrimaryRays class
+ */
+class PrimaryRaysTest {
+
+    /**
+     * Test method for {@link renderer.PrimaryRays#row(int, int, int)}.
+     */
+    @Test
+    void testRow() {
+        Point p0 = new Point(1, 2, 3);
+        Camera camera = new Camera(p0, new Vector(1, 1, -1), new Vector(1, -1, 0)).setVPDistance(7).setVPSize(9, 5);
+        PrimaryRays rays = new PrimaryRays(p0, camera.getVto(), camera.getVup(), camera.getVright(), 7, 9, 5, 9, 5);
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the rays of a part of a row have the same numbers as the rays of the camera
+        PrimaryRays.Batch batch = rays.row(2, 6, 3);
+        assertEquals(4, batch.size(), "Wrong amount of rays");
+        for (int k = 0; k < batch.size(); ++k) {
+            Vector expected = camera.constructRay(9, 5, 2 + k, 3).getDir();
+            assertEquals(expected.getXyz().getD1(), batch._dirX[k], 0, "Wrong direction");
+            assertEquals(expected.getXyz().getD2(), batch._dirY[k], 0, "Wrong direction");
+            assertEquals(expected.getXyz().getD3(), batch._dirZ[k], 0, "Wrong direction");
+            assertEquals(expected, rays.ray(2 + k, 3).getDir(), "Wrong ray of a pixel");
+        }
+
+        // =============== Boundary Values Tests ==================
+        // TC10: the middle of the view plane, and the whole row through it
+        assertEquals(camera.constructRay(9, 5, 4, 2), rays.ray(4, 2), "Wrong ray of the middle");
+        assertEquals(9, rays.row(0, 9, 2).size(), "Wrong amount of rays of a whole row");
+        assertEquals(new Point(1, 2, 3).add(camera.getVto().scale(7)), rays.pixelCenter(4, 2),
+                "Wrong middle of the view plane");
+
+        // TC11: the batch of a thread is used again by the rays of the next render, with their own head
+        ThreadLocal<PrimaryRays.Batch> batches = PrimaryRays.newBatches();
+        Point p1 = new Point(0, 0, 0);
+        PrimaryRays.Batch first = new PrimaryRays(p0, camera.getVto(), camera.getVup(), camera.getVright(), 7, 9, 5,
+                9, 5, batches).row(0, 4, 0);
+        PrimaryRays.Batch second = new PrimaryRays(p1, camera.getVto(), camera.getVup(), camera.getVright(), 7, 9, 5,
+                9, 5, batches).row(0, 9, 0);
+        assertSame(first, second, "The batch is not used again");
+        assertEquals(9, second.size(), "Wrong amount of rays after a larger row");
+        assertSame(p1, second.getOrigin(), "Wrong head of the rays of the next render");
+    }
+}
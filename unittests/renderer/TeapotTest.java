@@ -1565,6 +1565,8 @@ public class TeapotTest {
         LinkedList<LightSource> lights = new LinkedList<>();
         lights.add(new PointLight(new Color(500, 500, 500), new Point(100, 0, -100)).setKq(0.000001));
 
+        geometries.setBVH(true);
+
         Scene scene = new Scene.SceneBuilder("Test scene").setGeometries(geometries)
                 .setAmbientLight(new AmbientLight(new Color(java.awt.Color.WHITE), new Double3(0.15)))
                 .setLights(lights).build();
@@ -0,0 +1,64 @@
+package scene;
+
+import geometries.Geometries;
+import geometries.Intersectable.GeoPoint;
+import geometries.Plane;
+import geometries.Sphere;
+import geometries.Triangle;
+import org.junit.jupiter.api.Test;
+import primitives.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for scene.CompiledScene class
+ */
+class CompiledSceneTest {
+
+    /**
+     * Test method for {@link scene.CompiledScene#CompiledScene(Scene)}.
+     */
+    @Test
+    void testCompile() {
+        Sphere sphere = new Sphere(new Point(0, 0, -10), 1);
+        sphere.setMaterial(new Material().setKd(0.5).setKs(0.5).setShininess(30));
+        Triangle triangle = new Triangle(new Point(-1, -1, -20), new Point(1, -1, -20), new Point(0, 1, -20));
+        triangle.setMaterial(new Material().setKd(0.5).setKs(0.5).setShininess(30));
+        Plane plane = new Plane(new Point(0, 0, -30), new Vector(0, 0, 1));
+        plane.setMaterial(new Material().setkT(0.5));
+        Geometries inner = new Geometries(triangle, new Geometries(plane));
+        Scene scene = new Scene.SceneBuilder("test").setGeometries(new Geometries(sphere, inner).setBVH(true)).build();
+
+        // ============ Equivalence Partitions Tests ==============
+        // TC01: the groups are flattened and the equal materials are kept once
+        CompiledScene compiled = new CompiledScene(scene);
+        assertEquals(3, compiled.getShapeCount(), "Wrong number of shapes");
+        assertEquals(2, compiled.getMaterialCount(), "Wrong number of materials");
+
+        // TC02: the closest intersection and the transparency through the shapes of the inner groups
+        Ray ray = new Ray(new Point(0.2, 0, 0), new Vector(0, 0, -1));
+        GeoPoint onSphere = compiled.findClosestIntersection(ray);
+        assertSame(sphere, onSphere._geoPointGeometry, "Wrong closest shape");
+        Ray behind = new Ray(new Point(0, -0.5, -15), new Vector(0, 0, -1));
+        GeoPoint onTriangle = compiled.findClosestIntersection(behind);
+        assertSame(triangle, onTriangle._geoPointGeometry, "Wrong closest shape");
+        assertSame(compiled.getMaterial(onSphere), compiled.getMaterial(onTriangle), "Equal materials are not shared");
+        CompiledScene planeOnly = new CompiledScene(new Scene.SceneBuilder("plane")
+                .setGeometries(new Geometries(plane)).build());
+        assertEquals(0.5, planeOnly.findTransparency(behind, 100), 0.00001, "Wrong transparency");
+
+        // =============== Boundary Values Tests ==================
+        // TC10: a shape which is added to the scene after the compilation is not seen
+        scene.getGeometries().add(new Sphere(new Point(0, 0, -5), 1));
+        assertSame(sphere, compiled.findClosestIntersection(ray)._geoPointGeometry, "The new shape is seen");
+        assertEquals(4, new CompiledScene(scene).getShapeCount(), "Wrong number of shapes after compiling again");
+
+        // TC11: a material which is changed after the compilation is not seen, neither in the shading nor in the
+        // occlusion query
+        plane.getMaterial().setkT(0);
+        assertEquals(0.5, planeOnly.findTransparency(behind, 100), 0.00001, "The new transparency is seen");
+        Ray toPlane = new Ray(new Point(5, 5, 0), new Vector(0, 0, -1));
+        assertEquals(0.5, planeOnly.getMaterial(planeOnly.findClosestIntersection(toPlane)).kT().getD1(), 0.00001,
+                "The new transparency is seen");
+    }
+}